@@ -0,0 +1,1029 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Clase ArbolBMasEmpleados: backend en disco para conjuntos de empleados mayores que el heap.
+ * Guarda los empleados en un árbol B+ de páginas de 8 KiB dentro de un archivo mapeado en memoria.
+ * Los nodos internos solo tienen claves e hijos (hasta 1021 claves por página), así que incluso
+ * con cientos de millones de empleados una búsqueda toca 3 o 4 páginas. Las hojas están enlazadas
+ * en ambos sentidos para los recorridos ordenados y las consultas de rango.
+ * Las páginas no se copian al heap: se leen directamente del mapeo, y el sistema operativo hace
+ * de caché de páginas, por lo que la memoria del heap no crece con el número de empleados.
+ * Las eliminaciones no fusionan hojas a medio llenar, pero una hoja que se queda vacía se desenlaza
+ * y su página (y la de los nodos internos que se quedan sin hijos) pasa a una lista de páginas
+ * libres que reutilizan las inserciones; si la raíz queda con un solo hijo, el árbol baja un nivel.
+ * No es seguro para varios hilos. Los cambios se escriben en el mapeo y se fuerzan a disco con
+ * forzar() o al cerrar. La primera modificación tras abrir (o tras forzar) marca la cabecera como
+ * modificada en disco; si al abrir sigue marcada, el proceso anterior terminó sin cerrar el archivo
+ * y se valida toda la estructura antes de usarla.
+ * <pre>
+ *   página 0 (cabecera): magic | versión | tamaño de página | raíz | páginas | altura | primera hoja | última hoja | total
+ *                        | estado (0 cerrado, 1 modificado) | primera página libre
+ *   hoja:    tipo | n | siguiente | anterior | n ranuras de 128 bytes (ID, longitud, nombre UTF-8 de hasta 123 bytes)
+ *   interno: tipo | n | n claves | n + 1 hijos
+ *   libre:   tipo | 0 | siguiente página libre
+ * </pre>
+ */
+public class ArbolBMasEmpleados implements IndiceEmpleados {
+    private static final int MAGIC = 0x454D5042; // "EMPB"
+    private static final int VERSION_FORMATO = 1;
+    private static final int TAMANO_PAGINA = 8192;
+    private static final int PAGINAS_POR_SEGMENTO = 8192; // Segmentos mapeados de 64 MiB
+    private static final long TAMANO_SEGMENTO = (long) TAMANO_PAGINA * PAGINAS_POR_SEGMENTO;
+
+    private static final byte TIPO_HOJA = 1;
+    private static final byte TIPO_INTERNO = 2;
+    private static final byte TIPO_LIBRE = 3;
+    private static final int CABECERA_PAGINA = 16; // tipo (1) | relleno (1) | n (2) | siguiente (4) | anterior (4) | relleno (4)
+    private static final int TAMANO_RANURA = 128; // ID (4) | longitud (1) | nombre (123)
+    private static final int LONGITUD_NOMBRE_MAX = TAMANO_RANURA - 5;
+    private static final int CAPACIDAD_HOJA = (TAMANO_PAGINA - CABECERA_PAGINA) / TAMANO_RANURA; // 63 empleados
+    private static final int CAPACIDAD_INTERNO = (TAMANO_PAGINA - CABECERA_PAGINA - 4) / 8; // 1021 claves
+    private static final int INICIO_HIJOS = CABECERA_PAGINA + CAPACIDAD_INTERNO * 4;
+    private static final int ALTURA_MAXIMA = 16; // Con fan-out > 1000 nunca se alcanza
+
+    // Posiciones de los campos de la cabecera (página 0)
+    private static final int CAB_MAGIC = 0;
+    private static final int CAB_VERSION = 4;
+    private static final int CAB_TAMANO_PAGINA = 8;
+    private static final int CAB_RAIZ = 12;
+    private static final int CAB_PAGINAS = 16;
+    private static final int CAB_ALTURA = 20;
+    private static final int CAB_PRIMERA_HOJA = 24;
+    private static final int CAB_ULTIMA_HOJA = 28;
+    private static final int CAB_TOTAL = 32;
+    private static final int CAB_ESTADO = 40;
+    private static final int CAB_PRIMERA_LIBRE = 44;
+
+    private static final int ESTADO_CERRADO = 0; // Todas las páginas se forzaron a disco
+    private static final int ESTADO_MODIFICADO = 1; // Hay cambios que quizá no llegaron a disco
+
+    private final FileChannel canal; // Canal del archivo de datos
+    private final List<MappedByteBuffer> segmentos = new ArrayList<>(); // Segmentos mapeados del archivo
+    private final AsyncLogWriter logWriter; // Writer asíncrono para registrar operaciones (null si el log está desactivado)
+    private int raiz; // Página raíz
+    private int paginas; // Páginas en uso (incluida la cabecera)
+    private int altura; // Niveles del árbol (1 si la raíz es una hoja)
+    private int primeraHoja; // Hoja con los IDs menores
+    private int ultimaHoja; // Hoja con los IDs mayores
+    private long total; // Empleados almacenados
+    private int primeraLibre; // Primera página de la lista de páginas libres (0 si no hay)
+    private boolean modificado; // true si la cabecera en disco está marcada como modificada
+
+    private final int[] camino = new int[ALTURA_MAXIMA]; // Páginas internas recorridas en insert
+    private final int[] indices = new int[ALTURA_MAXIMA]; // Hijo elegido en cada página del camino
+    private final byte[] copia = new byte[TAMANO_PAGINA]; // Buffer para desplazar ranuras
+    private final int[] clavesTemp = new int[CAPACIDAD_INTERNO + 1]; // Claves al dividir un nodo interno
+    private final int[] hijosTemp = new int[CAPACIDAD_INTERNO + 2]; // Hijos al dividir un nodo interno
+
+    /**
+     * Abre (o crea si no existe) el archivo de datos del árbol B+.
+     * Si el archivo quedó marcado como modificado (el proceso anterior no lo cerró), se valida
+     * la estructura completa; si está dañada, se rechaza para que se reconstruya desde el CSV.
+     * @param archivoDatos ruta del archivo de datos
+     * @param logFile ruta del archivo donde se registrarán las operaciones, o null para desactivar el log
+     * @throws IOException si hay problemas al abrir el archivo, si no es un árbol B+ de empleados
+     *                     o si quedó inconsistente tras un cierre incorrecto
+     */
+    public ArbolBMasEmpleados(String archivoDatos, String logFile) throws IOException {
+        this.canal = FileChannel.open(Path.of(archivoDatos), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (canal.size() < TAMANO_PAGINA) {
+                inicializar();
+            } else {
+                abrir(archivoDatos);
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        this.logWriter = logFile != null ? new AsyncLogWriter(logFile, AsyncLogWriter.Durabilidad.LOTES) : null;
+    }
+
+    /**
+     * Lee la cabecera de un archivo existente y, si quedó marcado como modificado, valida la estructura.
+     * @param archivoDatos ruta del archivo (para los mensajes de error)
+     * @throws IOException si no es un árbol B+ de empleados compatible o está inconsistente
+     */
+    private void abrir(String archivoDatos) throws IOException {
+        MappedByteBuffer cabecera = segmento(0);
+        if (cabecera.getInt(CAB_MAGIC) != MAGIC || cabecera.getInt(CAB_VERSION) != VERSION_FORMATO
+                || cabecera.getInt(CAB_TAMANO_PAGINA) != TAMANO_PAGINA) {
+            throw new IOException("El archivo no es un árbol B+ de empleados compatible: " + archivoDatos);
+        }
+        raiz = cabecera.getInt(CAB_RAIZ);
+        paginas = cabecera.getInt(CAB_PAGINAS);
+        altura = cabecera.getInt(CAB_ALTURA);
+        primeraHoja = cabecera.getInt(CAB_PRIMERA_HOJA);
+        ultimaHoja = cabecera.getInt(CAB_ULTIMA_HOJA);
+        total = cabecera.getLong(CAB_TOTAL);
+        primeraLibre = cabecera.getInt(CAB_PRIMERA_LIBRE);
+        modificado = cabecera.getInt(CAB_ESTADO) != ESTADO_CERRADO;
+        if (paginas < 2 || (long) paginas * TAMANO_PAGINA > canal.size()) {
+            throw new IOException("Cabecera del árbol B+ dañada (" + paginas + " páginas): " + archivoDatos);
+        }
+        segmento(paginas - 1); // Mapear todos los segmentos en uso
+        if (modificado) {
+            validar();
+        }
+    }
+
+    /**
+     * Crea un árbol vacío: la cabecera y una hoja raíz sin empleados.
+     * @throws IOException si hay problemas al mapear el archivo
+     */
+    private void inicializar() throws IOException {
+        MappedByteBuffer cabecera = segmento(0);
+        cabecera.putInt(CAB_MAGIC, MAGIC);
+        cabecera.putInt(CAB_VERSION, VERSION_FORMATO);
+        cabecera.putInt(CAB_TAMANO_PAGINA, TAMANO_PAGINA);
+        paginas = 1;
+        raiz = nuevaPagina(TIPO_HOJA);
+        altura = 1;
+        primeraHoja = raiz;
+        ultimaHoja = raiz;
+        total = 0;
+        guardarCabecera();
+    }
+
+    /**
+     * Escribe en la página 0 los campos de la cabecera que cambian con las operaciones.
+     */
+    private void guardarCabecera() {
+        MappedByteBuffer cabecera = segmentoSinMapear(0);
+        cabecera.putInt(CAB_RAIZ, raiz);
+        cabecera.putInt(CAB_PAGINAS, paginas);
+        cabecera.putInt(CAB_ALTURA, altura);
+        cabecera.putInt(CAB_PRIMERA_HOJA, primeraHoja);
+        cabecera.putInt(CAB_ULTIMA_HOJA, ultimaHoja);
+        cabecera.putLong(CAB_TOTAL, total);
+        cabecera.putInt(CAB_PRIMERA_LIBRE, primeraLibre);
+    }
+
+    /**
+     * Antes de la primera modificación desde que se abrió (o se forzó) el archivo, marca la
+     * cabecera como modificada y la fuerza a disco, para detectar al abrir un cierre incorrecto.
+     */
+    private void marcarModificado() {
+        if (!modificado) {
+            MappedByteBuffer cabecera = segmentoSinMapear(0);
+            cabecera.putInt(CAB_ESTADO, ESTADO_MODIFICADO);
+            cabecera.force(0, TAMANO_PAGINA);
+            modificado = true;
+        }
+    }
+
+    /**
+     * Fuerza a disco todas las páginas modificadas y luego marca la cabecera como cerrada.
+     * Tras volver, un corte del proceso o del equipo no pierde los cambios hechos hasta aquí.
+     */
+    public void forzar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+        if (modificado) {
+            MappedByteBuffer cabecera = segmentoSinMapear(0);
+            cabecera.putInt(CAB_ESTADO, ESTADO_CERRADO);
+            cabecera.force(0, TAMANO_PAGINA);
+            modificado = false;
+        }
+    }
+
+    /**
+     * Valida la estructura completa: páginas dentro del archivo y sin compartir, claves
+     * ordenadas y dentro de los límites de su padre, todas las hojas a la misma altura, lista
+     * de hojas coherente en ambos sentidos, total de empleados y lista de páginas libres.
+     * Recorre todas las páginas, así que solo se usa al abrir un archivo que no se cerró bien.
+     * @throws IOException si la estructura no es coherente
+     */
+    private void validar() throws IOException {
+        if (raiz < 1 || raiz >= paginas || altura < 1 || altura > ALTURA_MAXIMA) {
+            throw new IOException("Árbol B+ inconsistente: raíz " + raiz + ", altura " + altura);
+        }
+        BitSet vistas = new BitSet(paginas);
+        int[] hojaAnterior = new int[1];
+        long contados = validarPagina(raiz, 1, Long.MIN_VALUE, Long.MAX_VALUE, vistas, hojaAnterior);
+        if (contados != total) {
+            throw new IOException("Árbol B+ inconsistente: " + contados + " empleados en las hojas y " + total + " en la cabecera");
+        }
+        if (hojaAnterior[0] != ultimaHoja || siguiente(ultimaHoja) != 0) {
+            throw new IOException("Árbol B+ inconsistente: la última hoja no coincide con la cabecera");
+        }
+        for (int libre = primeraLibre; libre != 0; libre = siguiente(libre)) {
+            if (libre < 1 || libre >= paginas || vistas.get(libre) || tipo(libre) != TIPO_LIBRE) {
+                throw new IOException("Árbol B+ inconsistente: lista de páginas libres dañada en la página " + libre);
+            }
+            vistas.set(libre);
+        }
+    }
+
+    /**
+     * Valida recursivamente un subárbol (ver validar).
+     * @param pagina raíz del subárbol
+     * @param nivel nivel de la página (1 en la raíz)
+     * @param desde menor ID admitido en el subárbol (incluido)
+     * @param hasta mayor ID admitido en el subárbol (excluido)
+     * @param vistas páginas ya visitadas
+     * @param hojaAnterior última hoja visitada en orden (0 antes de la primera)
+     * @return empleados del subárbol
+     * @throws IOException si el subárbol no es coherente
+     */
+    private long validarPagina(int pagina, int nivel, long desde, long hasta, BitSet vistas, int[] hojaAnterior)
+            throws IOException {
+        if (pagina < 1 || pagina >= paginas || vistas.get(pagina)) {
+            throw new IOException("Árbol B+ inconsistente: referencia inválida a la página " + pagina);
+        }
+        vistas.set(pagina);
+        int n = cantidad(pagina);
+        if (esHoja(pagina)) {
+            if (nivel != altura || n > CAPACIDAD_HOJA) {
+                throw new IOException("Árbol B+ inconsistente: hoja " + pagina + " con " + n + " empleados en el nivel " + nivel);
+            }
+            for (int i = 0; i < n; i++) {
+                int id = idEnHoja(pagina, i);
+                if (id < desde || id >= hasta || (i > 0 && id <= idEnHoja(pagina, i - 1))) {
+                    throw new IOException("Árbol B+ inconsistente: ID " + id + " fuera de orden en la hoja " + pagina);
+                }
+            }
+            int antes = hojaAnterior[0];
+            if (anterior(pagina) != antes || (antes == 0 ? primeraHoja != pagina : siguiente(antes) != pagina)) {
+                throw new IOException("Árbol B+ inconsistente: lista de hojas rota en la hoja " + pagina);
+            }
+            hojaAnterior[0] = pagina;
+            return n;
+        }
+        if (tipo(pagina) != TIPO_INTERNO || nivel >= altura || n > CAPACIDAD_INTERNO) {
+            throw new IOException("Árbol B+ inconsistente: nodo interno " + pagina + " inválido en el nivel " + nivel);
+        }
+        long empleados = 0;
+        long limiteInferior = desde;
+        for (int i = 0; i <= n; i++) {
+            long limiteSuperior = i < n ? clave(pagina, i) : hasta;
+            if (limiteSuperior < limiteInferior || limiteSuperior > hasta) {
+                throw new IOException("Árbol B+ inconsistente: claves desordenadas en el nodo " + pagina);
+            }
+            empleados += validarPagina(hijo(pagina, i), nivel + 1, limiteInferior, limiteSuperior, vistas, hojaAnterior);
+            limiteInferior = limiteSuperior;
+        }
+        return empleados;
+    }
+
+    /**
+     * Obtiene el segmento mapeado que contiene una página, mapeándolo si todavía no lo está.
+     * Mapear más allá del final del archivo lo hace crecer.
+     * @param pagina número de página
+     * @return segmento mapeado
+     * @throws IOException si hay problemas al mapear
+     */
+    private MappedByteBuffer segmento(int pagina) throws IOException {
+        int indice = pagina / PAGINAS_POR_SEGMENTO;
+        while (segmentos.size() <= indice) {
+            segmentos.add(canal.map(FileChannel.MapMode.READ_WRITE, segmentos.size() * TAMANO_SEGMENTO, TAMANO_SEGMENTO));
+        }
+        return segmentos.get(indice);
+    }
+
+    /**
+     * Obtiene el segmento de una página que ya está en uso (y por tanto ya mapeada).
+     * @param pagina número de página
+     * @return segmento mapeado
+     */
+    private MappedByteBuffer segmentoSinMapear(int pagina) {
+        return segmentos.get(pagina / PAGINAS_POR_SEGMENTO);
+    }
+
+    /**
+     * Calcula la posición de un campo de una página dentro de su segmento.
+     * @param pagina número de página
+     * @param desplazamiento posición del campo dentro de la página
+     * @return posición absoluta en el segmento
+     */
+    private static int posicion(int pagina, int desplazamiento) {
+        return (pagina % PAGINAS_POR_SEGMENTO) * TAMANO_PAGINA + desplazamiento;
+    }
+
+    /**
+     * Reserva una página (la primera libre, o una nueva al final del archivo) y la inicializa vacía.
+     * @param tipo TIPO_HOJA o TIPO_INTERNO
+     * @return número de la página reservada
+     * @throws IOException si hay problemas al ampliar el mapeo
+     */
+    private int nuevaPagina(byte tipo) throws IOException {
+        int pagina;
+        if (primeraLibre != 0) {
+            pagina = primeraLibre;
+            primeraLibre = siguiente(pagina);
+        } else {
+            pagina = paginas++;
+        }
+        MappedByteBuffer seg = segmento(pagina);
+        int base = posicion(pagina, 0);
+        seg.put(base, tipo);
+        seg.putShort(base + 2, (short) 0);
+        seg.putInt(base + 4, 0);
+        seg.putInt(base + 8, 0);
+        return pagina;
+    }
+
+    /**
+     * Pasa una página a la lista de páginas libres para que la reutilice nuevaPagina.
+     * @param pagina página que ya no forma parte del árbol
+     */
+    private void liberarPagina(int pagina) {
+        MappedByteBuffer seg = segmentoSinMapear(pagina);
+        int base = posicion(pagina, 0);
+        seg.put(base, TIPO_LIBRE);
+        seg.putShort(base + 2, (short) 0);
+        seg.putInt(base + 4, primeraLibre);
+        seg.putInt(base + 8, 0);
+        primeraLibre = pagina;
+    }
+
+    // --- Acceso a los campos de las páginas ---
+
+    /**
+     * Lee el tipo de una página.
+     * @param pagina número de página
+     * @return TIPO_HOJA, TIPO_INTERNO o TIPO_LIBRE
+     */
+    private byte tipo(int pagina) {
+        return segmentoSinMapear(pagina).get(posicion(pagina, 0));
+    }
+
+    /**
+     * Indica si una página es una hoja.
+     * @param pagina número de página
+     * @return true si es una hoja, false si es un nodo interno
+     */
+    private boolean esHoja(int pagina) {
+        return tipo(pagina) == TIPO_HOJA;
+    }
+
+    /**
+     * Lee el número de entradas de una página: empleados en una hoja, claves en un nodo interno.
+     * @param pagina número de página
+     * @return número de entradas
+     */
+    private int cantidad(int pagina) {
+        return segmentoSinMapear(pagina).getShort(posicion(pagina, 2)) & 0xFFFF;
+    }
+
+    /**
+     * Escribe el número de entradas de una página.
+     * @param pagina número de página
+     * @param n número de entradas
+     */
+    private void setCantidad(int pagina, int n) {
+        segmentoSinMapear(pagina).putShort(posicion(pagina, 2), (short) n);
+    }
+
+    /**
+     * Lee la hoja siguiente de una hoja (o la siguiente página libre de una página libre).
+     * @param pagina número de página
+     * @return página siguiente, o 0 si es la última
+     */
+    private int siguiente(int pagina) {
+        return segmentoSinMapear(pagina).getInt(posicion(pagina, 4));
+    }
+
+    /**
+     * Escribe la hoja siguiente de una hoja.
+     * @param pagina número de página
+     * @param valor página siguiente, o 0 si es la última
+     */
+    private void setSiguiente(int pagina, int valor) {
+        segmentoSinMapear(pagina).putInt(posicion(pagina, 4), valor);
+    }
+
+    /**
+     * Lee la hoja anterior de una hoja.
+     * @param pagina número de página
+     * @return página anterior, o 0 si es la primera
+     */
+    private int anterior(int pagina) {
+        return segmentoSinMapear(pagina).getInt(posicion(pagina, 8));
+    }
+
+    /**
+     * Escribe la hoja anterior de una hoja.
+     * @param pagina número de página
+     * @param valor página anterior, o 0 si es la primera
+     */
+    private void setAnterior(int pagina, int valor) {
+        segmentoSinMapear(pagina).putInt(posicion(pagina, 8), valor);
+    }
+
+    /**
+     * Lee una clave separadora de un nodo interno (el menor ID del hijo i + 1).
+     * @param pagina nodo interno
+     * @param i índice de la clave
+     * @return clave
+     */
+    private int clave(int pagina, int i) {
+        return segmentoSinMapear(pagina).getInt(posicion(pagina, CABECERA_PAGINA + i * 4));
+    }
+
+    /**
+     * Escribe una clave separadora de un nodo interno.
+     * @param pagina nodo interno
+     * @param i índice de la clave
+     * @param valor clave
+     */
+    private void setClave(int pagina, int i, int valor) {
+        segmentoSinMapear(pagina).putInt(posicion(pagina, CABECERA_PAGINA + i * 4), valor);
+    }
+
+    /**
+     * Lee un hijo de un nodo interno.
+     * @param pagina nodo interno
+     * @param i índice del hijo (0 a n)
+     * @return página del hijo
+     */
+    private int hijo(int pagina, int i) {
+        return segmentoSinMapear(pagina).getInt(posicion(pagina, INICIO_HIJOS + i * 4));
+    }
+
+    /**
+     * Escribe un hijo de un nodo interno.
+     * @param pagina nodo interno
+     * @param i índice del hijo (0 a n)
+     * @param valor página del hijo
+     */
+    private void setHijo(int pagina, int i, int valor) {
+        segmentoSinMapear(pagina).putInt(posicion(pagina, INICIO_HIJOS + i * 4), valor);
+    }
+
+    /**
+     * Lee el ID de una ranura de una hoja sin crear el empleado.
+     * @param pagina hoja
+     * @param i ranura
+     * @return ID almacenado en la ranura
+     */
+    private int idEnHoja(int pagina, int i) {
+        return segmentoSinMapear(pagina).getInt(posicion(pagina, CABECERA_PAGINA + i * TAMANO_RANURA));
+    }
+
+    /**
+     * Lee el empleado de una ranura de una hoja.
+     * @param pagina hoja
+     * @param i ranura
+     * @return empleado almacenado en la ranura
+     */
+    private Empleado empleadoEnHoja(int pagina, int i) {
+        MappedByteBuffer seg = segmentoSinMapear(pagina);
+        int base = posicion(pagina, CABECERA_PAGINA + i * TAMANO_RANURA);
+        int longitud = seg.get(base + 4) & 0xFF;
+        byte[] nombre = new byte[longitud];
+        seg.get(base + 5, nombre, 0, longitud);
+        return new Empleado(new String(nombre, StandardCharsets.UTF_8), seg.getInt(base));
+    }
+
+    /**
+     * Escribe un empleado en una ranura de una hoja.
+     * @param pagina hoja
+     * @param i ranura
+     * @param id ID del empleado
+     * @param nombre nombre en UTF-8
+     */
+    private void escribirRanura(int pagina, int i, int id, byte[] nombre) {
+        MappedByteBuffer seg = segmentoSinMapear(pagina);
+        int base = posicion(pagina, CABECERA_PAGINA + i * TAMANO_RANURA);
+        seg.putInt(base, id);
+        seg.put(base + 4, (byte) nombre.length);
+        seg.put(base + 5, nombre, 0, nombre.length);
+    }
+
+    /**
+     * Copia bytes entre posiciones de páginas (admite solapamiento dentro de la misma página).
+     * @param origen página de origen
+     * @param desdeOrigen posición en la página de origen
+     * @param destino página de destino
+     * @param desdeDestino posición en la página de destino
+     * @param longitud bytes a copiar
+     */
+    private void copiarBytes(int origen, int desdeOrigen, int destino, int desdeDestino, int longitud) {
+        if (longitud <= 0) {
+            return;
+        }
+        segmentoSinMapear(origen).get(posicion(origen, desdeOrigen), copia, 0, longitud);
+        segmentoSinMapear(destino).put(posicion(destino, desdeDestino), copia, 0, longitud);
+    }
+
+    // --- Búsquedas dentro de una página ---
+
+    /**
+     * Elige el hijo de un nodo interno por el que seguir buscando un ID:
+     * el número de claves menores o iguales que el ID (la clave i es el menor ID del hijo i + 1).
+     * @param pagina nodo interno
+     * @param id ID buscado
+     * @return índice del hijo
+     */
+    private int buscarHijo(int pagina, int id) {
+        int bajo = 0;
+        int alto = cantidad(pagina);
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (clave(pagina, medio) <= id) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Busca en una hoja la primera ranura con ID mayor o igual que el dado.
+     * @param pagina hoja
+     * @param id ID buscado
+     * @return índice de la ranura (n si todos son menores)
+     */
+    private int buscarEnHoja(int pagina, int id) {
+        int bajo = 0;
+        int alto = cantidad(pagina);
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (idEnHoja(pagina, medio) < id) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Baja desde la raíz hasta la hoja que contiene (o contendría) un ID.
+     * @param id ID buscado
+     * @return número de la hoja
+     */
+    private int buscarHoja(int id) {
+        int pagina = raiz;
+        while (!esHoja(pagina)) {
+            pagina = hijo(pagina, buscarHijo(pagina, id));
+        }
+        return pagina;
+    }
+
+    // --- Operaciones públicas ---
+
+    /**
+     * Inserta un empleado si su ID no existe todavía.
+     * @param Data empleado a insertar
+     * @throws IllegalArgumentException si el nombre ocupa más de 123 bytes en UTF-8
+     * @throws java.io.UncheckedIOException si no se puede ampliar el archivo de datos
+     */
+    @Override
+    public void insert(Empleado Data) {
+        byte[] nombre = Data.getNombreUTF8();
+        if (nombre.length > LONGITUD_NOMBRE_MAX) {
+            throw new IllegalArgumentException("Nombre demasiado largo para el árbol B+ (máximo "
+                    + LONGITUD_NOMBRE_MAX + " bytes): " + Data.getNombre());
+        }
+        try {
+            insertar(Data.ID, nombre);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException("Error al ampliar el archivo de datos", e);
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Insertando valor: " + Data);
+        }
+    }
+
+    /**
+     * Carga de una vez empleados ordenados por ID (por ejemplo, los del CSV), registrando un
+     * único resumen en el log en lugar de una línea por empleado. Al llegar en orden creciente,
+     * cada hoja se llena por completo antes de pasar a la siguiente.
+     * Los empleados con un nombre de más de 123 bytes en UTF-8 se omiten.
+     * @param ordenados empleados ordenados por ID, sin duplicados
+     * @return número de empleados agregados
+     * @throws java.io.UncheckedIOException si no se puede ampliar el archivo de datos
+     */
+    public int cargarOrdenados(Empleado[] ordenados) {
+        int agregados = 0;
+        int omitidos = 0;
+        try {
+            for (Empleado empleado : ordenados) {
+                byte[] nombre = empleado.getNombreUTF8();
+                if (nombre.length > LONGITUD_NOMBRE_MAX) {
+                    omitidos++;
+                } else if (insertar(empleado.ID, nombre)) {
+                    agregados++;
+                }
+            }
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException("Error al ampliar el archivo de datos", e);
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Carga masiva en el árbol B+: " + agregados + " empleados"
+                    + (omitidos > 0 ? ", " + omitidos + " omitidos por nombre demasiado largo" : ""));
+        }
+        return agregados;
+    }
+
+    /**
+     * Inserta un ID en su hoja, dividiendo la hoja (y los nodos internos que haga falta) si está llena.
+     * @param id ID del empleado
+     * @param nombre nombre en UTF-8
+     * @return true si se insertó, false si el ID ya existía
+     * @throws IOException si hay problemas al ampliar el archivo
+     */
+    private boolean insertar(int id, byte[] nombre) throws IOException {
+        int profundidad = 0;
+        int pagina = raiz;
+        while (!esHoja(pagina)) {
+            int indice = buscarHijo(pagina, id);
+            camino[profundidad] = pagina;
+            indices[profundidad++] = indice;
+            pagina = hijo(pagina, indice);
+        }
+
+        int n = cantidad(pagina);
+        int pos = buscarEnHoja(pagina, id);
+        if (pos < n && idEnHoja(pagina, pos) == id) {
+            return false;
+        }
+
+        marcarModificado();
+        if (n < CAPACIDAD_HOJA) {
+            insertarEnHoja(pagina, pos, id, nombre);
+        } else {
+            // Dividir la hoja: la mitad superior pasa a una hoja nueva enlazada a continuación.
+            // Si se añade al final de la última hoja (carga por IDs crecientes), la hoja llena se
+            // conserva entera y la nueva empieza solo con el ID insertado, para no dejar hojas a medias.
+            int nueva = nuevaPagina(TIPO_HOJA);
+            int despues = siguiente(pagina);
+            int quedan = pos == n && despues == 0 ? n : (n + 1) / 2;
+            copiarBytes(pagina, CABECERA_PAGINA + quedan * TAMANO_RANURA, nueva, CABECERA_PAGINA, (n - quedan) * TAMANO_RANURA);
+            setCantidad(pagina, quedan);
+            setCantidad(nueva, n - quedan);
+
+            setSiguiente(nueva, despues);
+            setAnterior(nueva, pagina);
+            setSiguiente(pagina, nueva);
+            if (despues != 0) {
+                setAnterior(despues, nueva);
+            } else {
+                ultimaHoja = nueva;
+            }
+
+            if (pos < quedan || (pos == quedan && quedan < n)) {
+                insertarEnHoja(pagina, pos, id, nombre);
+            } else {
+                insertarEnHoja(nueva, pos - quedan, id, nombre);
+            }
+            insertarEnPadre(profundidad, pagina, idEnHoja(nueva, 0), nueva);
+        }
+        total++;
+        guardarCabecera();
+        return true;
+    }
+
+    /**
+     * Inserta una ranura en una hoja con espacio, desplazando las siguientes.
+     * @param pagina hoja
+     * @param pos posición de la nueva ranura
+     * @param id ID del empleado
+     * @param nombre nombre en UTF-8
+     */
+    private void insertarEnHoja(int pagina, int pos, int id, byte[] nombre) {
+        int n = cantidad(pagina);
+        int desde = CABECERA_PAGINA + pos * TAMANO_RANURA;
+        copiarBytes(pagina, desde, pagina, desde + TAMANO_RANURA, (n - pos) * TAMANO_RANURA);
+        escribirRanura(pagina, pos, id, nombre);
+        setCantidad(pagina, n + 1);
+    }
+
+    /**
+     * Sube la clave separadora de una división al nodo padre, dividiéndolo a su vez si está lleno.
+     * Si se divide la raíz, se crea una raíz nueva y el árbol crece un nivel.
+     * @param profundidad número de nodos internos del camino por encima del nodo dividido
+     * @param izquierda página que se dividió
+     * @param separador menor ID de la página derecha
+     * @param derecha página nueva con la mitad superior
+     * @throws IOException si hay problemas al ampliar el archivo
+     */
+    private void insertarEnPadre(int profundidad, int izquierda, int separador, int derecha) throws IOException {
+        while (profundidad > 0) {
+            profundidad--;
+            int padre = camino[profundidad];
+            int indice = indices[profundidad];
+            int n = cantidad(padre);
+
+            if (n < CAPACIDAD_INTERNO) {
+                for (int i = n; i > indice; i--) {
+                    setClave(padre, i, clave(padre, i - 1));
+                    setHijo(padre, i + 1, hijo(padre, i));
+                }
+                setClave(padre, indice, separador);
+                setHijo(padre, indice + 1, derecha);
+                setCantidad(padre, n + 1);
+                return;
+            }
+
+            // Dividir el nodo interno: la clave central sube al siguiente nivel
+            for (int i = 0, j = 0; i <= n; i++) {
+                clavesTemp[i] = i == indice ? separador : clave(padre, j++);
+            }
+            for (int i = 0, j = 0; i <= n + 1; i++) {
+                hijosTemp[i] = i == indice + 1 ? derecha : hijo(padre, j++);
+            }
+            int medio = (n + 1) / 2;
+            int nuevo = nuevaPagina(TIPO_INTERNO);
+            for (int i = 0; i < medio; i++) {
+                setClave(padre, i, clavesTemp[i]);
+                setHijo(padre, i, hijosTemp[i]);
+            }
+            setHijo(padre, medio, hijosTemp[medio]);
+            setCantidad(padre, medio);
+            for (int i = medio + 1, j = 0; i <= n; i++, j++) {
+                setClave(nuevo, j, clavesTemp[i]);
+                setHijo(nuevo, j, hijosTemp[i]);
+            }
+            setHijo(nuevo, n - medio, hijosTemp[n + 1]);
+            setCantidad(nuevo, n - medio);
+
+            izquierda = padre;
+            separador = clavesTemp[medio];
+            derecha = nuevo;
+        }
+
+        if (altura >= ALTURA_MAXIMA) {
+            throw new IllegalStateException("Altura máxima del árbol B+ alcanzada");
+        }
+        int nuevaRaiz = nuevaPagina(TIPO_INTERNO);
+        setClave(nuevaRaiz, 0, separador);
+        setHijo(nuevaRaiz, 0, izquierda);
+        setHijo(nuevaRaiz, 1, derecha);
+        setCantidad(nuevaRaiz, 1);
+        raiz = nuevaRaiz;
+        altura++;
+    }
+
+    /**
+     * Busca un empleado por su ID tocando una página por nivel.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    @Override
+    public Empleado searchByID(int id) {
+        int hoja = buscarHoja(id);
+        int pos = buscarEnHoja(hoja, id);
+        Empleado result = pos < cantidad(hoja) && idEnHoja(hoja, pos) == id ? empleadoEnHoja(hoja, pos) : null;
+        if (logWriter != null) {
+            logWriter.registrar("Búsqueda por ID " + id + ": " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
+        }
+        return result;
+    }
+
+    /**
+     * Elimina un empleado por su ID. Una hoja con pocas entradas no se fusiona con sus vecinas,
+     * pero si se queda vacía se desenlaza y su página se libera (ver quitarHoja).
+     * @param id ID del empleado a eliminar
+     * @return true si se eliminó exitosamente, false si no se encontró
+     */
+    @Override
+    public boolean delete(int id) {
+        int profundidad = 0;
+        int hoja = raiz;
+        while (!esHoja(hoja)) {
+            int indice = buscarHijo(hoja, id);
+            camino[profundidad] = hoja;
+            indices[profundidad++] = indice;
+            hoja = hijo(hoja, indice);
+        }
+        int n = cantidad(hoja);
+        int pos = buscarEnHoja(hoja, id);
+        boolean deleted = pos < n && idEnHoja(hoja, pos) == id;
+        if (deleted) {
+            marcarModificado();
+            int desde = CABECERA_PAGINA + (pos + 1) * TAMANO_RANURA;
+            copiarBytes(hoja, desde, hoja, desde - TAMANO_RANURA, (n - pos - 1) * TAMANO_RANURA);
+            setCantidad(hoja, n - 1);
+            if (n == 1 && hoja != raiz) {
+                quitarHoja(hoja, profundidad);
+            }
+            total--;
+            guardarCabecera();
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Eliminación de empleado ID " + id + ": " + (deleted ? "EXITOSA" : "NO ENCONTRADO"));
+        }
+        return deleted;
+    }
+
+    /**
+     * Quita del árbol una hoja vacía: la desenlaza de la lista de hojas, libera su página y borra
+     * su referencia en el padre. Un nodo interno que se queda sin hijos se libera a su vez, y
+     * mientras la raíz sea un nodo interno con un solo hijo, ese hijo pasa a ser la raíz.
+     * @param hoja hoja vacía (distinta de la raíz)
+     * @param profundidad número de nodos internos del camino guardado en camino/indices
+     */
+    private void quitarHoja(int hoja, int profundidad) {
+        int antes = anterior(hoja);
+        int despues = siguiente(hoja);
+        if (antes != 0) {
+            setSiguiente(antes, despues);
+        } else {
+            primeraHoja = despues;
+        }
+        if (despues != 0) {
+            setAnterior(despues, antes);
+        } else {
+            ultimaHoja = antes;
+        }
+        liberarPagina(hoja);
+
+        while (profundidad > 0) {
+            profundidad--;
+            int padre = camino[profundidad];
+            int indice = indices[profundidad];
+            int n = cantidad(padre);
+            if (n == 0) {
+                // El hijo quitado era el único: el padre también sobra
+                liberarPagina(padre);
+                continue;
+            }
+            // Quitar el hijo indice y la clave que lo separaba de un vecino; el vecino hereda su rango
+            for (int i = indice == 0 ? 0 : indice - 1; i < n - 1; i++) {
+                setClave(padre, i, clave(padre, i + 1));
+            }
+            for (int i = indice; i < n; i++) {
+                setHijo(padre, i, hijo(padre, i + 1));
+            }
+            setCantidad(padre, n - 1);
+            break;
+        }
+
+        while (!esHoja(raiz) && cantidad(raiz) == 0) {
+            int anteriorRaiz = raiz;
+            raiz = hijo(raiz, 0);
+            liberarPagina(anteriorRaiz);
+            altura--;
+        }
+    }
+
+    /**
+     * Obtiene el empleado con el menor ID recorriendo las hojas desde la primera
+     * (saltando las que quedaron vacías en archivos de versiones anteriores).
+     * @return empleado con el menor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    @Override
+    public Empleado findMin() {
+        for (int hoja = primeraHoja; hoja != 0; hoja = siguiente(hoja)) {
+            if (cantidad(hoja) > 0) {
+                return empleadoEnHoja(hoja, 0);
+            }
+        }
+        throw new IllegalStateException("Tree is empty");
+    }
+
+    /**
+     * Obtiene el empleado con el mayor ID recorriendo las hojas desde la última
+     * (saltando las que quedaron vacías en archivos de versiones anteriores).
+     * @return empleado con el mayor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    @Override
+    public Empleado findMax() {
+        for (int hoja = ultimaHoja; hoja != 0; hoja = anterior(hoja)) {
+            int n = cantidad(hoja);
+            if (n > 0) {
+                return empleadoEnHoja(hoja, n - 1);
+            }
+        }
+        throw new IllegalStateException("Tree is empty");
+    }
+
+    /**
+     * Muestra los empleados ordenados por ID con el mismo formato que Tree.inorder(),
+     * recorriendo la lista enlazada de hojas.
+     */
+    @Override
+    public void inorder() {
+        for (int hoja = primeraHoja; hoja != 0; hoja = siguiente(hoja)) {
+            int n = cantidad(hoja);
+            for (int i = 0; i < n; i++) {
+                System.out.print("[" + empleadoEnHoja(hoja, i) + " " + "]");
+                System.out.println("|");
+            }
+        }
+    }
+
+    /**
+     * Entrega al consumidor, en orden de ID, los empleados con ID entre lo y hi (ambos incluidos):
+     * baja a la hoja de lo y avanza por las hojas enlazadas hasta pasar hi.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @param accion consumidor que recibe cada empleado del rango
+     */
+    @Override
+    public void findRange(int lo, int hi, Consumer<Empleado> accion) {
+        int encontrados = 0;
+        if (lo <= hi) {
+            int hoja = buscarHoja(lo);
+            int i = buscarEnHoja(hoja, lo);
+            recorrido:
+            while (hoja != 0) {
+                int n = cantidad(hoja);
+                for (; i < n; i++) {
+                    if (idEnHoja(hoja, i) > hi) {
+                        break recorrido;
+                    }
+                    accion.accept(empleadoEnHoja(hoja, i));
+                    encontrados++;
+                }
+                hoja = siguiente(hoja);
+                i = 0;
+            }
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Consulta de rango [" + lo + ", " + hi + "]: " + encontrados + " empleados");
+        }
+    }
+
+    /**
+     * Cuenta los empleados con ID entre lo y hi (ambos incluidos) sin crear objetos:
+     * en las hojas completamente dentro del rango basta con sumar su cantidad.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @return número de empleados del rango (0 si lo > hi)
+     */
+    @Override
+    public int countRange(int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        int contados = 0;
+        int hoja = buscarHoja(lo);
+        int i = buscarEnHoja(hoja, lo);
+        while (hoja != 0) {
+            int n = cantidad(hoja);
+            if (n > 0 && idEnHoja(hoja, n - 1) <= hi) {
+                contados += n - i;
+            } else {
+                while (i < n && idEnHoja(hoja, i) <= hi) {
+                    contados++;
+                    i++;
+                }
+                if (i < n) {
+                    break;
+                }
+            }
+            hoja = siguiente(hoja);
+            i = 0;
+        }
+        return contados;
+    }
+
+    /**
+     * Obtiene el número de empleados almacenados en O(1) (se guarda en la cabecera).
+     * @return número total de empleados
+     */
+    @Override
+    public int countNodes() {
+        return (int) total;
+    }
+
+    /**
+     * Obtiene la altura del árbol B+ (número de páginas que toca una búsqueda).
+     * @return niveles del árbol
+     */
+    public int getAltura() {
+        return altura;
+    }
+
+    /**
+     * Obtiene el número de páginas del archivo, incluidas la cabecera y las páginas libres.
+     * @return páginas reservadas en el archivo
+     */
+    public int getPaginas() {
+        return paginas;
+    }
+
+    /**
+     * Cierra el archivo de datos forzando a disco las páginas modificadas (ver forzar), y cierra el log.
+     */
+    @Override
+    public void closeLog() {
+        forzar();
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el archivo de datos: " + e.getMessage());
+        }
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Clase ArchivoSnapshot que guarda y lee los empleados del árbol en un archivo binario compacto.
+ * Formato (big-endian):
+ * <pre>
+ *   cabecera:  magic "EMPS" (int) | versión del formato (int) | orden (byte) | número de registros (int)
+ *   registro:  ID (int) | longitud del nombre en bytes (unsigned short) | nombre en UTF-8
+ *   final:     CRC32 de todos los registros (int)
+ * </pre>
+ * Se lee y escribe con FileChannel en bloques de 1 MiB, sin parsear texto ni registrar
+ * cada empleado, así que cargar millones de empleados tarda una fracción de segundo.
+ */
+public class ArchivoSnapshot {
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION_FORMATO = 1;
+    private static final int TAMANO_BUFFER = 1 << 20; // Bytes leídos o escritos por bloque (1 MiB)
+    private static final int LONGITUD_NOMBRE_MAX = 0xFFFF; // Máximo representable en el prefijo de longitud
+    private static final int TAMANO_CABECERA = 13; // magic + versión + orden + número de registros
+    private static final int TAMANO_REGISTRO_MIN = 6; // ID + longitud del nombre, con nombre vacío
+
+    /**
+     * Orden en que se guardan los registros.
+     */
+    public enum Orden {
+        /** Ordenados por ID: al cargar se construye un árbol balanceado. */
+        ORDENADO,
+        /** Recorrido preorder: al cargar se reconstruye exactamente la misma forma del árbol. */
+        PREORDEN
+    }
+
+    /**
+     * Contenido leído de un snapshot: empleados en el orden del archivo y cuál es ese orden.
+     */
+    public static class Contenido {
+        private final Empleado[] empleados; // Empleados en el orden en que estaban guardados
+        private final Orden orden; // Orden de los registros en el archivo
+
+        Contenido(Empleado[] empleados, Orden orden) {
+            this.empleados = empleados;
+            this.orden = orden;
+        }
+
+        /**
+         * Obtiene los empleados en el orden en que estaban guardados.
+         * @return array de empleados
+         */
+        public Empleado[] getEmpleados() {
+            return empleados;
+        }
+
+        /**
+         * Obtiene el orden de los registros del archivo.
+         * @return ORDENADO o PREORDEN
+         */
+        public Orden getOrden() {
+            return orden;
+        }
+    }
+
+    /**
+     * Constructor privado: la clase solo ofrece métodos estáticos.
+     */
+    private ArchivoSnapshot() {
+    }
+
+    /**
+     * Escribe los empleados en un snapshot binario. Se escribe primero un archivo temporal
+     * y luego se renombra, de modo que un fallo a mitad no deja un snapshot corrupto; si falla,
+     * el temporal se borra.
+     * @param archivo ruta del snapshot
+     * @param empleados empleados en el orden indicado
+     * @param orden orden de los empleados (se guarda en la cabecera)
+     * @throws IOException si hay problemas al escribir el archivo
+     * @throws IllegalArgumentException si un nombre ocupa más de 65535 bytes en UTF-8
+     */
+    public static void escribir(String archivo, Empleado[] empleados, Orden orden) throws IOException {
+        Path destino = Path.of(archivo).toAbsolutePath();
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+        CRC32 crc = new CRC32();
+
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                buffer.putInt(MAGIC).putInt(VERSION_FORMATO).put((byte) orden.ordinal()).putInt(empleados.length);
+                int inicioCrc = buffer.position(); // La cabecera no entra en el CRC
+
+                for (Empleado empleado : empleados) {
+                    // El nombre se copia en UTF-8 desde las palabras del diccionario, sin crear su String
+                    int longitud = empleado.longitudNombreUTF8();
+                    if (longitud > LONGITUD_NOMBRE_MAX) {
+                        throw new IllegalArgumentException("Nombre demasiado largo para el snapshot (ID " + empleado.ID + ")");
+                    }
+                    if (buffer.remaining() < 6 + longitud) {
+                        crc.update(buffer.array(), inicioCrc, buffer.position() - inicioCrc);
+                        volcar(canal, buffer);
+                        inicioCrc = 0;
+                    }
+                    buffer.putInt(empleado.ID).putShort((short) longitud);
+                    empleado.escribirNombreUTF8(buffer);
+                }
+
+                crc.update(buffer.array(), inicioCrc, buffer.position() - inicioCrc);
+                if (buffer.remaining() < 4) {
+                    volcar(canal, buffer);
+                }
+                buffer.putInt((int) crc.getValue());
+                volcar(canal, buffer);
+                canal.force(true);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // No dejar el temporal a medias en disco; el snapshot anterior, si lo había, sigue intacto
+            try {
+                Files.deleteIfExists(temporal);
+            } catch (IOException suprimida) {
+                e.addSuppressed(suprimida);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Escribe en el canal el contenido del buffer y lo deja vacío.
+     * @param canal canal de destino
+     * @param buffer buffer con los bytes pendientes
+     * @throws IOException si hay problemas al escribir
+     */
+    private static void volcar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Lee un snapshot binario completo verificando cabecera, longitud y CRC.
+     * @param archivo ruta del snapshot
+     * @return empleados leídos y orden en que estaban guardados
+     * @throws IOException si el archivo no existe, no es un snapshot válido o está corrupto
+     */
+    public static Contenido leer(String archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Path.of(archivo), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+            buffer.flip();
+            CRC32 crc = new CRC32();
+
+            asegurar(canal, buffer, TAMANO_CABECERA);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("El archivo no es un snapshot de empleados: " + archivo);
+            }
+            int versionFormato = buffer.getInt();
+            if (versionFormato != VERSION_FORMATO) {
+                throw new IOException("Versión de snapshot no soportada: " + versionFormato);
+            }
+            int codigoOrden = buffer.get();
+            if (codigoOrden < 0 || codigoOrden >= Orden.values().length) {
+                throw new IOException("Orden de snapshot desconocido: " + codigoOrden);
+            }
+            int total = buffer.getInt();
+            // Cada registro ocupa al menos 6 bytes: un recuento mayor que el que cabe en el archivo
+            // es una cabecera corrupta y no debe llegar a reservar el array (OutOfMemoryError)
+            long maximo = (canal.size() - TAMANO_CABECERA - 4) / TAMANO_REGISTRO_MIN;
+            if (total < 0 || total > maximo) {
+                throw new IOException("Número de registros inválido: " + total + " (el archivo admite como máximo " + maximo + ")");
+            }
+
+            Empleado[] empleados = new Empleado[total];
+            int inicioCrc = buffer.position();
+            byte[] datos = buffer.array();
+            for (int i = 0; i < total; i++) {
+                if (buffer.remaining() < 6) {
+                    crc.update(datos, inicioCrc, buffer.position() - inicioCrc);
+                    asegurar(canal, buffer, 6);
+                    inicioCrc = buffer.position();
+                }
+                int id = buffer.getInt();
+                int longitud = buffer.getShort() & 0xFFFF;
+                if (buffer.remaining() < longitud) {
+                    crc.update(datos, inicioCrc, buffer.position() - inicioCrc);
+                    asegurar(canal, buffer, longitud);
+                    inicioCrc = buffer.position();
+                }
+                String nombre = new String(datos, buffer.position(), longitud, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + longitud);
+                empleados[i] = new Empleado(nombre, id);
+            }
+            crc.update(datos, inicioCrc, buffer.position() - inicioCrc);
+
+            asegurar(canal, buffer, 4);
+            if (buffer.getInt() != (int) crc.getValue()) {
+                throw new IOException("CRC incorrecto: el snapshot está corrupto");
+            }
+            return new Contenido(empleados, Orden.values()[codigoOrden]);
+        }
+    }
+
+    /**
+     * Garantiza que el buffer tenga al menos la cantidad de bytes pedida sin leer,
+     * compactándolo y leyendo del canal en bloque si hace falta.
+     * @param canal canal de origen
+     * @param buffer buffer en modo lectura
+     * @param bytes bytes necesarios
+     * @throws IOException si el archivo termina antes (snapshot truncado)
+     */
+    private static void asegurar(FileChannel canal, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (canal.read(buffer) < 0) {
+                throw new IOException("Snapshot truncado");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,237 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase AsyncLogWriter que escribe el archivo de log en segundo plano (group commit).
+ * Los llamadores encolan registros en un buffer circular acotado y un hilo escritor
+ * los vuelca al archivo por lotes, ya sea al llenarse el lote o al vencer el intervalo.
+ * Así el coste de E/S deja de estar en el camino de cada operación del árbol.
+ */
+public class AsyncLogWriter {
+
+    /**
+     * Nivel de durabilidad de los registros de log.
+     */
+    public enum Durabilidad {
+        /** Sin flush forzado: los registros llegan al archivo cuando se llena el buffer o al cerrar. */
+        NINGUNA,
+        /** Flush una vez por lote, por tamaño de lote o por intervalo de tiempo. */
+        LOTES,
+        /** Escritura y flush síncronos en cada operación (comportamiento original). */
+        SINCRONA
+    }
+
+    /**
+     * Registro pendiente de escribir: mensaje y momento en que se generó.
+     */
+    private static final class Registro {
+        final String mensaje;
+        final LocalDateTime momento;
+
+        Registro(String mensaje, LocalDateTime momento) {
+            this.mensaje = mensaje;
+            this.momento = momento;
+        }
+    }
+
+    public static final int CAPACIDAD_POR_DEFECTO = 8192; // Registros en el buffer circular
+    public static final int TAMANO_LOTE_POR_DEFECTO = 512; // Registros máximos por lote
+    public static final long INTERVALO_POR_DEFECTO_MS = 200; // Espera máxima antes de volcar un lote
+
+    private final Writer writer; // Writer con buffer sobre el archivo de log
+    private final Durabilidad durabilidad; // Nivel de durabilidad configurado
+    private final BlockingQueue<Registro> cola; // Buffer circular acotado entre llamadores y escritor
+    private final int tamanoLote; // Registros máximos por lote
+    private final long intervaloMs; // Espera máxima antes de volcar un lote
+    private final Thread hiloEscritor; // Hilo que vuelca los lotes (null en modo SINCRONA)
+    private volatile boolean cerrado; // Indica que no se aceptan más registros
+
+    /**
+     * Constructor con los parámetros por defecto de capacidad, lote e intervalo.
+     * @param logFile ruta del archivo de log (se abre en modo append)
+     * @param durabilidad nivel de durabilidad deseado
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public AsyncLogWriter(String logFile, Durabilidad durabilidad) throws IOException {
+        this(logFile, durabilidad, CAPACIDAD_POR_DEFECTO, TAMANO_LOTE_POR_DEFECTO, INTERVALO_POR_DEFECTO_MS);
+    }
+
+    /**
+     * Constructor completo.
+     * @param logFile ruta del archivo de log (se abre en modo append)
+     * @param durabilidad nivel de durabilidad deseado
+     * @param capacidad número máximo de registros pendientes; si se llena, el llamador espera
+     * @param tamanoLote número máximo de registros escritos por lote
+     * @param intervaloMs tiempo máximo que un registro espera antes de volcarse
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public AsyncLogWriter(String logFile, Durabilidad durabilidad, int capacidad, int tamanoLote, long intervaloMs)
+            throws IOException {
+        if (capacidad <= 0 || tamanoLote <= 0 || intervaloMs <= 0) {
+            throw new IllegalArgumentException("Capacidad, tamaño de lote e intervalo deben ser positivos");
+        }
+        this.writer = new BufferedWriter(new FileWriter(logFile, true), 1 << 16);
+        this.durabilidad = durabilidad;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.tamanoLote = tamanoLote;
+        this.intervaloMs = intervaloMs;
+
+        if (durabilidad == Durabilidad.SINCRONA) {
+            this.hiloEscritor = null;
+        } else {
+            this.hiloEscritor = new Thread(this::ejecutarEscritor, "log-writer");
+            this.hiloEscritor.setDaemon(true);
+            this.hiloEscritor.start();
+        }
+    }
+
+    /**
+     * Obtiene el nivel de durabilidad configurado.
+     * @return durabilidad de este writer
+     */
+    public Durabilidad getDurabilidad() {
+        return durabilidad;
+    }
+
+    /**
+     * Registra un mensaje con la marca de tiempo actual.
+     * En modo SINCRONA escribe y hace flush antes de volver; en los demás modos
+     * solo encola el registro (esperando si el buffer está lleno).
+     * @param mensaje mensaje a registrar
+     */
+    public void registrar(String mensaje) {
+        if (cerrado) {
+            return;
+        }
+
+        Registro registro = new Registro(mensaje, LocalDateTime.now());
+        if (durabilidad == Durabilidad.SINCRONA) {
+            synchronized (writer) {
+                escribir(registro);
+                vaciar();
+            }
+            return;
+        }
+
+        try {
+            // Si el buffer está lleno se espera al escritor, salvo que el log se cierre mientras tanto
+            while (!cola.offer(registro, intervaloMs, TimeUnit.MILLISECONDS)) {
+                if (cerrado) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: espera el primer registro de un lote hasta el intervalo
+     * configurado, completa el lote con lo que haya encolado y lo escribe de una vez.
+     */
+    private void ejecutarEscritor() {
+        List<Registro> lote = new ArrayList<>(tamanoLote);
+        while (!cerrado || !cola.isEmpty()) {
+            try {
+                Registro primero = cola.poll(intervaloMs, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, tamanoLote - 1);
+            } catch (InterruptedException e) {
+                // close() interrumpe la espera; el bucle drena lo que quede
+            }
+            escribirLote(lote);
+        }
+    }
+
+    /**
+     * Escribe un lote de registros y, en modo LOTES, hace un único flush al final.
+     * @param lote registros a escribir (se vacía al terminar)
+     */
+    private void escribirLote(List<Registro> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        synchronized (writer) {
+            for (Registro registro : lote) {
+                escribir(registro);
+            }
+            if (durabilidad == Durabilidad.LOTES) {
+                vaciar();
+            }
+        }
+        lote.clear();
+    }
+
+    /**
+     * Escribe un registro con el mismo formato que el log original: mensaje, fecha y hora.
+     * @param registro registro a escribir
+     */
+    private void escribir(Registro registro) {
+        try {
+            writer.write(registro.mensaje);
+            writer.write(' ');
+            writer.write(registro.momento.toLocalDate().toString());
+            writer.write(' ');
+            writer.write(registro.momento.toLocalTime().toString());
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            System.err.println("Error al escribir el log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hace flush del writer informando errores por la salida de error.
+     */
+    private void vaciar() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Error al escribir el log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cierra el writer: deja de aceptar registros, espera a que el hilo escritor
+     * drene todo lo pendiente y cierra el archivo.
+     */
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+
+        if (hiloEscritor != null) {
+            hiloEscritor.interrupt();
+            try {
+                hiloEscritor.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (writer) {
+            // Registros encolados por llamadores concurrentes justo antes del cierre
+            List<Registro> restantes = new ArrayList<>();
+            cola.drainTo(restantes);
+            for (Registro registro : restantes) {
+                escribir(registro);
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Error al cerrar el log: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,402 @@
+import java.io.BufferedReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Clase BenchmarkTree: banco de pruebas de rendimiento de Tree, al estilo de JMH.
+ * Mide insert, searchByID, searchByName, delete, inorder y la construcción balanceada
+ * para varios tamaños (1K a 10M) y órdenes de claves (ordenado, aleatorio, inverso).
+ * searchByIDSnapshot mide las mismas búsquedas que searchByID sobre el snapshot de solo
+ * lectura (Tree.congelar, disposición de Eytzinger) para comparar ambas filas.
+ * Cada combinación se ejecuta en JVMs separadas (forks) con iteraciones de calentamiento
+ * descartadas y varias iteraciones medidas de al menos 200 ms; el resultado es el tiempo medio por operación
+ * (ns/op) con su error al 99,9 %, y se guarda en CSV para seguirlo en el tiempo.
+ * Con --backend se mide otra implementación de IndiceEmpleados: bst (Tree sin balancear, igual
+ * que --bst), skiplist (SkipListEmpleados) o bmas (ArbolBMasEmpleados sobre un archivo temporal
+ * que se borra tras cada iteración); las operaciones exclusivas de Tree se omiten.
+ *
+ * Uso: java BenchmarkTree [--ops insert,searchByID,...] [--tamanos 1000,10000,...]
+ *                         [--ordenes ordenado,aleatorio,inverso] [--forks 2]
+ *                         [--calentamiento 3] [--iteraciones 5] [--salida resultados.csv]
+ *                         [--backend avl|bst|skiplist|bmas] [--bst]
+ */
+public class BenchmarkTree {
+    private static final String[] OPERACIONES = {"insert", "searchByID", "searchByIDSnapshot", "searchByName", "delete", "inorder",
+            "crearArbolBalanceado"};
+    private static final String[] BACKENDS = {"avl", "bst", "skiplist", "bmas"};
+    private static final String[] ORDENES = {"ordenado", "aleatorio", "inverso"};
+    private static final int[] TAMANOS = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final int CONSULTAS_MAX = 1_000_000; // Búsquedas por iteración como máximo
+    private static final double Z_99_9 = 3.291; // Cuantil normal para el intervalo del 99,9 %
+    private static final long DURACION_ITERACION_NS = 200_000_000L; // Duración mínima de cada iteración
+    private static final int MAX_BST_DEGENERADO = 50_000; // Tamaño máximo de un BST con claves ordenadas o inversas (O(n^2))
+
+    static volatile long sumidero; // Evita que el JIT elimine resultados no usados (blackhole)
+
+    /**
+     * Punto de entrada: ejecuta todas las combinaciones pedidas, o una sola si se invoca como fork.
+     * @param args opciones de línea de comandos (ver la documentación de la clase)
+     * @throws Exception si falla un fork o la escritura de resultados
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--fork")) {
+            ejecutarFork(args);
+            return;
+        }
+
+        String[] operaciones = OPERACIONES;
+        String[] ordenes = ORDENES;
+        int[] tamanos = TAMANOS;
+        int forks = 2;
+        int calentamiento = 3;
+        int iteraciones = 5;
+        String salida = "resultados-benchmark.csv";
+        String backend = "avl";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ops": operaciones = args[++i].split(","); break;
+                case "--ordenes": ordenes = args[++i].split(","); break;
+                case "--tamanos": tamanos = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                case "--forks": forks = Integer.parseInt(args[++i]); break;
+                case "--calentamiento": calentamiento = Integer.parseInt(args[++i]); break;
+                case "--iteraciones": iteraciones = Integer.parseInt(args[++i]); break;
+                case "--salida": salida = args[++i]; break;
+                case "--bst": backend = "bst"; break;
+                case "--backend":
+                    backend = args[++i];
+                    if (!Arrays.asList(BACKENDS).contains(backend)) {
+                        System.err.println("Backend desconocido: " + backend + " (avl, bst, skiplist o bmas)");
+                        return;
+                    }
+                    break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    return;
+            }
+        }
+
+        try (PrintWriter csv = new PrintWriter(new FileWriter(salida))) {
+            csv.println("Benchmark,Mode,Samples,Score,ScoreError,Unit,Param:tamano,Param:orden,Param:modo");
+            System.out.printf("%-22s %10s %10s %14s %12s%n", "Benchmark", "tamano", "orden", "Score (ns/op)", "Error");
+            for (String operacion : operaciones) {
+                for (int tamano : tamanos) {
+                    // La construcción balanceada siempre parte de datos ordenados: el orden no aplica
+                    String[] ordenesOp = operacion.equals("crearArbolBalanceado") ? new String[]{"ordenado"} : ordenes;
+                    for (String orden : ordenesOp) {
+                        if (!admite(backend, operacion)) {
+                            System.out.printf("%-22s %10d %10s %14s%n", operacion, tamano, orden, "(no aplica a " + backend + ")");
+                            continue;
+                        }
+                        if (backend.equals("bst") && !orden.equals("aleatorio") && tamano > MAX_BST_DEGENERADO) {
+                            // Un BST con claves ordenadas es una lista: 10M inserciones serían ~5*10^13 comparaciones
+                            System.out.printf("%-22s %10d %10s %14s%n", operacion, tamano, orden,
+                                    "(omitido: BST degenerado > " + MAX_BST_DEGENERADO + ")");
+                            continue;
+                        }
+                        double[] muestras = medir(operacion, tamano, orden, backend, forks, calentamiento, iteraciones);
+                        double media = Arrays.stream(muestras).average().orElse(Double.NaN);
+                        double error = errorMedia(muestras, media);
+                        System.out.printf(Locale.ROOT, "%-22s %10d %10s %14.2f %12.2f%n", operacion, tamano, orden, media, error);
+                        csv.printf(Locale.ROOT, "%s.%s,avgt,%d,%.3f,%.3f,ns/op,%d,%s,%s%n",
+                                backend.equals("skiplist") ? "SkipListEmpleados" : backend.equals("bmas") ? "ArbolBMasEmpleados" : "Tree",
+                                operacion, muestras.length, media, error, tamano, orden, backend);
+                        csv.flush();
+                    }
+                }
+            }
+        }
+        System.out.println("Resultados guardados en " + salida);
+    }
+
+    /**
+     * Indica si una operación se puede medir con un backend: el snapshot de Eytzinger, la
+     * construcción balanceada y el índice por nombre solo existen en Tree (en la skip list y en
+     * el árbol B+ la búsqueda por nombre es un recorrido O(n) que no tiene sentido repetir un
+     * millón de veces).
+     * @param backend avl, bst, skiplist o bmas
+     * @param operacion operación a medir
+     * @return true si la combinación se mide
+     */
+    private static boolean admite(String backend, String operacion) {
+        return backend.equals("avl") || backend.equals("bst") || !(operacion.equals("searchByIDSnapshot")
+                || operacion.equals("crearArbolBalanceado") || operacion.equals("searchByName"));
+    }
+
+    /**
+     * Obtiene las muestras de una combinación, en forks separados o en este proceso si forks es 0.
+     * @return tiempo medio por operación (ns) de cada iteración medida de todos los forks
+     */
+    private static double[] medir(String operacion, int tamano, String orden, String backend,
+                                  int forks, int calentamiento, int iteraciones) throws IOException, InterruptedException {
+        if (forks == 0) {
+            return ejecutar(operacion, tamano, orden, backend, calentamiento, iteraciones);
+        }
+
+        List<Double> muestras = new ArrayList<>();
+        String java = System.getProperty("java.home") + "/bin/java";
+        for (int f = 0; f < forks; f++) {
+            List<String> comando = new ArrayList<>();
+            comando.add(java);
+            comando.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            comando.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), "BenchmarkTree", "--fork",
+                    operacion, String.valueOf(tamano), orden, backend,
+                    String.valueOf(calentamiento), String.valueOf(iteraciones)));
+            Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+            try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream()))) {
+                String linea;
+                while ((linea = lector.readLine()) != null) {
+                    if (linea.startsWith("MUESTRA ")) {
+                        muestras.add(Double.parseDouble(linea.substring(8)));
+                    } else {
+                        System.err.println("[fork] " + linea);
+                    }
+                }
+            }
+            if (proceso.waitFor() != 0) {
+                throw new IOException("El fork terminó con código " + proceso.exitValue());
+            }
+        }
+        return muestras.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Punto de entrada de un fork: ejecuta una combinación e imprime una línea MUESTRA por iteración medida.
+     * @param args --fork operacion tamano orden backend calentamiento iteraciones
+     */
+    private static void ejecutarFork(String[] args) throws IOException {
+        double[] muestras = ejecutar(args[1], Integer.parseInt(args[2]), args[3], args[4],
+                Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+        for (double muestra : muestras) {
+            System.out.println("MUESTRA " + muestra);
+        }
+    }
+
+    /**
+     * Ejecuta las iteraciones de calentamiento (descartadas) y las medidas de una combinación.
+     * @return ns por operación de cada iteración medida
+     */
+    private static double[] ejecutar(String operacion, int tamano, String orden, String backend,
+                                     int calentamiento, int iteraciones) throws IOException {
+        Empleado[] ordenados = new Empleado[tamano];
+        for (int i = 0; i < tamano; i++) {
+            ordenados[i] = new Empleado("Empleado " + i, i);
+        }
+        Empleado[] secuencia = ordenar(ordenados, orden, new Random(42));
+        int consultas = Math.min(tamano, CONSULTAS_MAX);
+        int[] ids = new int[consultas];
+        String[] nombres = new String[consultas];
+        Random random = new Random(7);
+        for (int i = 0; i < consultas; i++) {
+            Empleado empleado = ordenados[random.nextInt(tamano)];
+            ids[i] = empleado.ID;
+            nombres[i] = empleado.getNombre();
+        }
+
+        double[] muestras = new double[iteraciones];
+        for (int it = -calentamiento; it < iteraciones; it++) {
+            // Con tamaños pequeños una pasada dura microsegundos: se repite hasta cubrir la duración mínima
+            double suma = 0;
+            int repeticiones = 0;
+            long inicio = System.nanoTime();
+            do {
+                suma += iteracion(operacion, backend, ordenados, secuencia, ids, nombres);
+                repeticiones++;
+            } while (System.nanoTime() - inicio < DURACION_ITERACION_NS);
+            if (it >= 0) {
+                muestras[it] = suma / repeticiones;
+            }
+        }
+        return muestras;
+    }
+
+    /**
+     * Ejecuta una iteración de la operación indicada y devuelve su tiempo medio por operación.
+     * La preparación (construir el árbol de partida) queda fuera de la medición.
+     * El log está desactivado para medir solo la estructura de datos.
+     * Las operaciones exclusivas de Tree solo llegan aquí con avl o bst (ver admite).
+     * Con bmas cada iteración usa un archivo temporal nuevo que se cierra y borra al terminar.
+     */
+    private static double iteracion(String operacion, String backend, Empleado[] ordenados, Empleado[] secuencia,
+                                    int[] ids, String[] nombres) throws IOException {
+        if (!backend.equals("bmas")) {
+            IndiceEmpleados indice = backend.equals("skiplist") ? new SkipListEmpleados(null) : new Tree(null, backend.equals("avl"));
+            return ejecutarOperacion(operacion, indice, ordenados, secuencia, ids, nombres);
+        }
+        Path archivo = Files.createTempFile("benchmark", ".bmas");
+        ArbolBMasEmpleados arbol = null;
+        try {
+            arbol = new ArbolBMasEmpleados(archivo.toString(), null);
+            return ejecutarOperacion(operacion, arbol, ordenados, secuencia, ids, nombres);
+        } finally {
+            if (arbol != null) {
+                arbol.closeLog();
+            }
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    /**
+     * Mide la operación sobre un índice recién creado (ver iteracion).
+     */
+    private static double ejecutarOperacion(String operacion, IndiceEmpleados indice, Empleado[] ordenados, Empleado[] secuencia,
+                                            int[] ids, String[] nombres) {
+        long acumulado = 0;
+        long inicio;
+        long fin;
+
+        switch (operacion) {
+            case "insert":
+                inicio = System.nanoTime();
+                for (Empleado empleado : secuencia) {
+                    indice.insert(empleado);
+                }
+                fin = System.nanoTime();
+                acumulado += indice.countNodes();
+                sumidero += acumulado;
+                return (fin - inicio) / (double) secuencia.length;
+
+            case "searchByID":
+                construir(indice, secuencia);
+                inicio = System.nanoTime();
+                for (int id : ids) {
+                    Empleado empleado = indice.searchByID(id);
+                    acumulado += empleado != null ? empleado.ID : 0;
+                }
+                fin = System.nanoTime();
+                sumidero += acumulado;
+                return (fin - inicio) / (double) ids.length;
+
+            case "searchByIDSnapshot":
+                construir(indice, secuencia);
+                SnapshotEytzinger snapshot = ((Tree) indice).congelar();
+                inicio = System.nanoTime();
+                for (int id : ids) {
+                    Empleado empleado = snapshot.searchByID(id);
+                    acumulado += empleado != null ? empleado.ID : 0;
+                }
+                fin = System.nanoTime();
+                sumidero += acumulado;
+                return (fin - inicio) / (double) ids.length;
+
+            case "searchByName":
+                construir(indice, secuencia);
+                inicio = System.nanoTime();
+                for (String nombre : nombres) {
+                    Empleado empleado = ((Tree) indice).searchByName(nombre);
+                    acumulado += empleado != null ? empleado.ID : 0;
+                }
+                fin = System.nanoTime();
+                sumidero += acumulado;
+                return (fin - inicio) / (double) nombres.length;
+
+            case "delete":
+                construir(indice, secuencia);
+                inicio = System.nanoTime();
+                for (Empleado empleado : secuencia) {
+                    acumulado += indice.delete(empleado.ID) ? 1 : 0;
+                }
+                fin = System.nanoTime();
+                sumidero += acumulado;
+                return (fin - inicio) / (double) secuencia.length;
+
+            case "inorder":
+                construir(indice, secuencia);
+                PrintStream original = System.out;
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                try {
+                    inicio = System.nanoTime();
+                    indice.inorder();
+                    fin = System.nanoTime();
+                } finally {
+                    System.setOut(original);
+                }
+                return (fin - inicio) / (double) ordenados.length;
+
+            case "crearArbolBalanceado":
+                Tree tree = (Tree) indice;
+                inicio = System.nanoTime();
+                tree.crearArbolBalanceado(ordenados);
+                fin = System.nanoTime();
+                sumidero += tree.countNodes();
+                return (fin - inicio) / (double) ordenados.length;
+
+            default:
+                throw new IllegalArgumentException("Operación desconocida: " + operacion);
+        }
+    }
+
+    /**
+     * Prepara la estructura de partida insertando los empleados en el orden indicado, como los
+     * construye la aplicación. En modo AVL la forma final depende del orden (las rotaciones no dejan
+     * el árbol perfecto de crearArbolBalanceado), así que el orden también afecta a las búsquedas.
+     */
+    private static void construir(IndiceEmpleados indice, Empleado[] secuencia) {
+        for (Empleado empleado : secuencia) {
+            indice.insert(empleado);
+        }
+    }
+
+    /**
+     * Devuelve una copia de los empleados en el orden de claves indicado.
+     * @param ordenados empleados ordenados por ID
+     * @param orden ordenado, aleatorio o inverso
+     * @param random generador para el orden aleatorio (semilla fija para repetir resultados)
+     * @return nueva secuencia de empleados
+     */
+    private static Empleado[] ordenar(Empleado[] ordenados, String orden, Random random) {
+        Empleado[] secuencia = ordenados.clone();
+        switch (orden) {
+            case "ordenado":
+                break;
+            case "inverso":
+                for (int i = 0, j = secuencia.length - 1; i < j; i++, j--) {
+                    Empleado tmp = secuencia[i];
+                    secuencia[i] = secuencia[j];
+                    secuencia[j] = tmp;
+                }
+                break;
+            case "aleatorio":
+                for (int i = secuencia.length - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    Empleado tmp = secuencia[i];
+                    secuencia[i] = secuencia[j];
+                    secuencia[j] = tmp;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Orden desconocido: " + orden);
+        }
+        return secuencia;
+    }
+
+    /**
+     * Calcula el error de la media con un intervalo de confianza del 99,9 %.
+     * @param muestras muestras medidas
+     * @param media media de las muestras
+     * @return semiancho del intervalo (NaN si hay menos de dos muestras)
+     */
+    private static double errorMedia(double[] muestras, double media) {
+        if (muestras.length < 2) {
+            return Double.NaN;
+        }
+        double suma = 0;
+        for (double muestra : muestras) {
+            suma += (muestra - media) * (muestra - media);
+        }
+        double desviacion = Math.sqrt(suma / (muestras.length - 1));
+        return Z_99_9 * desviacion / Math.sqrt(muestras.length);
+    }
+}
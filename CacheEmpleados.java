@@ -0,0 +1,209 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase CacheEmpleados: caché acotada de búsquedas por ID con política CLOCK (segunda oportunidad).
+ * Pensada para cargas sesgadas, en las que unos pocos cientos de empleados reciben la mayoría
+ * de las consultas: un acierto evita descender por el árbol desde la raíz.
+ * Solo guarda empleados encontrados (no las ausencias), y Tree invalida cada ID que inserta
+ * o elimina, así que la caché nunca devuelve un empleado que ya no está en el árbol.
+ * Cuenta aciertos y fallos para poder dimensionar la capacidad.
+ * Es segura para varios hilos sin bloquear a los lectores: buscar solo lee un ConcurrentHashMap
+ * y marca la entrada como referenciada (a diferencia de un LinkedHashMap en orden de acceso,
+ * donde cada get reordena la lista y obliga a serializar las lecturas). Solo guardar, que se
+ * llama tras un fallo, toma el cerrojo para elegir la víctima: la manecilla recorre las ranuras,
+ * quita la marca a las referenciadas y desaloja la primera sin marca.
+ */
+public class CacheEmpleados {
+    private final int capacidad; // Número máximo de empleados guardados
+    private final ConcurrentHashMap<Integer, Entrada> entradas; // ID -> entrada
+    private final Entrada[] ranuras; // Entradas en el orden en que las recorre la manecilla (protegido por this)
+    private int manecilla; // Próxima ranura candidata a desalojo (protegido por this)
+    private final AtomicLong generacion = new AtomicLong(); // Se incrementa en cada invalidación
+    private final LongAdder aciertos = new LongAdder(); // Búsquedas resueltas por la caché
+    private final LongAdder fallos = new LongAdder(); // Búsquedas que tuvieron que ir al árbol
+
+    /**
+     * Empleado guardado junto con su bit de referencia.
+     */
+    private static final class Entrada {
+        final Empleado empleado;
+        volatile boolean referenciada; // Consultada desde que la manecilla pasó por última vez
+
+        Entrada(Empleado empleado) {
+            this.empleado = empleado;
+        }
+    }
+
+    /**
+     * Constructor que crea la caché vacía.
+     * @param capacidad número máximo de empleados guardados
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public CacheEmpleados(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.entradas = new ConcurrentHashMap<>(Math.min(capacidad, 1 << 16) * 2);
+        this.ranuras = new Entrada[capacidad];
+    }
+
+    /**
+     * Busca un empleado en la caché y cuenta el acierto o el fallo. No toma ningún cerrojo.
+     * @param id ID del empleado
+     * @return empleado guardado, o null si no está en la caché
+     */
+    public Empleado buscar(int id) {
+        Entrada entrada = entradas.get(id);
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        if (!entrada.referenciada) {
+            entrada.referenciada = true; // Solo se escribe si cambia, para no invalidar la línea de caché en cada acierto
+        }
+        aciertos.increment();
+        return entrada.empleado;
+    }
+
+    /**
+     * Obtiene la generación actual. Se lee antes de consultar el árbol tras un fallo
+     * y se pasa a guardar, para descartar el resultado si hubo una invalidación entretanto.
+     * @return generación actual
+     */
+    public long getGeneracion() {
+        return generacion.get();
+    }
+
+    /**
+     * Guarda un empleado leído del árbol si no ha habido invalidaciones desde que se leyó la generación.
+     * Así un lector concurrente no puede volver a guardar un empleado que otro hilo acaba de eliminar:
+     * si la invalidación llega mientras se guarda, la generación ya ha cambiado al comprobarla otra vez
+     * y la entrada recién puesta se retira.
+     * @param empleado empleado encontrado en el árbol
+     * @param generacionLeida generación obtenida antes de consultar el árbol
+     */
+    public void guardar(Empleado empleado, long generacionLeida) {
+        if (generacion.get() != generacionLeida) {
+            return;
+        }
+        Entrada nueva = new Entrada(empleado);
+        synchronized (this) {
+            if (entradas.containsKey(empleado.ID)) {
+                return; // Otro lector la guardó primero
+            }
+            int ranura = elegirRanura();
+            ranuras[ranura] = nueva;
+            entradas.put(empleado.ID, nueva);
+        }
+        // invalidar incrementa la generación antes de quitar el ID: o quita esta entrada o se ve aquí
+        if (generacion.get() != generacionLeida) {
+            entradas.remove(empleado.ID, nueva);
+        }
+    }
+
+    /**
+     * Mueve la manecilla hasta una ranura libre (vacía o con una entrada ya invalidada) o con una
+     * entrada sin referenciar, que se desaloja. Da como mucho dos vueltas.
+     * @return ranura donde colocar la nueva entrada
+     */
+    private int elegirRanura() {
+        while (true) {
+            int ranura = manecilla;
+            manecilla = ranura + 1 == capacidad ? 0 : ranura + 1;
+            Entrada actual = ranuras[ranura];
+            if (actual == null || entradas.get(actual.empleado.ID) != actual) {
+                return ranura;
+            }
+            if (actual.referenciada) {
+                actual.referenciada = false;
+            } else {
+                entradas.remove(actual.empleado.ID, actual);
+                return ranura;
+            }
+        }
+    }
+
+    /**
+     * Quita un ID de la caché. Tree la llama después de modificar ese ID en el árbol.
+     * @param id ID modificado
+     */
+    public void invalidar(int id) {
+        generacion.incrementAndGet();
+        entradas.remove(id);
+    }
+
+    /**
+     * Vacía la caché. Tree la llama cuando reemplaza todo su contenido.
+     */
+    public void limpiar() {
+        generacion.incrementAndGet();
+        synchronized (this) {
+            entradas.clear();
+            Arrays.fill(ranuras, null);
+            manecilla = 0;
+        }
+    }
+
+    /**
+     * Pone a cero los contadores de aciertos y fallos.
+     */
+    public void reiniciarContadores() {
+        aciertos.reset();
+        fallos.reset();
+    }
+
+    /**
+     * Obtiene la capacidad máxima de la caché.
+     * @return número máximo de empleados guardados
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene el número de empleados guardados actualmente.
+     * @return empleados en la caché
+     */
+    public int getTamano() {
+        return entradas.size();
+    }
+
+    /**
+     * Obtiene el número de búsquedas resueltas por la caché.
+     * @return aciertos desde la creación o el último reinicio de contadores
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * Obtiene el número de búsquedas que no estaban en la caché.
+     * @return fallos desde la creación o el último reinicio de contadores
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Obtiene la proporción de búsquedas resueltas por la caché.
+     * @return aciertos / (aciertos + fallos), o 0 si no ha habido búsquedas
+     */
+    public double getTasaAciertos() {
+        long exitos = aciertos.sum();
+        long consultas = exitos + fallos.sum();
+        return consultas == 0 ? 0.0 : (double) exitos / consultas;
+    }
+
+    @Override
+    public String toString() {
+        long exitos = aciertos.sum();
+        long perdidas = fallos.sum();
+        long consultas = exitos + perdidas;
+        return String.format("%d/%d empleados, %d aciertos, %d fallos (%.1f%% de aciertos)",
+                entradas.size(), capacidad, exitos, perdidas, consultas == 0 ? 0.0 : exitos * 100.0 / consultas);
+    }
+}
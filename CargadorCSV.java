@@ -0,0 +1,408 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Clase CargadorCSV que lee el archivo de empleados mapeándolo en memoria.
+ * Recorre los bytes buscando delimitadores, convierte el ID directamente desde los bytes
+ * (sin Strings intermedios ni split) y solo crea un String por nombre.
+ * Registra un único resumen en el log en lugar de una línea por empleado.
+ * La carga es paralela por bloques y entrega los empleados ordenados por ID,
+ * lista para construir un árbol balanceado en O(n).
+ */
+public class CargadorCSV {
+    private static final long TAMANO_BLOQUE_MIN = 1 << 20; // Bloque mínimo de la carga paralela (1 MiB)
+    private static final long TAMANO_BLOQUE_MAX = 64L << 20; // Bloque máximo de la carga paralela (64 MiB)
+    private static final Comparator<Empleado> POR_ID = Comparator.comparingInt(Empleado::getID);
+
+    private final List<Empleado> empleados = new ArrayList<>(); // Empleados leídos
+    private byte[] nombreBytes = new byte[128]; // Buffer reutilizable para decodificar nombres
+    private int lineasInvalidas; // Líneas sin ID numérico o sin nombre
+    private boolean encabezadoSaltado; // Indica si ya se descartó la línea de encabezado
+
+    /**
+     * Constructor privado: cada instancia interpreta un archivo o un bloque de él.
+     * @param tieneEncabezado true si la primera línea procesada es el encabezado del CSV
+     */
+    private CargadorCSV(boolean tieneEncabezado) {
+        this.encabezadoSaltado = !tieneEncabezado;
+    }
+
+    /**
+     * Resultado de una carga paralela: empleados ordenados por ID y las incidencias encontradas.
+     */
+    public static class ResultadoCarga {
+        private final Empleado[] empleados; // Empleados ordenados por ID, sin duplicados
+        private final List<Integer> idsDuplicados; // IDs que aparecían más de una vez (se conserva la primera)
+        private final int lineasInvalidas; // Líneas descartadas por formato
+
+        ResultadoCarga(Empleado[] empleados, List<Integer> idsDuplicados, int lineasInvalidas) {
+            this.empleados = empleados;
+            this.idsDuplicados = idsDuplicados;
+            this.lineasInvalidas = lineasInvalidas;
+        }
+
+        /**
+         * Obtiene los empleados cargados, ordenados por ID y sin IDs repetidos.
+         * @return array ordenado de empleados
+         */
+        public Empleado[] getEmpleados() {
+            return empleados;
+        }
+
+        /**
+         * Obtiene los IDs duplicados detectados durante la mezcla.
+         * De cada ID repetido se conserva la primera aparición en el archivo.
+         * @return lista de IDs duplicados (una entrada por aparición descartada)
+         */
+        public List<Integer> getIdsDuplicados() {
+            return idsDuplicados;
+        }
+
+        /**
+         * Obtiene el número de líneas descartadas por formato inválido.
+         * @return líneas inválidas
+         */
+        public int getLineasInvalidas() {
+            return lineasInvalidas;
+        }
+    }
+
+    /**
+     * Lee los empleados de un archivo CSV en paralelo y los devuelve ordenados por ID.
+     * El archivo se divide en bloques alineados a saltos de línea; cada bloque se mapea,
+     * se interpreta y se ordena en un ForkJoinPool, y los resultados se mezclan por parejas
+     * (merge sort) detectando los IDs duplicados durante la mezcla.
+     * @param archivo ruta del archivo CSV a leer
+     * @param logFile archivo donde registrar el resumen de la carga (null para no registrar)
+     * @return empleados ordenados por ID, IDs duplicados y líneas inválidas
+     * @throws IOException si hay problemas al leer el archivo
+     */
+    public static ResultadoCarga cargarParalelo(String archivo, String logFile) throws IOException {
+        return cargarParalelo(archivo, logFile, 0);
+    }
+
+    /**
+     * Carga en paralelo con un tamaño de bloque fijo; con bloques diminutos las pruebas pueden
+     * forzar cortes en cualquier posición de un archivo pequeño.
+     * @param archivo ruta del archivo CSV a leer
+     * @param logFile archivo donde registrar el resumen de la carga (null para no registrar)
+     * @param tamanoBloque bytes aproximados por bloque, o 0 para calcularlo según el archivo y los hilos
+     * @return empleados ordenados por ID, IDs duplicados y líneas inválidas
+     * @throws IOException si hay problemas al leer el archivo
+     */
+    static ResultadoCarga cargarParalelo(String archivo, String logFile, long tamanoBloque) throws IOException {
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Bloque bloque;
+
+        try (FileChannel canal = FileChannel.open(Path.of(archivo), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamanoBloque <= 0) {
+                tamanoBloque = Math.max(TAMANO_BLOQUE_MIN,
+                        Math.min(TAMANO_BLOQUE_MAX, tamano / (pool.getParallelism() * 4L) + 1));
+            }
+            long[] cortes = calcularCortes(canal, tamano, tamanoBloque);
+            try {
+                bloque = pool.invoke(new TareaBloques(canal, cortes, 0, cortes.length - 1));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        ResultadoCarga resultado = new ResultadoCarga(bloque.empleados, bloque.duplicados, bloque.lineasInvalidas);
+        long milis = (System.nanoTime() - inicio) / 1_000_000;
+        if (logFile != null) {
+            try (PrintWriter logWriter = new PrintWriter(new FileWriter(logFile, true))) {
+                logWriter.println("Carga paralela completada desde " + archivo + ". Total empleados: "
+                        + bloque.empleados.length + ", IDs duplicados: " + bloque.duplicados.size()
+                        + ", líneas inválidas: " + bloque.lineasInvalidas + ", hilos: " + pool.getParallelism()
+                        + ", tiempo: " + milis + " ms " + LocalDate.now() + " " + LocalTime.now());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula los puntos de corte de los bloques, desplazando cada corte hasta justo después
+     * del siguiente salto de línea para que ninguna línea quede partida entre dos bloques.
+     * @param canal canal del archivo
+     * @param tamano tamaño del archivo en bytes
+     * @param tamanoBloque tamaño aproximado de cada bloque
+     * @return posiciones de corte, empezando en 0 y terminando en tamano
+     * @throws IOException si hay problemas al leer el archivo
+     */
+    private static long[] calcularCortes(FileChannel canal, long tamano, long tamanoBloque) throws IOException {
+        List<Long> cortes = new ArrayList<>();
+        cortes.add(0L);
+        ByteBuffer lectura = ByteBuffer.allocate(4096);
+        long objetivo = tamanoBloque;
+        while (objetivo < tamano) {
+            long corte = -1;
+            long posicion = objetivo;
+            while (corte < 0 && posicion < tamano) {
+                lectura.clear();
+                int leidos = canal.read(lectura, posicion);
+                if (leidos <= 0) {
+                    break;
+                }
+                for (int i = 0; i < leidos; i++) {
+                    if (lectura.get(i) == '\n') {
+                        corte = posicion + i + 1;
+                        break;
+                    }
+                }
+                posicion += leidos;
+            }
+            if (corte < 0 || corte >= tamano) {
+                break;
+            }
+            cortes.add(corte);
+            objetivo = corte + tamanoBloque;
+        }
+        cortes.add(tamano);
+
+        long[] resultado = new long[cortes.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = cortes.get(i);
+        }
+        return resultado;
+    }
+
+    /**
+     * Resultado parcial de la carga paralela: un tramo de empleados ya ordenado por ID.
+     */
+    private static class Bloque {
+        final Empleado[] empleados;
+        final List<Integer> duplicados;
+        final int lineasInvalidas;
+
+        Bloque(Empleado[] empleados, List<Integer> duplicados, int lineasInvalidas) {
+            this.empleados = empleados;
+            this.duplicados = duplicados;
+            this.lineasInvalidas = lineasInvalidas;
+        }
+    }
+
+    /**
+     * Tarea ForkJoin que interpreta los bloques [desde, hasta) del archivo.
+     * Un único bloque se mapea, se interpreta y se ordena; varios bloques se dividen
+     * en dos mitades que se procesan en paralelo y luego se mezclan.
+     */
+    private static class TareaBloques extends RecursiveTask<Bloque> {
+        private static final long serialVersionUID = 1L;
+        private final FileChannel canal;
+        private final long[] cortes;
+        private final int desde;
+        private final int hasta;
+
+        TareaBloques(FileChannel canal, long[] cortes, int desde, int hasta) {
+            this.canal = canal;
+            this.cortes = cortes;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Bloque compute() {
+            if (hasta - desde > 1) {
+                int medio = (desde + hasta) >>> 1;
+                TareaBloques izquierda = new TareaBloques(canal, cortes, desde, medio);
+                TareaBloques derecha = new TareaBloques(canal, cortes, medio, hasta);
+                izquierda.fork();
+                Bloque der = derecha.compute();
+                return mezclar(izquierda.join(), der);
+            }
+
+            long inicio = cortes[desde];
+            int longitud = (int) (cortes[hasta] - inicio);
+            CargadorCSV cargador = new CargadorCSV(desde == 0);
+            if (longitud > 0) {
+                try {
+                    MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, inicio, longitud);
+                    cargador.procesar(buffer, longitud);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            // Ordenación estable: ante IDs repetidos se conserva la primera aparición del bloque
+            Empleado[] ordenados = cargador.empleados.toArray(new Empleado[0]);
+            Arrays.sort(ordenados, POR_ID);
+            List<Integer> duplicados = new ArrayList<>();
+            int unicos = 0;
+            for (Empleado empleado : ordenados) {
+                if (unicos > 0 && ordenados[unicos - 1].ID == empleado.ID) {
+                    duplicados.add(empleado.ID);
+                } else {
+                    ordenados[unicos++] = empleado;
+                }
+            }
+            return new Bloque(unicos == ordenados.length ? ordenados : Arrays.copyOf(ordenados, unicos),
+                    duplicados, cargador.lineasInvalidas);
+        }
+    }
+
+    /**
+     * Mezcla dos tramos ordenados por ID. El tramo izquierdo corresponde a una parte anterior
+     * del archivo, así que ante un ID repetido se conserva el de la izquierda y se informa el duplicado.
+     * @param izq tramo anterior del archivo
+     * @param der tramo posterior del archivo
+     * @return tramo mezclado y ordenado
+     */
+    private static Bloque mezclar(Bloque izq, Bloque der) {
+        Empleado[] a = izq.empleados;
+        Empleado[] b = der.empleados;
+        List<Integer> duplicados = new ArrayList<>(izq.duplicados);
+        duplicados.addAll(der.duplicados);
+
+        // Caso habitual con archivos ordenados: los tramos no se solapan
+        if (a.length == 0 || b.length == 0 || a[a.length - 1].ID < b[0].ID) {
+            Empleado[] unidos = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, unidos, a.length, b.length);
+            return new Bloque(unidos, duplicados, izq.lineasInvalidas + der.lineasInvalidas);
+        }
+
+        Empleado[] mezcla = new Empleado[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i].ID < b[j].ID) {
+                mezcla[k++] = a[i++];
+            } else if (a[i].ID > b[j].ID) {
+                mezcla[k++] = b[j++];
+            } else {
+                duplicados.add(b[j].ID);
+                mezcla[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            mezcla[k++] = a[i++];
+        }
+        while (j < b.length) {
+            mezcla[k++] = b[j++];
+        }
+        return new Bloque(k == mezcla.length ? mezcla : Arrays.copyOf(mezcla, k),
+                duplicados, izq.lineasInvalidas + der.lineasInvalidas);
+    }
+
+    /**
+     * Procesa todas las líneas de un bloque mapeado. Los bloques terminan tras un salto de línea
+     * o al final del archivo, así que lo que queda tras el último salto es una línea completa
+     * (la última del archivo, sin salto).
+     * @param buffer bloque mapeado del archivo
+     * @param limite número de bytes del bloque
+     */
+    private void procesar(MappedByteBuffer buffer, int limite) {
+        int inicioLinea = 0;
+        for (int i = 0; i < limite; i++) {
+            if (buffer.get(i) == '\n') {
+                procesarLinea(buffer, inicioLinea, i);
+                inicioLinea = i + 1;
+            }
+        }
+        if (inicioLinea < limite) {
+            procesarLinea(buffer, inicioLinea, limite);
+        }
+    }
+
+    /**
+     * Interpreta una línea "id,nombre" situada en [inicio, fin) del buffer.
+     * El ID se convierte byte a byte; el nombre termina en la siguiente coma o al final de línea,
+     * igual que con split(",").
+     * @param buffer ventana mapeada del archivo
+     * @param inicio primer byte de la línea
+     * @param fin posición del salto de línea (exclusiva)
+     */
+    private void procesarLinea(MappedByteBuffer buffer, int inicio, int fin) {
+        if (fin > inicio && buffer.get(fin - 1) == '\r') {
+            fin--;
+        }
+        if (!encabezadoSaltado) {
+            encabezadoSaltado = true;
+            return;
+        }
+        if (fin == inicio) {
+            return; // Línea vacía
+        }
+
+        // ID: espacios opcionales, signo opcional y dígitos hasta la coma
+        int i = saltarEspacios(buffer, inicio, fin);
+        boolean negativo = i < fin && buffer.get(i) == '-';
+        if (negativo) {
+            i++;
+        }
+        long id = 0;
+        int digitos = 0;
+        for (; i < fin; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            id = id * 10 + (b - '0');
+            digitos++;
+            if (id > Integer.MAX_VALUE + 1L) {
+                break;
+            }
+        }
+        long valor = negativo ? -id : id;
+        i = saltarEspacios(buffer, i, fin);
+        if (digitos == 0 || i >= fin || buffer.get(i) != ','
+                || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            lineasInvalidas++;
+            return;
+        }
+
+        // Nombre: hasta la siguiente coma o el final de línea, sin espacios en los extremos
+        int inicioNombre = i + 1;
+        int finNombre = inicioNombre;
+        while (finNombre < fin && buffer.get(finNombre) != ',') {
+            finNombre++;
+        }
+        inicioNombre = saltarEspacios(buffer, inicioNombre, finNombre);
+        while (finNombre > inicioNombre && buffer.get(finNombre - 1) <= ' ' && buffer.get(finNombre - 1) >= 0) {
+            finNombre--;
+        }
+        if (finNombre == inicioNombre) {
+            lineasInvalidas++;
+            return;
+        }
+
+        int longitud = finNombre - inicioNombre;
+        if (longitud > nombreBytes.length) {
+            nombreBytes = new byte[Math.max(longitud, nombreBytes.length * 2)];
+        }
+        buffer.get(inicioNombre, nombreBytes, 0, longitud);
+        String nombre = new String(nombreBytes, 0, longitud, StandardCharsets.UTF_8);
+        empleados.add(new Empleado(nombre, (int) valor));
+    }
+
+    /**
+     * Avanza sobre espacios y tabuladores.
+     * @param buffer ventana mapeada del archivo
+     * @param i posición inicial
+     * @param fin límite (exclusivo)
+     * @return primera posición que no es espacio, o fin
+     */
+    private static int saltarEspacios(MappedByteBuffer buffer, int i, int fin) {
+        while (i < fin && (buffer.get(i) == ' ' || buffer.get(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,483 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Clase DiarioOperaciones: diario binario de solo anexado (write-ahead journal) con las
+ * inserciones y eliminaciones del árbol, para recuperarlas al reiniciar.
+ * A diferencia de logs.log, que es texto para personas, cada registro del diario lleva un CRC32
+ * y se puede volver a aplicar sobre el último snapshot o el CSV. Un registro final incompleto
+ * (por ejemplo, tras un corte durante la escritura) se descarta y se trunca al abrir el diario.
+ * Formato (big-endian):
+ * <pre>
+ *   cabecera:  magic "EMPJ" (int) | versión del formato (int)
+ *   registro:  tipo (byte) | ID (int) | longitud del nombre (unsigned short) | nombre UTF-8 | CRC32 (int)
+ * </pre>
+ * El CRC de cada registro cubre desde el tipo hasta el final del nombre.
+ * Para que el diario no crezca sin límite, al superar un umbral se compacta: el contenido del
+ * árbol se vuelca a un nuevo archivo base (snapshot) en un hilo de fondo y el diario empieza vacío.
+ * Las compactaciones no se solapan: mientras se escribe una base, rotar no aparta otro diario,
+ * así que una base antigua nunca puede sobrescribir a una más reciente ni borrar registros
+ * que aún no contiene.
+ */
+public class DiarioOperaciones {
+    private static final int MAGIC = 0x454D504A; // "EMPJ"
+    private static final int VERSION_FORMATO = 1;
+    private static final int TAMANO_CABECERA = 8;
+    private static final byte TIPO_INSERCION = 1;
+    private static final byte TIPO_ELIMINACION = 2;
+    private static final int LONGITUD_NOMBRE_MAX = 0xFFFF; // Máximo representable en el prefijo de longitud
+    private static final int TAMANO_LECTURA = 1 << 17; // Buffer de lectura al abrir (cabe el registro más largo)
+    public static final long UMBRAL_COMPACTACION_POR_DEFECTO = 8L << 20; // Tamaño del diario que dispara la compactación (8 MiB)
+
+    /**
+     * Operación registrada en el diario.
+     */
+    public static class Operacion {
+        private final boolean insercion; // true si es una inserción, false si es una eliminación
+        private final int id; // ID afectado
+        private final Empleado empleado; // Empleado insertado (null en las eliminaciones)
+
+        Operacion(boolean insercion, int id, Empleado empleado) {
+            this.insercion = insercion;
+            this.id = id;
+            this.empleado = empleado;
+        }
+
+        /**
+         * Indica si la operación es una inserción.
+         * @return true si es una inserción, false si es una eliminación
+         */
+        public boolean isInsercion() {
+            return insercion;
+        }
+
+        /**
+         * Obtiene el ID afectado por la operación.
+         * @return ID del empleado insertado o eliminado
+         */
+        public int getID() {
+            return id;
+        }
+
+        /**
+         * Obtiene el empleado insertado.
+         * @return empleado insertado, o null si la operación es una eliminación
+         */
+        public Empleado getEmpleado() {
+            return empleado;
+        }
+    }
+
+    private final Path archivo; // Diario activo
+    private final Path archivoRotado; // Diario pendiente de volcar a la base durante una compactación
+    private final boolean sincronizarDisco; // Si es true, cada registro se fuerza a disco (fsync)
+    private final long umbralCompactacion; // Tamaño a partir del cual conviene compactar
+    private final List<Operacion> recuperadas; // Operaciones leídas al abrir (diario rotado + activo)
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 17); // Buffer para serializar registros (cabe el nombre más largo)
+    private FileChannel canal; // Canal de escritura del diario activo
+    private long tamano; // Bytes del diario activo
+    private boolean compactando; // true desde que se rota el diario hasta que termina de escribirse la base
+
+    /**
+     * Abre el diario con el umbral de compactación por defecto y sin forzar cada registro a disco.
+     * @param archivo ruta del diario (se crea si no existe)
+     * @throws IOException si hay problemas al leer o crear el diario
+     */
+    public DiarioOperaciones(String archivo) throws IOException {
+        this(archivo, false, UMBRAL_COMPACTACION_POR_DEFECTO);
+    }
+
+    /**
+     * Abre el diario: lee las operaciones ya registradas (primero las de una compactación
+     * interrumpida y luego las del diario activo), trunca un posible registro final incompleto
+     * y deja el archivo listo para anexar.
+     * @param archivo ruta del diario (se crea si no existe)
+     * @param sincronizarDisco si es true, cada registro se fuerza a disco antes de volver
+     * @param umbralCompactacion tamaño en bytes a partir del cual conviene compactar
+     * @throws IOException si hay problemas al leer o crear el diario, o si no es un diario válido
+     */
+    public DiarioOperaciones(String archivo, boolean sincronizarDisco, long umbralCompactacion) throws IOException {
+        this.archivo = Path.of(archivo).toAbsolutePath();
+        this.archivoRotado = this.archivo.resolveSibling(this.archivo.getFileName() + ".compactando");
+        this.sincronizarDisco = sincronizarDisco;
+        this.umbralCompactacion = umbralCompactacion;
+
+        List<Operacion> operaciones = new ArrayList<>();
+        if (Files.exists(archivoRotado)) {
+            leerRegistros(archivoRotado, operaciones);
+        }
+        long valido = Files.exists(this.archivo) ? leerRegistros(this.archivo, operaciones) : 0;
+        this.recuperadas = Collections.unmodifiableList(operaciones);
+
+        canal = FileChannel.open(this.archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (valido == 0) {
+            canal.truncate(0);
+            escribirCabecera(canal);
+            tamano = TAMANO_CABECERA;
+        } else {
+            // Descarta un posible registro incompleto o corrupto al final
+            canal.truncate(valido);
+            canal.position(valido);
+            tamano = valido;
+        }
+    }
+
+    /**
+     * Lee los registros válidos de un diario, deteniéndose en el primer registro incompleto
+     * o con CRC incorrecto. El archivo se lee por bloques con un buffer fijo, así que la memoria
+     * no depende de su tamaño (un diario apartado crece mientras las compactaciones fallan).
+     * @param ruta diario a leer
+     * @param destino lista donde se agregan las operaciones leídas
+     * @return bytes válidos del archivo (0 si está vacío o sin cabecera completa)
+     * @throws IOException si hay problemas de lectura o el archivo no es un diario
+     */
+    private static long leerRegistros(Path ruta, List<Operacion> destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ByteBuffer lector = ByteBuffer.allocate(TAMANO_LECTURA);
+            lector.flip();
+            if (!asegurar(canal, lector, TAMANO_CABECERA)) {
+                return 0;
+            }
+            if (lector.getInt() != MAGIC) {
+                throw new IOException("El archivo no es un diario de operaciones: " + ruta);
+            }
+            int versionFormato = lector.getInt();
+            if (versionFormato != VERSION_FORMATO) {
+                throw new IOException("Versión de diario no soportada: " + versionFormato);
+            }
+
+            byte[] datos = lector.array();
+            long validos = TAMANO_CABECERA;
+            CRC32 crc = new CRC32();
+            while (asegurar(canal, lector, 7)) {
+                int longitud = lector.getShort(lector.position() + 5) & 0xFFFF;
+                if (!asegurar(canal, lector, 7 + longitud + 4)) {
+                    return validos;
+                }
+                int inicio = lector.position();
+                byte tipo = lector.get();
+                int id = lector.getInt();
+                crc.reset();
+                crc.update(datos, inicio, 7 + longitud);
+                lector.position(inicio + 7 + longitud);
+                if (lector.getInt() != (int) crc.getValue()) {
+                    return validos;
+                }
+                if (tipo == TIPO_INSERCION) {
+                    String nombre = new String(datos, inicio + 7, longitud, StandardCharsets.UTF_8);
+                    destino.add(new Operacion(true, id, new Empleado(nombre, id)));
+                } else if (tipo == TIPO_ELIMINACION) {
+                    destino.add(new Operacion(false, id, null));
+                } else {
+                    return validos;
+                }
+                validos += 7 + longitud + 4;
+            }
+            return validos;
+        }
+    }
+
+    /**
+     * Garantiza que el buffer tenga al menos la cantidad de bytes pedida sin leer,
+     * compactándolo y leyendo del canal en bloque si hace falta.
+     * @param canal canal de origen
+     * @param buffer buffer en modo lectura
+     * @param bytes bytes necesarios (como máximo la capacidad del buffer)
+     * @return false si el archivo termina antes de tener esos bytes
+     * @throws IOException si hay problemas de lectura
+     */
+    private static boolean asegurar(FileChannel canal, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (canal.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            buffer.flip();
+        }
+    }
+
+    /**
+     * Escribe la cabecera del diario en la posición actual del canal.
+     * @param destino canal de escritura
+     * @throws IOException si hay problemas al escribir
+     */
+    private static void escribirCabecera(FileChannel destino) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA);
+        cabecera.putInt(MAGIC).putInt(VERSION_FORMATO).flip();
+        while (cabecera.hasRemaining()) {
+            destino.write(cabecera);
+        }
+    }
+
+    /**
+     * Obtiene las operaciones leídas al abrir el diario, en el orden en que se registraron.
+     * @return lista inmutable de operaciones recuperadas
+     */
+    public List<Operacion> getOperacionesRecuperadas() {
+        return recuperadas;
+    }
+
+    /**
+     * Registra una inserción. Debe llamarse antes de aplicarla al árbol.
+     * @param empleado empleado insertado
+     * @throws UncheckedIOException si no se puede escribir el diario
+     */
+    public synchronized void registrarInsercion(Empleado empleado) {
+        registrarInserciones(new Empleado[]{empleado}, 1);
+    }
+
+    /**
+     * Registra varias inserciones con una sola escritura. Debe llamarse antes de aplicarlas al árbol.
+     * @param empleados empleados insertados
+     * @param cantidad número de empleados a registrar desde el inicio del array
+     * @throws UncheckedIOException si no se puede escribir el diario (no queda ningún registro del lote)
+     */
+    public synchronized void registrarInserciones(Empleado[] empleados, int cantidad) {
+        long inicio = tamano;
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                if (empleados[i].longitudNombreUTF8() > LONGITUD_NOMBRE_MAX) {
+                    throw new IllegalArgumentException("Nombre demasiado largo para el diario (ID " + empleados[i].ID + ")");
+                }
+                agregarRegistro(TIPO_INSERCION, empleados[i].ID, empleados[i]);
+            }
+            volcar();
+        } catch (RuntimeException e) {
+            descartarDesde(inicio, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Registra una eliminación. Debe llamarse antes de aplicarla al árbol.
+     * @param id ID eliminado
+     * @throws UncheckedIOException si no se puede escribir el diario
+     */
+    public synchronized void registrarEliminacion(int id) {
+        registrarEliminaciones(new int[]{id}, 1);
+    }
+
+    /**
+     * Registra varias eliminaciones con una sola escritura. Debe llamarse antes de aplicarlas al árbol.
+     * @param ids IDs eliminados
+     * @param cantidad número de IDs a registrar desde el inicio del array
+     * @throws UncheckedIOException si no se puede escribir el diario (no queda ningún registro del lote)
+     */
+    public synchronized void registrarEliminaciones(int[] ids, int cantidad) {
+        long inicio = tamano;
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                agregarRegistro(TIPO_ELIMINACION, ids[i], null);
+            }
+            volcar();
+        } catch (RuntimeException e) {
+            descartarDesde(inicio, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Deshace un lote que falló a medias: vacía el buffer y trunca el diario a su tamaño anterior,
+     * para que el diario no contenga operaciones que no llegaron al árbol y los registros que
+     * se anexen después sigan siendo legibles.
+     * @param inicio tamaño del diario antes del lote
+     * @param causa error del lote, al que se agrega un posible error al truncar
+     */
+    private void descartarDesde(long inicio, RuntimeException causa) {
+        buffer.clear();
+        if (tamano == inicio) {
+            return;
+        }
+        try {
+            canal.truncate(inicio);
+            canal.position(inicio);
+            tamano = inicio;
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Serializa un registro en el buffer, vaciándolo antes si no cabe.
+     * @param tipo tipo de operación
+     * @param id ID afectado
+     * @param empleado empleado insertado, cuyo nombre se escribe en UTF-8 (null en las eliminaciones)
+     */
+    private void agregarRegistro(byte tipo, int id, Empleado empleado) {
+        int longitud = empleado != null ? empleado.longitudNombreUTF8() : 0;
+        if (buffer.remaining() < 11 + longitud) {
+            volcar();
+        }
+        int inicio = buffer.position();
+        buffer.put(tipo).putInt(id).putShort((short) longitud);
+        if (empleado != null) {
+            empleado.escribirNombreUTF8(buffer); // Sin crear el String del nombre
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), inicio, buffer.position() - inicio);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Escribe en el diario los registros pendientes del buffer (y fuerza a disco si se pidió).
+     * @throws UncheckedIOException si no se puede escribir el diario
+     */
+    private void volcar() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                tamano += canal.write(buffer);
+            }
+            if (sincronizarDisco) {
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al escribir el diario de operaciones", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Indica si el diario superó el umbral y no hay otra compactación en curso.
+     * @return true si conviene compactar
+     */
+    public synchronized boolean necesitaCompactar() {
+        return tamano >= umbralCompactacion && !compactando;
+    }
+
+    /**
+     * Aparta el diario activo para compactarlo y empieza uno vacío. Si quedaba un diario apartado
+     * de una compactación anterior que falló, se le agregan los registros del activo, así
+     * que siempre contiene todas las operaciones que faltan en la base.
+     * Debe llamarse mientras el árbol no admite escrituras, junto con la copia de su contenido.
+     * Si lo logra, la compactación queda en curso hasta que termine escribirBase (o
+     * compactarEnSegundoPlano); mientras tanto no se puede volver a rotar.
+     * @return true si rotó, false si ya hay una compactación en curso (ver esperarCompactacion)
+     * @throws IOException si hay problemas al mover o crear los archivos
+     */
+    public synchronized boolean rotar() throws IOException {
+        if (compactando) {
+            return false;
+        }
+        canal.close();
+        if (Files.exists(archivoRotado)) {
+            try (FileChannel origen = FileChannel.open(archivo, StandardOpenOption.READ);
+                 FileChannel destino = FileChannel.open(archivoRotado, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long posicion = TAMANO_CABECERA;
+                long total = origen.size();
+                while (posicion < total) {
+                    posicion += origen.transferTo(posicion, total - posicion, destino);
+                }
+                destino.force(false);
+            }
+        } else {
+            Files.move(archivo, archivoRotado, StandardCopyOption.ATOMIC_MOVE);
+        }
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        escribirCabecera(canal);
+        tamano = TAMANO_CABECERA;
+        compactando = true;
+        return true;
+    }
+
+    /**
+     * Escribe la base compactada en un hilo de fondo y, si lo logra, borra el diario apartado.
+     * Si la escritura falla, el diario apartado se conserva y se volverá a aplicar al reiniciar.
+     * Debe llamarse tras un rotar que devolvió true.
+     * @param archivoBase ruta del snapshot base
+     * @param base empleados del árbol copiados al rotar, ordenados por ID
+     */
+    public void compactarEnSegundoPlano(String archivoBase, Empleado[] base) {
+        Thread hilo = new Thread(() -> {
+            try {
+                escribirBase(archivoBase, base);
+            } catch (IOException e) {
+                System.err.println("Error al compactar el diario: " + e.getMessage());
+            }
+        }, "diario-compactacion");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Escribe la base compactada, borra el diario apartado y da por terminada la compactación
+     * (también si falla, en cuyo caso el diario apartado se conserva).
+     * Debe llamarse tras un rotar que devolvió true.
+     * @param archivoBase ruta del snapshot base
+     * @param base empleados del árbol copiados al rotar, ordenados por ID
+     * @throws IOException si hay problemas al escribir la base
+     */
+    public void escribirBase(String archivoBase, Empleado[] base) throws IOException {
+        try {
+            ArchivoSnapshot.escribir(archivoBase, base, ArchivoSnapshot.Orden.ORDENADO);
+            Files.deleteIfExists(archivoRotado);
+        } finally {
+            synchronized (this) {
+                compactando = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Espera a que termine la compactación en curso, si la hay.
+     * @throws InterruptedIOException si el hilo se interrumpe antes de que termine (conserva la
+     *                                marca de interrupción)
+     */
+    public synchronized void esperarCompactacion() throws InterruptedIOException {
+        while (compactando) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrumpido mientras se esperaba la compactación del diario");
+            }
+        }
+    }
+
+    /**
+     * Obtiene el tamaño actual del diario activo.
+     * @return tamaño en bytes (incluida la cabecera)
+     */
+    public synchronized long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Cierra el diario esperando a que termine una compactación en curso
+     * (si el hilo se interrumpe, lo cierra sin esperar).
+     */
+    public synchronized void close() {
+        try {
+            esperarCompactacion();
+        } catch (InterruptedIOException e) {
+            System.err.println("Se cierra el diario sin esperar la compactación: " + e.getMessage());
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el diario: " + e.getMessage());
+        }
+    }
+}
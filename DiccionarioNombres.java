@@ -0,0 +1,169 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clase DiccionarioNombres: diccionario compartido de las palabras que forman los nombres
+ * de los empleados. Los nombres se repiten mucho ("González", "López", "María"...), así que
+ * cada palabra distinta se guarda una sola vez y cada Empleado solo conserva los índices
+ * de sus palabras (un char por palabra) en lugar de su propio String.
+ * El diccionario solo crece y admite hasta 65536 palabras (lo que cabe en un char); cuando
+ * se llena, los nombres con palabras nuevas se guardan como String sin comprimir.
+ * Cada palabra guarda también su codificación UTF-8, así que los nombres se pueden escribir
+ * en un StringBuilder o en un ByteBuffer (snapshot, diario) sin construir un String por nombre.
+ * Es seguro entre hilos: las consultas no bloquean y las altas de palabras se sincronizan.
+ */
+public class DiccionarioNombres {
+    /** Número máximo de palabras: los índices se guardan en un char. */
+    static final int MAX_PALABRAS = Character.MAX_VALUE + 1;
+    private static final DiccionarioNombres COMPARTIDO = new DiccionarioNombres(); // Diccionario que usan todos los empleados
+
+    private final ConcurrentHashMap<String, Character> indices = new ConcurrentHashMap<>(); // Palabra -> índice
+    private volatile String[] palabras = new String[256]; // Índice -> palabra (solo crece)
+    private volatile String[] palabrasConEspacio = new String[256]; // Índice -> " " + palabra, para agregar
+    private volatile byte[][] palabrasUTF8 = new byte[256][]; // Índice -> palabra en UTF-8 (solo crece)
+    private int cantidad; // Palabras registradas (protegido por this)
+
+    /**
+     * Obtiene el diccionario compartido por todos los empleados.
+     * @return diccionario global
+     */
+    public static DiccionarioNombres getCompartido() {
+        return COMPARTIDO;
+    }
+
+    /**
+     * Convierte un nombre en los índices de sus palabras, separadas por un espacio.
+     * La división conserva las palabras vacías (espacios dobles o en los extremos), así que
+     * nombre(codificar(x)) reproduce exactamente x.
+     * @param nombre nombre a codificar
+     * @return índices de las palabras, o null si el diccionario está lleno y falta alguna palabra
+     */
+    public char[] codificar(String nombre) {
+        String[] partes = nombre.split(" ", -1);
+        char[] tokens = new char[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            int indice = indice(partes[i]);
+            if (indice < 0) {
+                return null;
+            }
+            tokens[i] = (char) indice;
+        }
+        return tokens;
+    }
+
+    /**
+     * Reconstruye un nombre a partir de los índices de sus palabras.
+     * Un nombre de una sola palabra no crea ningún String nuevo; los de dos y tres palabras
+     * (los habituales) se concatenan directamente, que reserva el tamaño exacto de una vez.
+     * @param tokens índices devueltos por codificar
+     * @return nombre original
+     */
+    public String nombre(char[] tokens) {
+        String[] actuales = palabras;
+        switch (tokens.length) {
+            case 1: return actuales[tokens[0]];
+            case 2: return actuales[tokens[0]] + " " + actuales[tokens[1]];
+            case 3: return actuales[tokens[0]] + " " + actuales[tokens[1]] + " " + actuales[tokens[2]];
+            default:
+                StringJoiner nombre = new StringJoiner(" ");
+                for (char token : tokens) {
+                    nombre.add(actuales[token]);
+                }
+                return nombre.toString();
+        }
+    }
+
+    /**
+     * Añade un nombre a un StringBuilder palabra a palabra, sin construir el String del nombre.
+     * Las palabras después de la primera se añaden ya precedidas del espacio (una sola copia por palabra).
+     * @param tokens índices devueltos por codificar
+     * @param destino donde se añade el nombre
+     * @return el mismo destino, para encadenar
+     */
+    public StringBuilder agregar(char[] tokens, StringBuilder destino) {
+        String[] conEspacio = palabrasConEspacio;
+        destino.append(palabras[tokens[0]]);
+        for (int i = 1; i < tokens.length; i++) {
+            destino.append(conEspacio[tokens[i]]);
+        }
+        return destino;
+    }
+
+    /**
+     * Calcula cuántos bytes ocupa un nombre en UTF-8 a partir de las longitudes guardadas de sus palabras.
+     * @param tokens índices devueltos por codificar
+     * @return longitud del nombre en UTF-8
+     */
+    public int longitudUTF8(char[] tokens) {
+        byte[][] actuales = palabrasUTF8;
+        int longitud = tokens.length - 1; // Espacios entre palabras
+        for (char token : tokens) {
+            longitud += actuales[token].length;
+        }
+        return longitud;
+    }
+
+    /**
+     * Escribe un nombre en UTF-8 copiando los bytes ya codificados de cada palabra.
+     * @param tokens índices devueltos por codificar
+     * @param destino buffer con al menos longitudUTF8(tokens) bytes libres
+     */
+    public void escribirUTF8(char[] tokens, ByteBuffer destino) {
+        byte[][] actuales = palabrasUTF8;
+        for (int i = 0; i < tokens.length; i++) {
+            if (i > 0) {
+                destino.put((byte) ' ');
+            }
+            destino.put(actuales[tokens[i]]);
+        }
+    }
+
+    /**
+     * Obtiene el número de palabras distintas registradas.
+     * @return tamaño del diccionario
+     */
+    public synchronized int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Busca el índice de una palabra y la registra si es nueva.
+     * @param palabra palabra a buscar
+     * @return índice de la palabra, o -1 si es nueva y el diccionario está lleno
+     */
+    private int indice(String palabra) {
+        Character indice = indices.get(palabra);
+        if (indice != null) {
+            return indice;
+        }
+        synchronized (this) {
+            indice = indices.get(palabra);
+            if (indice != null) {
+                return indice;
+            }
+            if (cantidad == MAX_PALABRAS) {
+                return -1;
+            }
+            String[] actuales = palabras;
+            String[] actualesConEspacio = palabrasConEspacio;
+            byte[][] actualesUTF8 = palabrasUTF8;
+            if (cantidad == actuales.length) {
+                actuales = Arrays.copyOf(actuales, Math.min(actuales.length * 2, MAX_PALABRAS));
+                actualesConEspacio = Arrays.copyOf(actualesConEspacio, actuales.length);
+                actualesUTF8 = Arrays.copyOf(actualesUTF8, actuales.length);
+            }
+            // La palabra se publica en los arreglos antes que en el mapa: quien obtiene el índice ya puede leerla
+            actuales[cantidad] = palabra;
+            actualesConEspacio[cantidad] = " " + palabra;
+            actualesUTF8[cantidad] = palabra.getBytes(StandardCharsets.UTF_8);
+            palabrasUTF8 = actualesUTF8;
+            palabrasConEspacio = actualesConEspacio;
+            palabras = actuales;
+            indices.put(palabra, (char) cantidad);
+            return cantidad++;
+        }
+    }
+}
@@ -1,10 +1,23 @@
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase Empleado que representa un empleado con ID y nombre.
  * Utilizada como dato en el árbol binario de búsqueda.
+ * El nombre se guarda comprimido como índices de palabras de DiccionarioNombres y el String
+ * se construye al llamar a getNombre; solo si el diccionario está lleno se guarda el String.
+ * Las salidas masivas (vistas, lote, JSON, snapshot y diario) no llaman a getNombre: escriben el
+ * nombre con agregarNombre o escribirNombreUTF8 directamente desde las palabras del diccionario.
+ * Con -Dempleados.nombresCompactos=false los nombres se guardan siempre como String (para
+ * comparar el consumo de memoria, ver MedicionMemoriaNombres).
  */
 public class Empleado {
-    String Nombre; // Nombre del empleado
+    /** false si se pidió guardar los nombres sin comprimir con -Dempleados.nombresCompactos=false. */
+    static final boolean NOMBRES_COMPACTOS = !"false".equals(System.getProperty("empleados.nombresCompactos"));
+
+    private char[] Tokens; // Índices de las palabras del nombre en el diccionario compartido
+    private String Nombre; // Nombre sin comprimir (solo si no se pudo codificar)
     int ID; // Identificador único del empleado
     
     /**
@@ -13,7 +26,7 @@ public class Empleado {
      * @param valID identificador único del empleado
      */
     public Empleado(String valName, int valID) {
-        this.Nombre = valName;
+        setNombre(valName);
         this.ID = valID;
     }
 
@@ -30,7 +43,8 @@ public class Empleado {
      * @param nombre nuevo nombre para el empleado
      */
     public void setNombre(String nombre) {
-        Nombre = nombre;
+        Tokens = nombre != null && NOMBRES_COMPACTOS ? DiccionarioNombres.getCompartido().codificar(nombre) : null;
+        Nombre = Tokens == null ? nombre : null;
     }
 
     /**
@@ -42,11 +56,54 @@ public class Empleado {
     }
 
     /**
-     * Obtiene el nombre del empleado.
+     * Obtiene el nombre del empleado, reconstruyéndolo desde el diccionario si está comprimido.
      * @return nombre del empleado
      */
     public String getNombre() {
-        return Nombre;
+        return Tokens != null ? DiccionarioNombres.getCompartido().nombre(Tokens) : Nombre;
+    }
+
+    /**
+     * Añade el nombre a un StringBuilder sin construir un String intermedio.
+     * @param destino donde se añade el nombre
+     * @return el mismo destino, para encadenar
+     */
+    public StringBuilder agregarNombre(StringBuilder destino) {
+        return Tokens != null ? DiccionarioNombres.getCompartido().agregar(Tokens, destino) : destino.append(Nombre);
+    }
+
+    /**
+     * Obtiene la longitud del nombre en UTF-8, sumando las de sus palabras si está comprimido.
+     * @return bytes que ocupa el nombre en UTF-8
+     */
+    public int longitudNombreUTF8() {
+        return Tokens != null ? DiccionarioNombres.getCompartido().longitudUTF8(Tokens)
+                : Nombre.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Escribe el nombre en UTF-8 (sin prefijo de longitud) copiando los bytes de sus palabras.
+     * @param destino buffer con al menos longitudNombreUTF8() bytes libres
+     */
+    public void escribirNombreUTF8(ByteBuffer destino) {
+        if (Tokens != null) {
+            DiccionarioNombres.getCompartido().escribirUTF8(Tokens, destino);
+        } else {
+            destino.put(Nombre.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Obtiene el nombre codificado en UTF-8, sin pasar por un String.
+     * @return bytes del nombre en UTF-8
+     */
+    public byte[] getNombreUTF8() {
+        if (Tokens == null) {
+            return Nombre.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[longitudNombreUTF8()];
+        escribirNombreUTF8(ByteBuffer.wrap(bytes));
+        return bytes;
     }
 
     /**
@@ -55,7 +112,7 @@ public class Empleado {
      */
     @Override
     public String toString() {
-        return "ID: " + ID + ", Nombre: " + Nombre;
+        return agregarNombre(new StringBuilder(48).append("ID: ").append(ID).append(", Nombre: ")).toString();
     }
 
 }
@@ -0,0 +1,151 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase GeneradorID que asigna los IDs de los empleados nuevos en O(1).
+ * Se inicializa una sola vez con el mayor ID del backend (findMax) y a partir de ahí entrega
+ * IDs consecutivos con un AtomicInteger, así que varios hilos pueden pedir IDs a la vez sin
+ * repetirlos y sin recorrer la lista de empleados en cada alta.
+ * Opcionalmente reutiliza los IDs liberados con liberar (tras delete): se guardan en un
+ * montículo de mínimos sobre un int[] y se entregan primero, de menor a mayor, en O(log k).
+ * La memoria depende solo de cuántos IDs hay libres (4 bytes por ID), no de lo grandes que sean:
+ * liberar un único ID cercano a Integer.MAX_VALUE no reserva nada más.
+ * La reutilización está desactivada por defecto (Main la activa con --reutilizar-ids): sin ella
+ * un ID eliminado no vuelve a aparecer, como en la asignación original (mayor ID + 1).
+ */
+public class GeneradorID {
+    private final AtomicInteger siguiente; // Próximo ID nuevo (mayor que todos los entregados)
+    private final boolean reutilizar; // true si se reutilizan los IDs liberados
+    private int[] libres = new int[0]; // Montículo de mínimos con los IDs liberados (protegido por this)
+    private volatile int cantidadLibres; // Elementos usados de libres; permite saltarse el cerrojo si es 0
+
+    /**
+     * Constructor que toma como punto de partida el mayor ID de un backend.
+     * @param tree backend con los empleados ya cargados
+     * @param reutilizar true para volver a entregar los IDs liberados antes que los nuevos
+     */
+    public GeneradorID(IndiceEmpleados tree, boolean reutilizar) {
+        this(tree.countNodes() > 0 ? tree.findMax().ID + 1 : 1, reutilizar);
+    }
+
+    /**
+     * Constructor con el primer ID a entregar.
+     * @param primero primer ID nuevo (mayor que cualquier ID existente)
+     * @param reutilizar true para volver a entregar los IDs liberados antes que los nuevos
+     * @throws IllegalArgumentException si primero no es positivo
+     */
+    public GeneradorID(int primero, boolean reutilizar) {
+        if (primero <= 0) {
+            throw new IllegalArgumentException("El primer ID debe ser positivo");
+        }
+        this.siguiente = new AtomicInteger(primero);
+        this.reutilizar = reutilizar;
+    }
+
+    /**
+     * Entrega un ID que no está en uso: el menor ID liberado si hay alguno y está activada
+     * la reutilización, o el siguiente ID nuevo.
+     * @return ID para un empleado nuevo
+     * @throws IllegalStateException si se agotaron los IDs positivos
+     */
+    public int siguiente() {
+        if (cantidadLibres > 0) {
+            synchronized (this) {
+                if (cantidadLibres > 0) {
+                    int id = extraerMenor();
+                    // Un ID liberado dos veces sin entregarse entretanto solo se entrega una vez
+                    while (cantidadLibres > 0 && libres[0] == id) {
+                        extraerMenor();
+                    }
+                    return id;
+                }
+            }
+        }
+        int id = siguiente.getAndIncrement();
+        if (id <= 0) {
+            throw new IllegalStateException("No quedan IDs disponibles");
+        }
+        return id;
+    }
+
+    /**
+     * Registra que un ID dejó de usarse (el empleado se eliminó del árbol) para poder reutilizarlo.
+     * No hace nada si la reutilización está desactivada o si el ID nunca se entregó.
+     * @param id ID del empleado eliminado
+     */
+    public void liberar(int id) {
+        if (!reutilizar || id <= 0 || id >= siguiente.get()) {
+            return;
+        }
+        synchronized (this) {
+            int n = cantidadLibres;
+            if (n == libres.length) {
+                libres = Arrays.copyOf(libres, Math.max(16, n + (n >> 1)));
+            }
+            // Subir el nuevo ID hasta que su padre no sea mayor
+            int i = n;
+            while (i > 0 && libres[(i - 1) >> 1] > id) {
+                libres[i] = libres[(i - 1) >> 1];
+                i = (i - 1) >> 1;
+            }
+            libres[i] = id;
+            cantidadLibres = n + 1;
+        }
+    }
+
+    /**
+     * Quita y devuelve el menor ID del montículo. Requiere el cerrojo y al menos un ID libre.
+     * @return menor ID liberado
+     */
+    private int extraerMenor() {
+        int n = cantidadLibres - 1;
+        int menor = libres[0];
+        int ultimo = libres[n];
+        // Bajar el último elemento desde la raíz hasta que sus hijos no sean menores
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= n) {
+                break;
+            }
+            if (hijo + 1 < n && libres[hijo + 1] < libres[hijo]) {
+                hijo++;
+            }
+            if (libres[hijo] >= ultimo) {
+                break;
+            }
+            libres[i] = libres[hijo];
+            i = hijo;
+        }
+        libres[i] = ultimo;
+        cantidadLibres = n;
+        if (n == 0 && libres.length > 1024) {
+            libres = new int[0]; // Devolver la memoria tras vaciarse una ráfaga grande de bajas
+        }
+        return menor;
+    }
+
+    /**
+     * Obtiene el próximo ID nuevo, sin contar los liberados.
+     * @return ID que se entregaría si no hubiera IDs libres
+     */
+    public int getSiguienteNuevo() {
+        return siguiente.get();
+    }
+
+    /**
+     * Obtiene cuántos IDs liberados esperan a ser reutilizados.
+     * @return cantidad de IDs libres
+     */
+    public int getCantidadLibres() {
+        return cantidadLibres;
+    }
+
+    /**
+     * Indica si se reutilizan los IDs liberados.
+     * @return true si la reutilización está activada
+     */
+    public boolean isReutilizar() {
+        return reutilizar;
+    }
+}
@@ -0,0 +1,138 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase Histograma que acumula valores no negativos (latencias en nanosegundos, nodos visitados...)
+ * en cubetas logarítmicas: cada potencia de 2 se divide en 8 subcubetas, de modo que el error
+ * relativo de los percentiles es como mucho del 12.5% y el histograma ocupa un tamaño fijo
+ * (488 contadores) sin importar cuántos valores se registren.
+ * Registrar un valor son unas pocas operaciones de bits y un incremento atómico, sin reservar
+ * memoria, así que es seguro para varios hilos y barato en el camino de cada operación.
+ */
+public class Histograma {
+    private static final int BITS_SUBCUBETA = 3;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA; // Subcubetas por potencia de 2
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS; // Cubren hasta Long.MAX_VALUE
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS); // Valores registrados por cubeta
+    private final LongAdder total = new LongAdder(); // Número de valores registrados
+    private final LongAdder suma = new LongAdder(); // Suma de los valores, para la media
+    private final AtomicLong maximo = new AtomicLong(); // Mayor valor registrado
+
+    /**
+     * Registra un valor. Los negativos se cuentan como 0.
+     * @param valor valor a registrar
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        cuentas.incrementAndGet(cubeta(valor));
+        total.increment();
+        suma.add(valor);
+        if (valor > maximo.get()) {
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+    }
+
+    /**
+     * Calcula la cubeta de un valor: los valores menores que 8 tienen cubeta propia y el resto
+     * se reparte según su bit más alto (la potencia de 2) y los 3 bits siguientes (la subcubeta).
+     * @param valor valor no negativo
+     * @return índice de la cubeta
+     */
+    static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int subcubeta = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + subcubeta;
+    }
+
+    /**
+     * Calcula el mayor valor que cae en una cubeta.
+     * @param indice índice de la cubeta
+     * @return límite superior (incluido) de la cubeta
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUBCUBETAS - 1;
+        long inferior = (long) (SUBCUBETAS + indice % SUBCUBETAS) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     * @return cantidad de valores
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Obtiene la media de los valores registrados.
+     * @return media, o 0 si no hay valores
+     */
+    public double getMedia() {
+        long cantidad = total.sum();
+        return cantidad == 0 ? 0.0 : (double) suma.sum() / cantidad;
+    }
+
+    /**
+     * Obtiene el mayor valor registrado.
+     * @return máximo, o 0 si no hay valores
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Calcula un percentil: el límite superior de la cubeta donde se alcanza esa proporción
+     * de los valores (nunca mayor que el máximo registrado).
+     * @param percentil percentil entre 0 y 100 (por ejemplo 50, 99 o 99.9)
+     * @return valor del percentil, o 0 si no hay valores
+     * @throws IllegalArgumentException si el percentil está fuera de [0, 100]
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil fuera de [0, 100]: " + percentil);
+        }
+        long cantidad = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            cantidad += cuentas.get(i);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        // En decimal: en double, 99.9 / 100 * 1000 da 999.0000000000001 y el p99.9 saltaría una posición
+        long objetivo = Math.max(1, BigDecimal.valueOf(percentil).multiply(BigDecimal.valueOf(cantidad))
+                .divide(CIEN, 0, RoundingMode.CEILING).longValueExact());
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Borra todos los valores registrados.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas.set(i, 0);
+        }
+        total.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+}
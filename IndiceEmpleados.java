@@ -0,0 +1,104 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Interfaz IndiceEmpleados con las operaciones públicas comunes a los almacenes de empleados
+ * ordenados por ID. La implementan Tree (árbol binario de búsqueda) y los backends alternativos,
+ * de modo que el resto del sistema pueda elegir el más adecuado para su carga de trabajo.
+ */
+public interface IndiceEmpleados {
+
+    /**
+     * Inserta un empleado. Si ya existe un empleado con el mismo ID, no se modifica nada.
+     * @param Data empleado a insertar
+     */
+    void insert(Empleado Data);
+
+    /**
+     * Busca un empleado por su ID.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    Empleado searchByID(int id);
+
+    /**
+     * Elimina un empleado por su ID.
+     * @param id ID del empleado a eliminar
+     * @return true si se eliminó exitosamente, false si no se encontró
+     */
+    boolean delete(int id);
+
+    /**
+     * Obtiene el empleado con el menor ID.
+     * @return empleado con el menor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    Empleado findMin();
+
+    /**
+     * Obtiene el empleado con el mayor ID.
+     * @return empleado con el mayor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    Empleado findMax();
+
+    /**
+     * Muestra los empleados ordenados por ID de menor a mayor.
+     */
+    void inorder();
+
+    /**
+     * Entrega al consumidor, en orden de ID, los empleados con ID entre lo y hi (ambos incluidos).
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @param accion consumidor que recibe cada empleado del rango
+     */
+    void findRange(int lo, int hi, Consumer<Empleado> accion);
+
+    /**
+     * Cuenta los empleados con ID entre lo y hi (ambos incluidos) sin entregarlos.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @return número de empleados del rango (0 si lo > hi)
+     */
+    int countRange(int lo, int hi);
+
+    /**
+     * Obtiene el número de empleados almacenados.
+     * @return número total de empleados
+     */
+    int countNodes();
+
+    /**
+     * Busca todos los empleados con un nombre dado, sin distinguir mayúsculas ni espacios en los extremos.
+     * La implementación por defecto recorre todos los empleados en orden de ID (O(n)); los backends
+     * con índice por nombre (Tree) la sustituyen.
+     * @param nombre nombre de los empleados a buscar
+     * @return lista (no modificable) de empleados con ese nombre en orden de ID, vacía si no hay ninguno
+     */
+    default List<Empleado> searchAllByName(String nombre) {
+        String buscado = nombre.trim();
+        List<Empleado> homonimos = new ArrayList<>();
+        findRange(Integer.MIN_VALUE, Integer.MAX_VALUE, empleado -> {
+            if (empleado.getNombre().trim().equalsIgnoreCase(buscado)) {
+                homonimos.add(empleado);
+            }
+        });
+        return Collections.unmodifiableList(homonimos);
+    }
+
+    /**
+     * Indica si el backend admite operaciones desde varios hilos a la vez.
+     * @return true si puede compartirse entre hilos (por defecto false)
+     */
+    default boolean isConcurrente() {
+        return false;
+    }
+
+    /**
+     * Cierra el archivo de log y libera recursos.
+     */
+    void closeLog();
+}
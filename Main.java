@@ -1,11 +1,13 @@
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Scanner;
 
@@ -15,82 +17,373 @@ import java.util.Scanner;
  */
 public class Main {
     /**
-     * Método estático para leer empleados desde un archivo CSV.
+     * Lee el CSV en paralelo (ver CargadorCSV.cargarParalelo) y devuelve los empleados
+     * ordenados por ID. Informa por consola los IDs duplicados descartados y las líneas inválidas.
      * @param archivo ruta del archivo CSV a leer
-     * @param logFile archivo donde registrar las operaciones de carga
-     * @return lista de empleados leídos del archivo
+     * @param logFile archivo donde registrar el resumen de la carga
+     * @return empleados ordenados por ID y sin duplicados, o null si no se pudo leer el archivo
      */
-    private static List<Empleado> leerEmpleadosDesdeCSV(String archivo, String logFile) {
-        List<Empleado> empleados = new ArrayList<>();
+    private static Empleado[] leerCSVEnParalelo(String archivo, String logFile) {
+        CargadorCSV.ResultadoCarga carga;
+        try {
+            carga = CargadorCSV.cargarParalelo(archivo, logFile);
+        } catch (IOException e) {
+            System.err.println("Error al leer el archivo: " + e.getMessage());
+            return null;
+        }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(archivo));
-             PrintWriter logWriter = new PrintWriter(new FileWriter(logFile, true))) {
-            
-            // Saltar la línea de encabezado
-            String line = br.readLine();
-            
-            // Log del inicio de carga de empleados
-            logWriter.println("Iniciando carga de empleados desde " + archivo + " " + LocalDate.now() + " " + LocalTime.now());
-            logWriter.flush();
+        if (!carga.getIdsDuplicados().isEmpty()) {
+            List<Integer> duplicados = carga.getIdsDuplicados();
+            System.out.println("⚠ IDs duplicados descartados (" + duplicados.size() + "): "
+                    + duplicados.subList(0, Math.min(10, duplicados.size())) + (duplicados.size() > 10 ? " ..." : ""));
+        }
+        if (carga.getLineasInvalidas() > 0) {
+            System.out.println("⚠ Líneas inválidas descartadas: " + carga.getLineasInvalidas());
+        }
+        return carga.getEmpleados();
+    }
 
-            while ((line = br.readLine()) != null) {
-                String[] datos = line.split(",");
-                if (datos.length >= 2) {
-                    int id = Integer.parseInt(datos[0].trim());
-                    String nombre = datos[1].trim();
-                    empleados.add(new Empleado(nombre, id));
-                    
-                    // Log de cada empleado cargado
-                    logWriter.println("Empleado cargado: " + nombre + " (ID: " + id + ") " + LocalDate.now() + " " + LocalTime.now());
-                    logWriter.flush();
-                }
+    /**
+     * Carga el CSV en paralelo y construye el árbol balanceado en O(n) a partir de los
+     * empleados ya ordenados por ID.
+     * @param archivo ruta del archivo CSV a leer
+     * @param logFile archivo donde registrar el resumen de la carga
+     * @param destino árbol que se reconstruye con los empleados leídos
+     */
+    private static void cargarEnArbolEnParalelo(String archivo, String logFile, Tree destino) {
+        Empleado[] empleados = leerCSVEnParalelo(archivo, logFile);
+        if (empleados != null) {
+            destino.crearArbolBalanceado(empleados);
+        }
+    }
+
+    /**
+     * Carga los empleados desde el snapshot binario si existe y es más reciente que el CSV;
+     * si no, lee el CSV en paralelo y guarda el snapshot para el siguiente arranque.
+     * El snapshot es solo una caché del CSV: no incluye los cambios del menú (ver cargarBaseDiario).
+     * El árbol es el único almacén de empleados: no se guarda ninguna copia en lista.
+     * @param archivoCSV ruta del archivo CSV de empleados
+     * @param archivoSnapshot ruta del snapshot binario
+     * @param logFile archivo donde registrar el resumen de la carga del CSV
+     * @param destino árbol que se reconstruye con los empleados leídos
+     */
+    private static void cargarEmpleados(String archivoCSV, String archivoSnapshot, String logFile, Tree destino) {
+        File csv = new File(archivoCSV);
+        File snapshot = new File(archivoSnapshot);
+        if (snapshot.isFile() && snapshot.lastModified() >= csv.lastModified()) {
+            try {
+                destino.cargarSnapshot(archivoSnapshot);
+                System.out.println("✓ Empleados cargados desde el snapshot " + archivoSnapshot);
+                return;
+            } catch (IOException e) {
+                System.out.println("⚠ No se pudo usar el snapshot (" + e.getMessage() + "), se lee el CSV");
             }
-            
-            // Log del final de carga
-            logWriter.println("Carga completada. Total empleados: " + empleados.size() + " " + LocalDate.now() + " " + LocalTime.now());
-            logWriter.flush();
-            
+        }
+
+        cargarEnArbolEnParalelo(archivoCSV, logFile, destino);
+        try {
+            destino.guardarSnapshot(archivoSnapshot, ArchivoSnapshot.Orden.ORDENADO);
         } catch (IOException e) {
-            System.err.println("Error al leer el archivo: " + e.getMessage());
+            System.err.println("Error al guardar el snapshot: " + e.getMessage());
         }
+    }
+
+    /**
+     * Carga la base del diario (el árbol completo volcado en la última compactación: el CSV de
+     * entonces más las altas y bajas del menú). Si existe, manda sobre list.csv y sobre su caché
+     * empleados.snap, que nunca la sobrescriben: así los cambios compactados no se pierden aunque
+     * el CSV se modifique después. Una base ilegible se aparta con la extensión .corrupta, para
+     * que la siguiente compactación no la sobrescriba.
+     * @param archivoBase ruta de la base del diario
+     * @param archivoCSV ruta del archivo CSV de empleados
+     * @param destino árbol que se reconstruye con la base
+     * @return true si se cargó la base, false si no existe o no se pudo leer
+     */
+    private static boolean cargarBaseDiario(String archivoBase, String archivoCSV, Tree destino) {
+        File base = new File(archivoBase);
+        if (!base.isFile()) {
+            return false;
+        }
+        try {
+            destino.cargarSnapshot(archivoBase);
+        } catch (IOException e) {
+            File apartada = new File(archivoBase + ".corrupta");
+            System.out.println("⚠ No se pudo leer la base del diario (" + e.getMessage() + "); se aparta como "
+                    + apartada.getName() + (base.renameTo(apartada) ? "" : " (sin éxito)") + " y se lee el CSV");
+            return false;
+        }
+        System.out.println("✓ Empleados cargados desde la base del diario " + archivoBase);
+        if (new File(archivoCSV).lastModified() > base.lastModified()) {
+            System.out.println("⚠ " + archivoCSV + " cambió después de la última compactación y no se aplica: la base "
+                    + "ya incluye los cambios del menú (bórrela junto con el diario para volver a partir del CSV)");
+        }
+        return true;
+    }
 
-        return empleados;
+    /**
+     * Abre el diario de operaciones, reproduce sobre el árbol lo que quedó registrado en la
+     * ejecución anterior (altas y bajas hechas desde el menú) y lo deja activo para esta ejecución.
+     * Si había operaciones, las compacta de inmediato en la base del diario.
+     * @param archivoDiario ruta del diario
+     * @param archivoBase ruta de la base donde se compacta el diario (distinta de la caché del CSV)
+     * @return número de operaciones recuperadas
+     */
+    private static int abrirDiario(String archivoDiario, String archivoBase) {
+        try {
+            DiarioOperaciones diario = new DiarioOperaciones(archivoDiario);
+            List<DiarioOperaciones.Operacion> recuperadas = diario.getOperacionesRecuperadas();
+            if (!recuperadas.isEmpty()) {
+                tree.reproducirDiario(recuperadas);
+            }
+            tree.activarDiario(diario, archivoBase);
+            if (!recuperadas.isEmpty()) {
+                tree.compactarDiario();
+            }
+            return recuperadas.size();
+        } catch (IOException e) {
+            System.out.println("⚠ No se pudo abrir el diario (" + e.getMessage() + "): los cambios no se conservarán al reiniciar");
+            return 0;
+        }
     }
 
-    private static Tree tree;
-    private static List<Empleado> empleadosList;
+    private static Tree tree; // Árbol del menú y del backend avl (null con --backend skiplist o bmas)
+    private static IndiceEmpleados indice; // Backend elegido con --backend: el árbol, la skip list o el árbol B+
+    private static GeneradorID generadorID; // IDs de las altas, inicializado con el mayor ID tras la carga
     private static Scanner scanner = new Scanner(System.in);
 
+    private static final int LINEAS_POR_PAGINA = 50; // Líneas por página en las vistas del árbol
+    private static final long MAX_LINEAS_VISTA = 10_000; // Tope de líneas de una vista
+    private static final int MAX_PROFUNDIDAD_VISUAL = 12; // Profundidad máxima de la estructura visual
+    private static final int MAX_NIVELES_VISTA = 10; // Niveles máximos en las vistas por niveles (una línea por nivel)
+    private static final String USO = "Uso: java Main [--batch archivo|- | --server [puerto]] [--backend avl|skiplist|bmas] [--reutilizar-ids]";
+
     /**
      * Método principal que inicializa el sistema y muestra el menú de opciones.
      * Carga los empleados desde CSV, crea el árbol binario y gestiona la interfaz de usuario.
-     * @param args argumentos de línea de comandos (no utilizados)
+     * Con --batch archivo (o --batch - para la entrada estándar) ejecuta los comandos del archivo
+     * sin menú y termina mostrando un resumen de rendimiento (ver ModoLote).
+     * Con --server [puerto] publica el árbol por HTTP en localhost hasta que se detiene el proceso (ver ServidorHTTP).
+     * Con --backend skiplist el lote y el servidor usan SkipListEmpleados en lugar del árbol AVL
+     * (sin diario, snapshot ni caché: los cambios no se conservan al reiniciar).
+     * Con --backend bmas el lote usa ArbolBMasEmpleados sobre empleados.bmas, que conserva los
+     * cambios en el propio archivo (ver abrirArbolBMas); no admite el servidor por no ser concurrente.
+     * Con --reutilizar-ids las altas del menú y del lote reciben primero los IDs de los empleados
+     * eliminados en esta ejecución (ver GeneradorID); sin él, y siempre en el servidor, un ID
+     * eliminado no vuelve a entregarse.
+     * @param args argumentos de línea de comandos: vacío para el menú, --batch archivo|- o --server [puerto],
+     *             opcionalmente seguidos de --backend avl|skiplist|bmas y de --reutilizar-ids
      * @throws IOException si hay problemas al leer archivos o crear logs
      */
     public static void main(String[] args) throws IOException {
+        String archivoLote = null;
+        int puertoServidor = -1;
+        String backend = "avl";
+        boolean reutilizarIDs = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--batch") && i + 1 < args.length) {
+                archivoLote = args[++i];
+            } else if (args[i].equals("--server")) {
+                puertoServidor = i + 1 < args.length && !args[i + 1].startsWith("--") ? leerPuerto(args[++i]) : 8080;
+                if (puertoServidor < 0) {
+                    System.err.println("Puerto inválido: '" + args[i] + "' (debe ser un número entre 0 y 65535)");
+                    System.err.println(USO);
+                    return;
+                }
+            } else if (args[i].equals("--backend") && i + 1 < args.length
+                    && (args[i + 1].equals("avl") || args[i + 1].equals("skiplist") || args[i + 1].equals("bmas"))) {
+                backend = args[++i];
+            } else if (args[i].equals("--reutilizar-ids")) {
+                reutilizarIDs = true;
+            } else {
+                System.err.println(USO);
+                return;
+            }
+        }
+        if (backend.equals("skiplist") && archivoLote == null && puertoServidor < 0) {
+            System.err.println("El menú necesita el backend avl; --backend skiplist solo se usa con --batch o --server");
+            System.err.println(USO);
+            return;
+        }
+        if (reutilizarIDs && puertoServidor >= 0) {
+            System.err.println("--reutilizar-ids no se admite con --server: un ID eliminado no debe volver a identificar otro recurso");
+            System.err.println(USO);
+            return;
+        }
+        if (backend.equals("bmas") && archivoLote == null) {
+            System.err.println("--backend bmas solo se usa con --batch: el menú necesita el árbol AVL y el servidor un backend concurrente");
+            System.err.println(USO);
+            return;
+        }
+        PrintStream salidaResultados = System.out;
+        if (archivoLote != null) {
+            // En modo lote los mensajes de arranque van a stderr: stdout solo lleva las respuestas
+            System.setOut(System.err);
+        }
+
         // Inicializar el sistema
         System.out.println("=== SISTEMA DE GESTIÓN DE EMPLEADOS ===");
-        System.out.println("Cargando empleados desde CSV...");
-        
-        empleadosList = leerEmpleadosDesdeCSV("list.csv", "logs.log");
-        tree = new Tree("logs.log");
+        System.out.println("Cargando empleados...");
         
-        // Cargar empleados en el árbol
-        for (Empleado emp : empleadosList) {
-            tree.insert(emp);
+        if (backend.equals("skiplist")) {
+            SkipListEmpleados skipList = new SkipListEmpleados("logs.log");
+            Empleado[] empleados = leerCSVEnParalelo("list.csv", "logs.log");
+            if (empleados != null) {
+                skipList.cargarOrdenados(empleados);
+            }
+            indice = skipList;
+            generadorID = new GeneradorID(indice, reutilizarIDs);
+            System.out.println("✓ Skip list creada con " + indice.countNodes() + " empleados");
+            System.out.println("⚠ Backend skiplist: los cambios no se guardan en el diario ni en el snapshot");
+            ejecutarModo(archivoLote, puertoServidor, salidaResultados);
+            return;
+        }
+        if (backend.equals("bmas")) {
+            indice = abrirArbolBMas("empleados.bmas", "list.csv", "logs.log");
+            generadorID = new GeneradorID(indice, reutilizarIDs);
+            System.out.println("✓ Árbol B+ en disco con " + indice.countNodes() + " empleados");
+            ejecutarModo(archivoLote, puertoServidor, salidaResultados);
+            return;
+        }
+
+        // Modo AVL: el árbol sigue balanceado tras la carga. El servidor HTTP lo comparte entre hilos.
+        tree = new Tree("logs.log", true, AsyncLogWriter.Durabilidad.LOTES, puertoServidor >= 0);
+        tree.activarCache(1024); // Los empleados más consultados se resuelven sin recorrer el árbol
+        try {
+            tree.activarMetricas().registrarMBean("principal"); // Visible en jconsole como empleados:type=MetricasTree
+        } catch (javax.management.JMException e) {
+            System.out.println("⚠ No se pudieron publicar las métricas por JMX: " + e.getMessage());
         }
         
-        System.out.println("✓ Sistema inicializado con " + empleadosList.size() + " empleados");
-        System.out.println("✓ Árbol binario de búsqueda creado");
+        // Cargar empleados (base del diario, o snapshot binario o CSV en paralelo) y construir el árbol balanceado de una vez
+        if (!cargarBaseDiario("empleados.base", "list.csv", tree)) {
+            cargarEmpleados("list.csv", "empleados.snap", "logs.log", tree);
+        }
+
+        // Recuperar las altas y bajas de ejecuciones anteriores registradas en el diario
+        int recuperadas = abrirDiario("diario.wal", "empleados.base");
+        if (recuperadas > 0) {
+            System.out.println("✓ Diario reproducido: " + recuperadas + " operaciones recuperadas");
+        }
         
-        // Mostrar menú principal
-        mostrarMenuPrincipal();
+        // Los IDs de las bajas solo se reutilizan con --reutilizar-ids; si no, cada alta recibe el mayor ID + 1
+        indice = tree;
+        generadorID = new GeneradorID(tree, reutilizarIDs);
+
+        System.out.println("✓ Sistema inicializado con " + tree.countNodes() + " empleados");
+        System.out.println("✓ Árbol binario de búsqueda creado (autobalanceado AVL)");
+        ejecutarModo(archivoLote, puertoServidor, salidaResultados);
+    }
+
+    /**
+     * Convierte el argumento de --server en puerto TCP.
+     * @param texto argumento recibido
+     * @return puerto entre 0 y 65535, o -1 si el texto no es un puerto válido
+     */
+    private static int leerPuerto(String texto) {
+        try {
+            int puerto = Integer.parseInt(texto);
+            return puerto >= 0 && puerto <= 65535 ? puerto : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Abre el árbol B+ en disco si el archivo de datos existe y no es más antiguo que el CSV;
+     * si no, o si está dañado (cierre incorrecto que no supera la validación), lo borra y lo
+     * reconstruye a partir del CSV.
+     * @param archivoDatos archivo de páginas del árbol B+
+     * @param archivoCSV CSV de respaldo
+     * @param logFile archivo de log
+     * @return árbol B+ abierto
+     * @throws IOException si no se puede crear el archivo de datos
+     */
+    private static ArbolBMasEmpleados abrirArbolBMas(String archivoDatos, String archivoCSV, String logFile) throws IOException {
+        File datos = new File(archivoDatos);
+        if (datos.exists() && datos.lastModified() >= new File(archivoCSV).lastModified()) {
+            try {
+                return new ArbolBMasEmpleados(archivoDatos, logFile);
+            } catch (IOException e) {
+                System.out.println("⚠ " + archivoDatos + " no es válido (" + e.getMessage() + "): se reconstruye desde " + archivoCSV);
+            }
+        }
+        datos.delete();
+        ArbolBMasEmpleados arbol = new ArbolBMasEmpleados(archivoDatos, logFile);
+        Empleado[] empleados = leerCSVEnParalelo(archivoCSV, logFile);
+        if (empleados != null) {
+            arbol.cargarOrdenados(empleados);
+            arbol.forzar();
+        }
+        return arbol;
+    }
+
+    /**
+     * Arranca el modo pedido (servidor, lote o menú) sobre el backend ya cargado y,
+     * salvo en el servidor, cierra los recursos al terminar.
+     * @param archivoLote archivo de comandos de --batch, o null
+     * @param puertoServidor puerto de --server, o -1
+     * @param salidaResultados flujo donde el modo lote escribe las respuestas
+     */
+    private static void ejecutarModo(String archivoLote, int puertoServidor, PrintStream salidaResultados) {
+        if (puertoServidor >= 0) {
+            iniciarServidor(puertoServidor);
+            return; // El servidor sigue atendiendo en sus hilos; los recursos se cierran al detener el proceso
+        } else if (archivoLote != null) {
+            ejecutarLote(archivoLote, salidaResultados);
+        } else {
+            // Mostrar menú principal
+            mostrarMenuPrincipal();
+        }
         
         // Cerrar recursos
-        tree.closeLog();
+        indice.closeLog();
         scanner.close();
     }
     
+    /**
+     * Publica el backend por HTTP en localhost y registra un hook que, al detener el proceso
+     * (Ctrl+C), deja de aceptar peticiones y cierra el log y el diario.
+     * Si el puerto está ocupado o no se puede abrir, informa y cierra los recursos.
+     * @param puerto puerto TCP en localhost
+     */
+    private static void iniciarServidor(int puerto) {
+        ServidorHTTP servidor;
+        try {
+            servidor = new ServidorHTTP(indice, puerto, generadorID);
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el puerto " + puerto + ": " + e.getMessage());
+            indice.closeLog();
+            return;
+        }
+        servidor.iniciar();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.detener();
+            indice.closeLog();
+        }, "detener-servidor"));
+        System.out.println("✓ Servidor HTTP escuchando en http://localhost:" + servidor.getPuerto() + "/empleados ("
+                + (servidor.usaHilosVirtuales() ? "hilos virtuales" : "pool de hilos") + "). Ctrl+C para detener.");
+    }
+
+    /**
+     * Ejecuta sin interacción los comandos de un archivo (o de la entrada estándar si es "-")
+     * y muestra en stderr el resumen de rendimiento.
+     * @param archivo ruta del archivo de comandos, o "-" para la entrada estándar
+     * @param salida flujo donde se escriben las respuestas
+     */
+    private static void ejecutarLote(String archivo, PrintStream salida) {
+        PrintWriter respuestas = new PrintWriter(new BufferedWriter(new OutputStreamWriter(salida), 1 << 16), false);
+        try (BufferedReader entrada = archivo.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in), 1 << 16)
+                : new BufferedReader(new FileReader(archivo), 1 << 16)) {
+            ModoLote lote = new ModoLote(indice, respuestas, generadorID);
+            lote.ejecutar(entrada);
+            System.err.println(lote.resumen());
+        } catch (IOException e) {
+            respuestas.flush();
+            System.err.println("Error al leer los comandos: " + e.getMessage());
+        }
+    }
+
     /**
      * Muestra el menú principal del sistema y gestiona la navegación entre opciones.
      * Controla el flujo principal de la aplicación hasta que el usuario decide salir.
@@ -112,6 +405,7 @@ public class Main {
             System.out.println("9.  Visualizar estructura del árbol");
             System.out.println("10. Mostrar árbol por niveles (BFS)");
             System.out.println("11. Mostrar árbol por niveles (Recursivo)");
+            System.out.println("12. Mostrar métricas de operaciones");
             System.out.println("0.  Salir");
             System.out.println("=".repeat(50));
             System.out.print("Seleccione una opción: ");
@@ -152,6 +446,9 @@ public class Main {
                 case 11:
                     mostrarArbolPorNivelesRecursivo();
                     break;
+                case 12:
+                    mostrarMetricas();
+                    break;
                 case 0:
                     System.out.println("¡Gracias por usar el sistema!");
                     break;
@@ -163,21 +460,30 @@ public class Main {
     
     /**
      * Muestra la lista completa de empleados registrados en el sistema.
-     * Presenta los empleados en el orden en que fueron cargados desde el CSV.
+     * Recorre el árbol con su iterador, así que los empleados aparecen ordenados por ID
+     * (el mismo orden del CSV, que se carga ordenado), paginados como las vistas del árbol.
      */
     private static void mostrarTodosLosEmpleados() {
         System.out.println("\n LISTA COMPLETA DE EMPLEADOS");
         System.out.println("-".repeat(40));
-        if (empleadosList.isEmpty()) {
+        int total = tree.countNodes();
+        if (total == 0) {
             System.out.println("No hay empleados registrados.");
             return;
         }
         
-        for (int i = 0; i < empleadosList.size(); i++) {
-            System.out.println((i + 1) + ". " + empleadosList.get(i));
+        SalidaPaginada salida = crearSalidaPaginada();
+        int i = 0;
+        for (Empleado emp : tree) {
+            if (salida.isDetenida()) {
+                break;
+            }
+            salida.texto(++i).texto(". ").empleado(emp);
+            salida.finLinea();
         }
+        salida.cerrar();
         System.out.println("-".repeat(40));
-        System.out.println("Total: " + empleadosList.size() + " empleados");
+        System.out.println("Total: " + total + " empleados");
     }
     
     /**
@@ -203,7 +509,7 @@ public class Main {
     
     /**
      * Permite al usuario buscar un empleado por su nombre.
-     * La búsqueda es case-insensitive y mide el tiempo de ejecución.
+     * La búsqueda es case-insensitive, muestra todos los homónimos y mide el tiempo de ejecución.
      */
     private static void buscarPorNombre() {
         System.out.print("\n Ingrese el nombre del empleado a buscar: ");
@@ -211,11 +517,16 @@ public class Main {
         String nombre = scanner.nextLine();
         
         long startTime = System.nanoTime();
-        Empleado empleado = tree.searchByName(nombre);
+        List<Empleado> encontrados = tree.searchAllByName(nombre);
         long endTime = System.nanoTime();
         
-        if (empleado != null) {
-            System.out.println(" Empleado encontrado: " + empleado);
+        if (encontrados.size() == 1) {
+            System.out.println(" Empleado encontrado: " + encontrados.get(0));
+        } else if (!encontrados.isEmpty()) {
+            System.out.println(" Se encontraron " + encontrados.size() + " empleados con ese nombre:");
+            for (Empleado empleado : encontrados) {
+                System.out.println("   " + empleado);
+            }
         } else {
             System.out.println(" No se encontró empleado con nombre: " + nombre);
         }
@@ -225,14 +536,12 @@ public class Main {
     
     /**
      * Permite agregar un nuevo empleado al sistema.
-     * Genera automáticamente el siguiente ID disponible y actualiza tanto el árbol como la lista.
+     * Obtiene el siguiente ID disponible del generador en O(1) y lo inserta en el árbol, que
+     * actualiza a la vez su índice por nombre (el árbol es el único almacén de empleados).
      */
     private static void agregarEmpleado() {
         System.out.println("\n AGREGAR NUEVO EMPLEADO");
         
-        // Generar automáticamente el siguiente ID disponible
-        int nuevoID = generarSiguienteID();
-        
         System.out.print("Ingrese el nombre del empleado: ");
         scanner.nextLine(); // Limpiar buffer
         String nombre = scanner.nextLine().trim();
@@ -242,34 +551,22 @@ public class Main {
             return;
         }
         
+        // Generar automáticamente el siguiente ID disponible (solo si el alta sigue adelante)
+        int nuevoID = generadorID.siguiente();
         Empleado nuevoEmpleado = new Empleado(nombre, nuevoID);
-        tree.insert(nuevoEmpleado);
-        empleadosList.add(nuevoEmpleado);
+        try {
+            tree.insert(nuevoEmpleado);
+        } catch (UncheckedIOException e) {
+            generadorID.liberar(nuevoID);
+            System.out.println("❌ No se pudo registrar el alta en el diario (" + e.getCause().getMessage() + "): el empleado no se agregó");
+            return;
+        }
         
         System.out.println(" Empleado agregado exitosamente:");
         System.out.println(" ID asignado automáticamente: " + nuevoID);
         System.out.println(" Empleado: " + nuevoEmpleado);
     }
     
-    /**
-     * Genera automáticamente el siguiente ID disponible para un nuevo empleado.
-     * Encuentra el ID más alto existente y le suma 1.
-     * @return el siguiente ID disponible
-     */
-    private static int generarSiguienteID() {
-        if (empleadosList.isEmpty()) {
-            return 1;
-        }
-        
-        // Encontrar el ID más alto y sumar 1
-        int maxID = empleadosList.stream()
-                                 .mapToInt(Empleado::getID)
-                                 .max()
-                                 .orElse(0);
-        
-        return maxID + 1;
-    }
-    
     /**
      * Permite eliminar un empleado del sistema por su ID.
      * Solicita confirmación antes de proceder con la eliminación.
@@ -290,9 +587,15 @@ public class Main {
         String confirmacion = scanner.nextLine();
         
         if (confirmacion.toLowerCase().startsWith("s")) {
-            boolean eliminado = tree.delete(id);
+            boolean eliminado;
+            try {
+                eliminado = tree.delete(id);
+            } catch (UncheckedIOException e) {
+                System.out.println("❌ No se pudo registrar la baja en el diario (" + e.getCause().getMessage() + "): el empleado no se eliminó");
+                return;
+            }
             if (eliminado) {
-                empleadosList.removeIf(emp -> emp.getID() == id);
+                generadorID.liberar(id);
                 System.out.println(" Empleado eliminado exitosamente");
             } else {
                 System.out.println(" Error al eliminar el empleado");
@@ -304,7 +607,7 @@ public class Main {
     
     /**
      * Muestra estadísticas del sistema incluyendo total de empleados,
-     * empleado con menor y mayor ID, y altura estimada del árbol.
+     * empleado con menor y mayor ID, altura estimada del árbol y uso de la caché de búsquedas.
      */
     private static void mostrarEstadisticas() {
         System.out.println("\n📊 ESTADÍSTICAS DEL SISTEMA");
@@ -320,48 +623,94 @@ public class Main {
             System.out.println("El árbol está vacío");
         }
         
-        System.out.println("Altura estimada del árbol: ~" + Math.ceil(Math.log(tree.countNodes()) / Math.log(2)));
+        System.out.println("Altura actual del árbol: " + tree.getAltura());
+        System.out.println("Altura óptima del árbol: ~" + Math.ceil(Math.log(tree.countNodes()) / Math.log(2)));
+
+        CacheEmpleados cache = tree.getCache();
+        System.out.println("Caché de búsquedas por ID: " + (cache != null ? cache : "desactivada"));
+    }
+
+    /**
+     * Muestra las métricas del árbol: cantidad y latencias (p50/p99/p99.9) de cada operación,
+     * nodos visitados por búsqueda y altura. Las mismas métricas se publican por JMX.
+     */
+    private static void mostrarMetricas() {
+        System.out.println("\n⏱ MÉTRICAS DE OPERACIONES");
+        System.out.println("-".repeat(70));
+        MetricasTree metricas = tree.getMetricas();
+        System.out.println(metricas != null ? metricas.resumen() : "Las métricas están desactivadas");
     }
     
     /**
      * Compara la eficiencia entre búsqueda con árbol binario vs búsqueda secuencial.
-     * Realiza ambas búsquedas con el mismo empleado y muestra métricas de rendimiento.
+     * Ambas búsquedas se calientan antes de medir y se promedian sobre varias repeticiones,
+     * usando una copia del árbol sin log para no medir la escritura del archivo.
+     * Para mediciones rigurosas (varios tamaños, forks y error estadístico) usar BenchmarkTree.
      */
     private static void compararEficiencia() {
         System.out.println("\n⚡ COMPARACIÓN DE EFICIENCIA");
         System.out.println("=".repeat(50));
         
-        if (empleadosList.isEmpty()) {
+        int total = tree.countNodes();
+        if (total == 0) {
             System.out.println("No hay empleados para comparar");
             return;
         }
         
-        // Seleccionar un empleado aleatorio para buscar
-        int randomIndex = (int) (Math.random() * empleadosList.size());
-        Empleado empleadoABuscar = empleadosList.get(randomIndex);
+        // Seleccionar un empleado aleatorio para buscar (select es O(log n) por los tamaños de subárbol)
+        int randomIndex = (int) (Math.random() * total);
+        Empleado empleadoABuscar = tree.select(randomIndex);
         int idABuscar = empleadoABuscar.getID();
         
         System.out.println("Buscando empleado: " + empleadoABuscar);
-        System.out.println("En una base de datos de " + empleadosList.size() + " empleados");
+        System.out.println("En una base de datos de " + total + " empleados");
         System.out.println("-".repeat(50));
         
+        Tree copia;
+        try {
+            copia = new Tree(null, true);
+        } catch (IOException e) {
+            System.out.println("Error al preparar la comparación: " + e.getMessage());
+            return;
+        }
+        // El arreglo es temporal: sirve para construir la copia y como base de la búsqueda secuencial
+        Empleado[] empleados = tree.toArray();
+        copia.crearArbolBalanceado(empleados);
+        
+        // Calentamiento: dar tiempo al JIT a compilar ambos caminos antes de medir
+        int repeticionesArbol = 100_000;
+        int repeticionesSecuencial = Math.max(1, Math.min(1_000, 10_000_000 / total));
+        long sumidero = 0;
+        for (int i = 0; i < repeticionesArbol; i++) {
+            sumidero += copia.searchByID(idABuscar) != null ? 1 : 0;
+        }
+        for (int i = 0; i < repeticionesSecuencial; i++) {
+            sumidero += busquedaSecuencial(empleados, idABuscar) != null ? 1 : 0;
+        }
+        
         // Búsqueda con Árbol Binario
         System.out.println(" BÚSQUEDA CON ÁRBOL BINARIO:");
+        Empleado resultadoArbol = null;
         long startTime = System.nanoTime();
-        Empleado resultadoArbol = tree.searchByID(idABuscar);
-        long tiempoArbol = System.nanoTime() - startTime;
+        for (int i = 0; i < repeticionesArbol; i++) {
+            resultadoArbol = copia.searchByID(idABuscar);
+        }
+        long tiempoArbol = Math.max(1, (System.nanoTime() - startTime) / repeticionesArbol);
         System.out.println("   Resultado: " + (resultadoArbol != null ? "ENCONTRADO" : "NO ENCONTRADO"));
-        System.out.println("   Tiempo: " + tiempoArbol + " nanosegundos");
-        System.out.println("   Complejidad: O(log n) - " + Math.ceil(Math.log(empleadosList.size()) / Math.log(2)) + " comparaciones máximas");
+        System.out.println("   Tiempo: " + tiempoArbol + " nanosegundos (media de " + repeticionesArbol + " búsquedas)");
+        System.out.println("   Complejidad: O(log n) - " + Math.ceil(Math.log(total) / Math.log(2)) + " comparaciones máximas");
         
         // Búsqueda Secuencial
         System.out.println("\n BÚSQUEDA SECUENCIAL:");
+        Empleado resultadoSecuencial = null;
         startTime = System.nanoTime();
-        Empleado resultadoSecuencial = busquedaSecuencial(empleadosList, idABuscar);
-        long tiempoSecuencial = System.nanoTime() - startTime;
+        for (int i = 0; i < repeticionesSecuencial; i++) {
+            resultadoSecuencial = busquedaSecuencial(empleados, idABuscar);
+        }
+        long tiempoSecuencial = Math.max(1, (System.nanoTime() - startTime) / repeticionesSecuencial);
         System.out.println("   Resultado: " + (resultadoSecuencial != null ? "ENCONTRADO" : "NO ENCONTRADO"));
-        System.out.println("   Tiempo: " + tiempoSecuencial + " nanosegundos");
-        System.out.println("   Complejidad: O(n) - hasta " + empleadosList.size() + " comparaciones");
+        System.out.println("   Tiempo: " + tiempoSecuencial + " nanosegundos (media de " + repeticionesSecuencial + " búsquedas)");
+        System.out.println("   Complejidad: O(n) - hasta " + total + " comparaciones");
         
         // Análisis de eficiencia
         System.out.println("\n ANÁLISIS DE EFICIENCIA:");
@@ -370,23 +719,27 @@ public class Main {
         System.out.printf("   El árbol binario es %.2fx más rápido\n", mejora);
         System.out.println("   Diferencia de tiempo: " + (tiempoSecuencial - tiempoArbol) + " nanosegundos");
         
-        if (empleadosList.size() > 100) {
+        if (total > 100) {
             System.out.println("\n VENTAJAS DEL ÁRBOL BINARIO:");
             System.out.println("   • Búsqueda más eficiente: O(log n) vs O(n)");
             System.out.println("   • Escalabilidad: La diferencia aumenta con más datos");
             System.out.println("   • Inserción y eliminación eficientes");
             System.out.println("   • Datos automáticamente ordenados");
         }
+        if (sumidero < 0) {
+            System.out.println(sumidero); // Nunca ocurre; evita que el JIT descarte el calentamiento
+        }
+        System.out.println("\n Para mediciones completas: java BenchmarkTree");
     }
     
     /**
-     * Implementa búsqueda secuencial en la lista de empleados.
+     * Implementa búsqueda secuencial en un arreglo de empleados.
      * Utilizada para comparar eficiencia con el árbol binario.
-     * @param lista lista de empleados donde buscar
+     * @param lista empleados donde buscar
      * @param id ID del empleado a buscar
      * @return empleado encontrado o null si no existe
      */
-    private static Empleado busquedaSecuencial(List<Empleado> lista, int id) {
+    private static Empleado busquedaSecuencial(Empleado[] lista, int id) {
         for (Empleado emp : lista) {
             if (emp.getID() == id) {
                 return emp;
@@ -407,7 +760,9 @@ public class Main {
             return;
         }
         
-        tree.inorder();
+        SalidaPaginada salida = crearSalidaPaginada();
+        tree.inorder(salida);
+        salida.cerrar();
         System.out.println("\n-".repeat(50));
         System.out.println("Los empleados se muestran automáticamente ordenados por ID");
         System.out.println("gracias a las propiedades del Árbol Binario de Búsqueda");
@@ -425,7 +780,9 @@ public class Main {
             return;
         }
         
-        tree.mostrarArbolVisual();
+        SalidaPaginada salida = crearSalidaPaginada();
+        tree.mostrarArbolVisual(salida, MAX_PROFUNDIDAD_VISUAL);
+        salida.cerrar();
         System.out.println("\nExplicación:");
         System.out.println("• Los números más pequeños están a la IZQUIERDA");
         System.out.println("• Los números más grandes están a la DERECHA");
@@ -444,7 +801,9 @@ public class Main {
             return;
         }
         
-        tree.mostrarArbolPorNiveles();
+        SalidaPaginada salida = crearSalidaPaginada();
+        tree.mostrarArbolPorNiveles(salida, MAX_NIVELES_VISTA);
+        salida.cerrar();
         System.out.println("\nInformación:");
         System.out.println("• Nivel 0: Raíz del árbol");
         System.out.println("• Cada nivel hacia abajo duplica el número máximo de nodos");
@@ -464,13 +823,30 @@ public class Main {
             return;
         }
         
-        tree.mostrarArbolPorNivelesRecursivo();
+        SalidaPaginada salida = crearSalidaPaginada();
+        tree.mostrarArbolPorNivelesRecursivo(salida, MAX_NIVELES_VISTA);
+        salida.cerrar();
         System.out.println("\nInformación:");
         System.out.println("• Este método usa recursión para mostrar cada nivel");
         System.out.println("• Útil para entender la estructura recursiva del árbol");
         System.out.println("• Compara con el método BFS (opción 10) para ver diferencias");
     }
     
+    /**
+     * Crea la salida paginada de las vistas del árbol: páginas de LINEAS_POR_PAGINA líneas,
+     * tope de MAX_LINEAS_VISTA y, entre páginas, Enter para continuar o q para salir.
+     * @return salida lista para pasar a los recorridos del árbol
+     */
+    private static SalidaPaginada crearSalidaPaginada() {
+        if (scanner.hasNextLine()) {
+            scanner.nextLine(); // Limpiar buffer
+        }
+        return new SalidaPaginada(System.out, LINEAS_POR_PAGINA, MAX_LINEAS_VISTA, () -> {
+            System.out.print("-- Enter para continuar, q para salir -- ");
+            return scanner.hasNextLine() && !scanner.nextLine().trim().equalsIgnoreCase("q");
+        });
+    }
+
     /**
      * Método utilitario para leer un entero del usuario con validación.
      * Maneja errores de entrada y solicita reingresar datos inválidos.
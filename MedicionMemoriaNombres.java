@@ -0,0 +1,196 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Clase MedicionMemoriaNombres: mide cuánta memoria ocupa cada empleado con los nombres
+ * comprimidos en DiccionarioNombres y sin comprimir (un String por empleado).
+ * Cada variante se mide en una JVM hija separada, lanzada con -Dempleados.nombresCompactos=true
+ * o =false (ver Empleado), para que las dos partan de un heap limpio. La hija crea N empleados
+ * con nombres formados por nombres y apellidos de list.csv (nombre + dos apellidos, como el CSV),
+ * los guarda en un array y compara el heap usado antes y después tras forzar recolecciones;
+ * el resultado incluye la referencia del array. También mide el tiempo medio de añadir un nombre
+ * a un StringBuilder, como hacen las salidas: con append(getNombre()), que en la variante compacta
+ * construye antes el String, y con agregarNombre, que copia las palabras directamente.
+ *
+ * Uso: java MedicionMemoriaNombres [--empleados 10000000] [--csv list.csv] [--xmx 3g]
+ */
+public class MedicionMemoriaNombres {
+    private static final int CONSULTAS = 2_000_000; // Llamadas medidas de getNombre y agregarNombre
+    private static long sumidero; // Evita que el JIT descarte las llamadas medidas
+
+    /**
+     * Punto de entrada: lanza una JVM hija por variante, o mide una variante si se ejecuta como hija.
+     * @param args opciones de la medición (ver la descripción de la clase)
+     * @throws IOException si no se puede leer el CSV o lanzar la JVM hija
+     * @throws InterruptedException si se interrumpe la espera de la JVM hija
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int empleados = 10_000_000;
+        String csv = "list.csv";
+        String xmx = "3g";
+        boolean hija = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--empleados") && i + 1 < args.length) {
+                empleados = Integer.parseInt(args[++i].replace("_", ""));
+            } else if (args[i].equals("--csv") && i + 1 < args.length) {
+                csv = args[++i];
+            } else if (args[i].equals("--xmx") && i + 1 < args.length) {
+                xmx = args[++i];
+            } else if (args[i].equals("--hija")) {
+                hija = true;
+            } else {
+                System.err.println("Uso: java MedicionMemoriaNombres [--empleados 10000000] [--csv list.csv] [--xmx 3g]");
+                return;
+            }
+        }
+        if (hija) {
+            medir(empleados, csv);
+            return;
+        }
+
+        System.out.printf(Locale.ROOT, "%-12s %12s %14s %20s %16s%n", "nombres", "empleados", "bytes/empleado",
+                "append(getNombre) ns", "agregarNombre ns");
+        for (String compactos : new String[]{"false", "true"}) {
+            List<String> comando = new ArrayList<>(Arrays.asList(System.getProperty("java.home") + "/bin/java",
+                    "-Xmx" + xmx, "-Dempleados.nombresCompactos=" + compactos,
+                    "-cp", System.getProperty("java.class.path"), "MedicionMemoriaNombres",
+                    "--hija", "--empleados", String.valueOf(empleados), "--csv", csv));
+            Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+            try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream()))) {
+                String linea;
+                while ((linea = lector.readLine()) != null) {
+                    if (linea.startsWith("RESULTADO ")) {
+                        String[] campos = linea.split(" ");
+                        System.out.printf(Locale.ROOT, "%-12s %12d %14.1f %20.1f %16.1f%n",
+                                compactos.equals("true") ? "compactos" : "String", empleados,
+                                Double.parseDouble(campos[1]), Double.parseDouble(campos[2]), Double.parseDouble(campos[3]));
+                    } else {
+                        System.err.println("[hija] " + linea);
+                    }
+                }
+            }
+            if (proceso.waitFor() != 0) {
+                throw new IOException("La JVM hija terminó con código " + proceso.exitValue());
+            }
+        }
+    }
+
+    /**
+     * Mide una variante en esta JVM e imprime "RESULTADO bytesPorEmpleado nsGetNombre nsAgregarNombre".
+     * @param cantidad empleados a crear
+     * @param csv CSV del que se toman los nombres y apellidos
+     * @throws IOException si no se puede leer el CSV
+     */
+    private static void medir(int cantidad, String csv) throws IOException {
+        List<String> nombres = new ArrayList<>();
+        List<String> apellidos = new ArrayList<>();
+        leerPalabras(csv, nombres, apellidos);
+        Random aleatorio = new Random(42);
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+        long antes = heapUsado(memoria);
+        Empleado[] empleados = new Empleado[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = nombres.get(aleatorio.nextInt(nombres.size())) + " "
+                    + apellidos.get(aleatorio.nextInt(apellidos.size())) + " "
+                    + apellidos.get(aleatorio.nextInt(apellidos.size()));
+            empleados[i] = new Empleado(nombre, i + 1);
+        }
+        long despues = heapUsado(memoria);
+        double bytesPorEmpleado = (despues - antes) / (double) cantidad;
+
+        int vueltas = Math.max(1, CONSULTAS / cantidad); // Cada medición hace al menos CONSULTAS llamadas
+        double nsGetNombre = 0;
+        double nsAgregarNombre = 0;
+        for (int ronda = 0; ronda < 5; ronda++) { // Las primeras rondas calientan el JIT; se queda la última
+            nsGetNombre = medirGetNombre(empleados, vueltas);
+            nsAgregarNombre = medirAgregarNombre(empleados, vueltas);
+        }
+        System.out.printf(Locale.ROOT, "RESULTADO %.3f %.3f %.3f%n", bytesPorEmpleado, nsGetNombre, nsAgregarNombre);
+        System.out.println("Comprobación: " + empleados[cantidad - 1].ID + " " + (sumidero & 1));
+    }
+
+    /**
+     * Añade cada nombre a un StringBuilder reutilizado pasando por getNombre.
+     * @param empleados empleados creados
+     * @param vueltas recorridos completos del array
+     * @return nanosegundos medios por empleado
+     */
+    private static double medirGetNombre(Empleado[] empleados, int vueltas) {
+        StringBuilder destino = new StringBuilder(128);
+        long inicio = System.nanoTime();
+        for (int v = 0; v < vueltas; v++) {
+            for (Empleado empleado : empleados) {
+                destino.setLength(0);
+                sumidero += destino.append(empleado.getNombre()).length();
+            }
+        }
+        return (System.nanoTime() - inicio) / ((double) vueltas * empleados.length);
+    }
+
+    /**
+     * Añade cada nombre a un StringBuilder reutilizado con agregarNombre.
+     * @param empleados empleados creados
+     * @param vueltas recorridos completos del array
+     * @return nanosegundos medios por empleado
+     */
+    private static double medirAgregarNombre(Empleado[] empleados, int vueltas) {
+        StringBuilder destino = new StringBuilder(128);
+        long inicio = System.nanoTime();
+        for (int v = 0; v < vueltas; v++) {
+            for (Empleado empleado : empleados) {
+                destino.setLength(0);
+                sumidero += empleado.agregarNombre(destino).length();
+            }
+        }
+        return (System.nanoTime() - inicio) / ((double) vueltas * empleados.length);
+    }
+
+    /**
+     * Separa los nombres del CSV en la primera palabra (nombre) y las siguientes (apellidos).
+     * @param csv archivo con formato id,nombre
+     * @param nombres destino de los nombres de pila distintos
+     * @param apellidos destino de los apellidos distintos
+     * @throws IOException si no se puede leer el CSV o no tiene nombres
+     */
+    private static void leerPalabras(String csv, List<String> nombres, List<String> apellidos) throws IOException {
+        LinkedHashSet<String> pila = new LinkedHashSet<>();
+        LinkedHashSet<String> familia = new LinkedHashSet<>();
+        try (BufferedReader lector = new BufferedReader(new FileReader(csv))) {
+            String linea = lector.readLine(); // Cabecera
+            while ((linea = lector.readLine()) != null) {
+                int coma = linea.indexOf(',');
+                String[] palabras = linea.substring(coma + 1).trim().split(" ");
+                pila.add(palabras[0]);
+                familia.addAll(Arrays.asList(palabras).subList(1, palabras.length));
+            }
+        }
+        if (pila.isEmpty() || familia.isEmpty()) {
+            throw new IOException("El CSV no tiene nombres con apellidos: " + csv);
+        }
+        nombres.addAll(pila);
+        apellidos.addAll(familia);
+    }
+
+    /**
+     * Obtiene el heap usado tras forzar varias recolecciones completas.
+     * @param memoria bean de memoria de la JVM
+     * @return bytes del heap en uso
+     */
+    private static long heapUsado(MemoryMXBean memoria) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,213 @@
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Clase MetricasTree con la instrumentación de un Tree: número de operaciones y latencia de cada
+ * tipo de operación, nodos visitados por búsqueda por ID y altura actual.
+ * Cada latencia se acumula en un Histograma de cubetas logarítmicas, así que registrar una
+ * operación cuesta dos lecturas de System.nanoTime() y un incremento atómico.
+ * Se publica por JMX con registrarMBean, de modo que en producción se puede ver en jconsole
+ * si el árbol se degenera y los caminos de búsqueda crecen.
+ */
+public class MetricasTree implements MetricasTreeMBean {
+
+    /**
+     * Tipos de operación medidos.
+     */
+    public enum Operacion {
+        INSERCION, BUSQUEDA_ID, BUSQUEDA_NOMBRE, ELIMINACION, RANGO
+    }
+
+    private final Histograma[] latencias = new Histograma[Operacion.values().length]; // Latencia en ns por operación
+    private final Histograma nodosVisitados = new Histograma(); // Nodos recorridos por cada búsqueda por ID
+    private final IntSupplier altura; // Altura actual del árbol medido
+
+    /**
+     * Constructor que crea las métricas vacías.
+     * @param altura función que devuelve la altura actual del árbol
+     */
+    MetricasTree(IntSupplier altura) {
+        this.altura = altura;
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new Histograma();
+        }
+    }
+
+    /**
+     * Registra la latencia de una operación.
+     * @param operacion tipo de operación
+     * @param nanos duración en nanosegundos
+     */
+    void registrar(Operacion operacion, long nanos) {
+        latencias[operacion.ordinal()].registrar(nanos);
+    }
+
+    /**
+     * Registra los nodos recorridos por una búsqueda por ID.
+     * @param nodos nodos visitados
+     */
+    void registrarNodosVisitados(int nodos) {
+        nodosVisitados.registrar(nodos);
+    }
+
+    /**
+     * Obtiene el histograma de latencias (en nanosegundos) de una operación.
+     * @param operacion tipo de operación
+     * @return histograma de la operación
+     */
+    public Histograma getLatencias(Operacion operacion) {
+        return latencias[operacion.ordinal()];
+    }
+
+    /**
+     * Obtiene el histograma de nodos visitados por búsqueda por ID.
+     * @return histograma de nodos visitados
+     */
+    public Histograma getNodosVisitados() {
+        return nodosVisitados;
+    }
+
+    /**
+     * Publica estas métricas en el servidor de MBeans de la plataforma
+     * como empleados:type=MetricasTree,name=nombre.
+     * @param nombre nombre que distingue este árbol de otros
+     * @throws JMException si el nombre no es válido o ya hay un MBean registrado con él
+     */
+    public void registrarMBean(String nombre) throws JMException {
+        ObjectName objeto = new ObjectName("empleados:type=MetricasTree,name=" + ObjectName.quote(nombre));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objeto);
+    }
+
+    /**
+     * Calcula un percentil de latencia de una operación en microsegundos.
+     * @param operacion tipo de operación
+     * @param percentil percentil entre 0 y 100
+     * @return latencia en microsegundos
+     */
+    private double micros(Operacion operacion, double percentil) {
+        return getLatencias(operacion).percentil(percentil) / 1000.0;
+    }
+
+    @Override
+    public long getInserciones() {
+        return getLatencias(Operacion.INSERCION).getTotal();
+    }
+
+    @Override
+    public long getBusquedasPorID() {
+        return getLatencias(Operacion.BUSQUEDA_ID).getTotal();
+    }
+
+    @Override
+    public long getBusquedasPorNombre() {
+        return getLatencias(Operacion.BUSQUEDA_NOMBRE).getTotal();
+    }
+
+    @Override
+    public long getEliminaciones() {
+        return getLatencias(Operacion.ELIMINACION).getTotal();
+    }
+
+    @Override
+    public long getConsultasRango() {
+        return getLatencias(Operacion.RANGO).getTotal();
+    }
+
+    @Override
+    public double getBusquedaPorIDP50Micros() {
+        return micros(Operacion.BUSQUEDA_ID, 50);
+    }
+
+    @Override
+    public double getBusquedaPorIDP99Micros() {
+        return micros(Operacion.BUSQUEDA_ID, 99);
+    }
+
+    @Override
+    public double getBusquedaPorIDP999Micros() {
+        return micros(Operacion.BUSQUEDA_ID, 99.9);
+    }
+
+    @Override
+    public double getInsercionP50Micros() {
+        return micros(Operacion.INSERCION, 50);
+    }
+
+    @Override
+    public double getInsercionP99Micros() {
+        return micros(Operacion.INSERCION, 99);
+    }
+
+    @Override
+    public double getInsercionP999Micros() {
+        return micros(Operacion.INSERCION, 99.9);
+    }
+
+    @Override
+    public double getEliminacionP50Micros() {
+        return micros(Operacion.ELIMINACION, 50);
+    }
+
+    @Override
+    public double getEliminacionP99Micros() {
+        return micros(Operacion.ELIMINACION, 99);
+    }
+
+    @Override
+    public double getEliminacionP999Micros() {
+        return micros(Operacion.ELIMINACION, 99.9);
+    }
+
+    @Override
+    public double getNodosVisitadosMedia() {
+        return nodosVisitados.getMedia();
+    }
+
+    @Override
+    public long getNodosVisitadosP99() {
+        return nodosVisitados.percentil(99);
+    }
+
+    @Override
+    public long getNodosVisitadosMaximo() {
+        return nodosVisitados.getMaximo();
+    }
+
+    @Override
+    public int getAltura() {
+        return altura.getAsInt();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException si la operación no existe o el percentil está fuera de [0, 100]
+     */
+    @Override
+    public double percentilMicros(String operacion, double percentil) {
+        return micros(Operacion.valueOf(operacion), percentil);
+    }
+
+    @Override
+    public String resumen() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%-16s %12s %12s %12s %12s%n", "Operación", "Cantidad", "p50 (µs)", "p99 (µs)", "p99.9 (µs)"));
+        for (Operacion operacion : Operacion.values()) {
+            texto.append(String.format("%-16s %12d %12.2f %12.2f %12.2f%n", operacion,
+                    getLatencias(operacion).getTotal(), micros(operacion, 50), micros(operacion, 99), micros(operacion, 99.9)));
+        }
+        texto.append(String.format("Nodos visitados por búsqueda: media %.1f, p99 %d, máximo %d%n",
+                getNodosVisitadosMedia(), getNodosVisitadosP99(), getNodosVisitadosMaximo()));
+        texto.append("Altura actual: ").append(getAltura());
+        return texto.toString();
+    }
+
+    @Override
+    public void reiniciar() {
+        for (Histograma histograma : latencias) {
+            histograma.reiniciar();
+        }
+        nodosVisitados.reiniciar();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Interfaz MetricasTreeMBean con los atributos y operaciones de MetricasTree que se publican
+ * por JMX (por ejemplo en jconsole, bajo empleados:type=MetricasTree).
+ * Las latencias se expresan en microsegundos.
+ */
+public interface MetricasTreeMBean {
+
+    /**
+     * Obtiene el número de inserciones.
+     * @return número de inserciones
+     */
+    long getInserciones();
+
+    /**
+     * Obtiene el número de búsquedas por ID.
+     * @return número de búsquedas por ID
+     */
+    long getBusquedasPorID();
+
+    /**
+     * Obtiene el número de búsquedas por nombre.
+     * @return número de búsquedas por nombre
+     */
+    long getBusquedasPorNombre();
+
+    /**
+     * Obtiene el número de eliminaciones.
+     * @return número de eliminaciones
+     */
+    long getEliminaciones();
+
+    /**
+     * Obtiene el número de consultas de rango.
+     * @return número de consultas de rango
+     */
+    long getConsultasRango();
+
+    /**
+     * Obtiene la mediana de la latencia de las búsquedas por ID.
+     * @return mediana de la latencia de las búsquedas por ID
+     */
+    double getBusquedaPorIDP50Micros();
+
+    /**
+     * Obtiene el percentil 99 de la latencia de las búsquedas por ID.
+     * @return percentil 99 de la latencia de las búsquedas por ID
+     */
+    double getBusquedaPorIDP99Micros();
+
+    /**
+     * Obtiene el percentil 99.9 de la latencia de las búsquedas por ID.
+     * @return percentil 99.9 de la latencia de las búsquedas por ID
+     */
+    double getBusquedaPorIDP999Micros();
+
+    /**
+     * Obtiene la mediana de la latencia de las inserciones.
+     * @return mediana de la latencia de las inserciones
+     */
+    double getInsercionP50Micros();
+
+    /**
+     * Obtiene el percentil 99 de la latencia de las inserciones.
+     * @return percentil 99 de la latencia de las inserciones
+     */
+    double getInsercionP99Micros();
+
+    /**
+     * Obtiene el percentil 99.9 de la latencia de las inserciones.
+     * @return percentil 99.9 de la latencia de las inserciones
+     */
+    double getInsercionP999Micros();
+
+    /**
+     * Obtiene la mediana de la latencia de las eliminaciones.
+     * @return mediana de la latencia de las eliminaciones
+     */
+    double getEliminacionP50Micros();
+
+    /**
+     * Obtiene el percentil 99 de la latencia de las eliminaciones.
+     * @return percentil 99 de la latencia de las eliminaciones
+     */
+    double getEliminacionP99Micros();
+
+    /**
+     * Obtiene el percentil 99.9 de la latencia de las eliminaciones.
+     * @return percentil 99.9 de la latencia de las eliminaciones
+     */
+    double getEliminacionP999Micros();
+
+    /**
+     * Obtiene la media de nodos visitados por búsqueda por ID.
+     * @return media de nodos visitados por búsqueda por ID
+     */
+    double getNodosVisitadosMedia();
+
+    /**
+     * Obtiene el percentil 99 de nodos visitados por búsqueda por ID.
+     * @return percentil 99 de nodos visitados por búsqueda por ID
+     */
+    long getNodosVisitadosP99();
+
+    /**
+     * Obtiene el máximo de nodos visitados por una búsqueda por ID.
+     * @return máximo de nodos visitados por una búsqueda por ID
+     */
+    long getNodosVisitadosMaximo();
+
+    /**
+     * Obtiene la altura actual del árbol.
+     * @return altura actual del árbol
+     */
+    int getAltura();
+
+    /**
+     * Calcula un percentil de latencia de cualquier operación.
+     * @param operacion nombre de MetricasTree.Operacion (INSERCION, BUSQUEDA_ID, BUSQUEDA_NOMBRE, ELIMINACION, RANGO)
+     * @param percentil percentil entre 0 y 100
+     * @return latencia en microsegundos
+     */
+    double percentilMicros(String operacion, double percentil);
+
+    /**
+     * Resumen legible de todas las métricas.
+     * @return texto con una línea por operación
+     */
+    String resumen();
+
+    /**
+     * Pone a cero todos los contadores e histogramas.
+     */
+    void reiniciar();
+}
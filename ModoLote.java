@@ -0,0 +1,211 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Clase ModoLote que ejecuta sobre un IndiceEmpleados una secuencia de comandos de texto sin interacción,
+ * para trabajos masivos y pruebas de carga (java Main --batch archivo, o - para la entrada estándar).
+ * Comandos (uno por línea, sin distinguir mayúsculas; las líneas vacías y las que empiezan
+ * por # se ignoran):
+ * <pre>
+ *   GET id          -&gt; OK id,nombre            | NOT_FOUND id
+ *   NAME nombre     -&gt; OK id,nombre (uno por homónimo) | NOT_FOUND nombre
+ *   ADD nombre      -&gt; ADDED id,nombre         (el ID lo asigna el GeneradorID)
+ *   DEL id          -&gt; DELETED id              | NOT_FOUND id
+ *   RANGE lo hi     -&gt; RANGE lo hi k, seguido de k líneas id,nombre
+ * </pre>
+ * Un comando inválido produce "ERROR línea n: motivo" y la ejecución continúa.
+ * Los comandos se ejecutan uno tras otro y las respuestas se acumulan en un buffer que solo
+ * se vuelca cuando se llena o al terminar, así que el coste por comando es el de la operación
+ * del árbol y no el de la consola.
+ */
+public class ModoLote {
+    private final IndiceEmpleados tree; // Backend sobre el que se ejecutan los comandos
+    private final PrintWriter salida; // Destino (con buffer) de las respuestas
+    private final GeneradorID generadorID; // Asigna los IDs de los ADD
+    private long consultas; // Comandos GET y NAME ejecutados
+    private long altas; // Comandos ADD ejecutados
+    private long bajas; // Comandos DEL ejecutados
+    private long rangos; // Comandos RANGE ejecutados
+    private long errores; // Líneas que no se pudieron ejecutar
+    private long nanos; // Tiempo total de la última ejecución
+    private final StringBuilder respuesta = new StringBuilder(128); // Respuesta de un empleado en construcción
+    private char[] copia = new char[128]; // Caracteres de respuesta para escribirlos sin crear un String
+
+    /**
+     * Constructor que prepara la ejecución de comandos sobre un backend.
+     * Los ADD reciben IDs a partir del mayor ID del backend, sin reutilizar los de los DEL.
+     * @param tree backend sobre el que se ejecutan los comandos (Tree, SkipListEmpleados...)
+     * @param salida destino de las respuestas (se recomienda con buffer y sin autoflush)
+     */
+    public ModoLote(IndiceEmpleados tree, PrintWriter salida) {
+        this(tree, salida, new GeneradorID(tree, false));
+    }
+
+    /**
+     * Constructor con un generador de IDs compartido (por ejemplo, con el menú).
+     * @param tree backend sobre el que se ejecutan los comandos (Tree, SkipListEmpleados...)
+     * @param salida destino de las respuestas (se recomienda con buffer y sin autoflush)
+     * @param generadorID generador de los IDs de los ADD; recibe los IDs de los DEL
+     */
+    public ModoLote(IndiceEmpleados tree, PrintWriter salida, GeneradorID generadorID) {
+        this.tree = tree;
+        this.salida = salida;
+        this.generadorID = generadorID;
+    }
+
+    /**
+     * Lee y ejecuta todos los comandos de la entrada hasta el final, y vuelca las respuestas.
+     * @param entrada origen de los comandos
+     * @throws IOException si hay problemas al leer la entrada
+     */
+    public void ejecutar(BufferedReader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        String linea;
+        long numero = 0;
+        while ((linea = entrada.readLine()) != null) {
+            numero++;
+            try {
+                ejecutarComando(linea.trim());
+            } catch (IllegalArgumentException e) {
+                errores++;
+                salida.println("ERROR línea " + numero + ": " + e.getMessage());
+            }
+        }
+        salida.flush();
+        nanos = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Ejecuta un comando y escribe su respuesta.
+     * @param comando línea sin espacios en los extremos
+     * @throws IllegalArgumentException si el comando no existe o sus argumentos no son válidos
+     */
+    private void ejecutarComando(String comando) {
+        if (comando.isEmpty() || comando.charAt(0) == '#') {
+            return;
+        }
+        int espacio = comando.indexOf(' ');
+        String verbo = espacio < 0 ? comando : comando.substring(0, espacio);
+        String argumento = espacio < 0 ? "" : comando.substring(espacio + 1).trim();
+
+        if (verbo.equalsIgnoreCase("GET")) {
+            int id = leerID(argumento);
+            Empleado empleado = tree.searchByID(id);
+            if (empleado != null) {
+                escribirEmpleado("OK ", empleado);
+            } else {
+                salida.println("NOT_FOUND " + id);
+            }
+            consultas++;
+        } else if (verbo.equalsIgnoreCase("NAME")) {
+            exigirArgumento(argumento, "NAME necesita un nombre");
+            List<Empleado> homonimos = tree.searchAllByName(argumento);
+            if (homonimos.isEmpty()) {
+                salida.println("NOT_FOUND " + argumento);
+            }
+            for (Empleado empleado : homonimos) {
+                escribirEmpleado("OK ", empleado);
+            }
+            consultas++;
+        } else if (verbo.equalsIgnoreCase("ADD")) {
+            exigirArgumento(argumento, "ADD necesita un nombre");
+            Empleado nuevo = new Empleado(argumento, generadorID.siguiente());
+            try {
+                tree.insert(nuevo);
+            } catch (UncheckedIOException e) {
+                generadorID.liberar(nuevo.ID);
+                throw new IllegalArgumentException("no se pudo registrar el alta en el diario: " + e.getCause().getMessage(), e);
+            }
+            escribirEmpleado("ADDED ", nuevo);
+            altas++;
+        } else if (verbo.equalsIgnoreCase("DEL")) {
+            int id = leerID(argumento);
+            boolean eliminado;
+            try {
+                eliminado = tree.delete(id);
+            } catch (UncheckedIOException e) {
+                throw new IllegalArgumentException("no se pudo registrar la baja en el diario: " + e.getCause().getMessage(), e);
+            }
+            if (eliminado) {
+                generadorID.liberar(id);
+                salida.println("DELETED " + id);
+            } else {
+                salida.println("NOT_FOUND " + id);
+            }
+            bajas++;
+        } else if (verbo.equalsIgnoreCase("RANGE")) {
+            int separador = argumento.indexOf(' ');
+            if (separador < 0) {
+                throw new IllegalArgumentException("RANGE necesita dos IDs: RANGE lo hi");
+            }
+            int lo = leerID(argumento.substring(0, separador));
+            int hi = leerID(argumento.substring(separador + 1).trim());
+            salida.println("RANGE " + lo + " " + hi + " " + tree.countRange(lo, hi));
+            tree.findRange(lo, hi, empleado -> escribirEmpleado("", empleado));
+            rangos++;
+        } else {
+            throw new IllegalArgumentException("comando desconocido '" + verbo + "'");
+        }
+    }
+
+    /**
+     * Escribe un empleado como prefijo + id,nombre. La línea se arma en un StringBuilder reutilizado
+     * (el nombre se copia palabra a palabra desde el diccionario) y se escribe como char[], así que
+     * un RANGE grande no crea un String por empleado.
+     * @param prefijo texto antes del empleado
+     * @param empleado empleado a escribir
+     */
+    private void escribirEmpleado(String prefijo, Empleado empleado) {
+        respuesta.setLength(0);
+        empleado.agregarNombre(respuesta.append(prefijo).append(empleado.ID).append(','));
+        int longitud = respuesta.length();
+        if (copia.length < longitud) {
+            copia = new char[Math.max(longitud, 2 * copia.length)];
+        }
+        respuesta.getChars(0, longitud, copia, 0);
+        salida.write(copia, 0, longitud);
+        salida.println();
+    }
+
+    /**
+     * Convierte un argumento en ID.
+     * @param texto argumento del comando
+     * @return ID leído
+     * @throws IllegalArgumentException si el texto no es un entero
+     */
+    private static int leerID(String texto) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID inválido '" + texto + "'");
+        }
+    }
+
+    /**
+     * Comprueba que un comando tenga argumento.
+     * @param argumento argumento del comando
+     * @param mensaje motivo del error si falta
+     * @throws IllegalArgumentException si el argumento está vacío
+     */
+    private static void exigirArgumento(String argumento, String mensaje) {
+        if (argumento.isEmpty()) {
+            throw new IllegalArgumentException(mensaje);
+        }
+    }
+
+    /**
+     * Obtiene el resumen de la última ejecución: comandos por tipo, errores y rendimiento.
+     * @return texto del resumen
+     */
+    public String resumen() {
+        long comandos = consultas + altas + bajas + rangos;
+        double segundos = nanos / 1e9;
+        return String.format("Comandos: %d (consultas %d, altas %d, bajas %d, rangos %d), errores: %d%n"
+                        + "Tiempo: %.3f s, rendimiento: %.0f comandos/s, %.2f µs por comando",
+                comandos, consultas, altas, bajas, rangos, errores, segundos,
+                segundos > 0 ? comandos / segundos : 0.0, comandos > 0 ? nanos / 1e3 / comandos : 0.0);
+    }
+}
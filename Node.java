@@ -7,15 +7,19 @@ public class Node <E> {
     public Empleado Data; // Dato almacenado en el nodo (empleado)
     protected Node Left; // Referencia al hijo izquierdo
     protected Node Right; // Referencia al hijo derecho
+    protected int Altura; // Altura del subárbol con raíz en este nodo (hoja = 1)
+    protected int Tamano; // Número de nodos del subárbol con raíz en este nodo (hoja = 1)
 
     /**
      * Constructor que crea un nuevo nodo con el empleado especificado.
-     * Inicializa los hijos como null.
+     * Inicializa los hijos como null y la altura y el tamaño en 1 (hoja).
      * @param valData empleado a almacenar en el nodo
      */
     public Node(Empleado valData) {
         this.Data = valData;
         this.Left = this.Right = null;
+        this.Altura = 1;
+        this.Tamano = 1;
     }
 
     /**
@@ -44,6 +48,22 @@ public class Node <E> {
         this.Left = next; // Corregido: era this.Left = Left;
     }
 
+    /**
+     * Obtiene la altura del subárbol cuya raíz es este nodo.
+     * @return altura del subárbol (1 si es hoja)
+     */
+    public int getAltura() {
+        return Altura;
+    }
+
+    /**
+     * Obtiene el número de nodos del subárbol cuya raíz es este nodo.
+     * @return tamaño del subárbol (1 si es hoja)
+     */
+    public int getTamano() {
+        return Tamano;
+    }
+
     /**
      * Obtiene el empleado almacenado en el nodo.
      * @return empleado almacenado en este nodo
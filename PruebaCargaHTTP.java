@@ -0,0 +1,130 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase PruebaCargaHTTP: cliente de prueba de carga para ServidorHTTP.
+ * Lanza varios hilos que repiten GET /empleados/{id} con IDs aleatorios (y, opcionalmente,
+ * una proporción de consultas de rango) durante un tiempo fijo contra localhost.
+ * Tras un calentamiento que no se mide, informa peticiones por segundo, errores y
+ * latencia (p50, p99, p99.9 y máxima) registrada en un Histograma.
+ *
+ * Uso: java PruebaCargaHTTP [--url http://localhost:8080] [--hilos 32] [--duracion 10]
+ *                           [--calentamiento 3] [--ids 1-100] [--rangos 0.05]
+ */
+public class PruebaCargaHTTP {
+
+    /**
+     * Punto de entrada: lee las opciones, ejecuta el calentamiento y la medición, y muestra el informe.
+     * @param args opciones de línea de comandos (ver la documentación de la clase)
+     * @throws Exception si se interrumpe la espera de los hilos
+     */
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int hilos = 32;
+        int duracion = 10;
+        int calentamiento = 3;
+        int idMinimo = 1;
+        int idMaximo = 100;
+        double proporcionRangos = 0.0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url": url = args[++i]; break;
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--duracion": duracion = Integer.parseInt(args[++i]); break;
+                case "--calentamiento": calentamiento = Integer.parseInt(args[++i]); break;
+                case "--ids":
+                    String[] limites = args[++i].split("-");
+                    idMinimo = Integer.parseInt(limites[0]);
+                    idMaximo = Integer.parseInt(limites[1]);
+                    break;
+                case "--rangos": proporcionRangos = Double.parseDouble(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    return;
+            }
+        }
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String base = url + "/empleados";
+
+        System.out.printf("Calentando %d s con %d hilos contra %s...%n", calentamiento, hilos, base);
+        ejecutar(cliente, base, hilos, calentamiento, idMinimo, idMaximo, proporcionRangos, new Histograma(), new LongAdder());
+
+        System.out.printf("Midiendo %d s...%n", duracion);
+        Histograma latencias = new Histograma();
+        LongAdder errores = new LongAdder();
+        long inicio = System.nanoTime();
+        ejecutar(cliente, base, hilos, duracion, idMinimo, idMaximo, proporcionRangos, latencias, errores);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long peticiones = latencias.getTotal();
+        System.out.println("=".repeat(50));
+        System.out.printf(Locale.ROOT, "Peticiones: %d en %.2f s (%d errores)%n", peticiones, segundos, errores.sum());
+        System.out.printf(Locale.ROOT, "Rendimiento: %.0f peticiones/s%n", peticiones / segundos);
+        System.out.printf(Locale.ROOT, "Latencia (µs): p50 %.1f | p99 %.1f | p99.9 %.1f | máx %.1f%n",
+                latencias.percentil(50) / 1e3, latencias.percentil(99) / 1e3,
+                latencias.percentil(99.9) / 1e3, latencias.getMaximo() / 1e3);
+    }
+
+    /**
+     * Ejecuta peticiones desde varios hilos durante un tiempo y registra la latencia de cada una.
+     * @param cliente cliente HTTP compartido (mantiene las conexiones abiertas)
+     * @param base URL de /empleados
+     * @param hilos número de hilos cliente
+     * @param segundos duración de la fase
+     * @param idMinimo menor ID consultado
+     * @param idMaximo mayor ID consultado
+     * @param proporcionRangos fracción de peticiones que son consultas de rango de 10 IDs
+     * @param latencias histograma donde se registra cada latencia en nanosegundos
+     * @param errores contador de peticiones fallidas o con código 5xx
+     * @throws InterruptedException si se interrumpe la espera de los hilos
+     */
+    private static void ejecutar(HttpClient cliente, String base, int hilos, int segundos, int idMinimo, int idMaximo,
+                                 double proporcionRangos, Histograma latencias, LongAdder errores) throws InterruptedException {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        List<Thread> trabajadores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            Thread trabajador = new Thread(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                while (System.nanoTime() < fin) {
+                    int id = aleatorio.nextInt(idMinimo, idMaximo + 1);
+                    String uri = aleatorio.nextDouble() < proporcionRangos
+                            ? base + "?desde=" + id + "&hasta=" + (id + 9)
+                            : base + "/" + id;
+                    HttpRequest peticion = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+                        latencias.registrar(System.nanoTime() - inicio);
+                        if (respuesta.statusCode() >= 500) {
+                            errores.increment();
+                        }
+                    } catch (Exception e) {
+                        errores.increment();
+                        if (e instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+            }, "carga-" + h);
+            trabajadores.add(trabajador);
+            trabajador.start();
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+    }
+}
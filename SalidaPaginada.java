@@ -0,0 +1,192 @@
+import java.io.PrintStream;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Clase SalidaPaginada: destino con buffer para las vistas del árbol (inorder, estructura visual
+ * y niveles). Los recorridos añaden trozos de texto a un StringBuilder reutilizado, y el texto
+ * se escribe de una vez por página (o cada 64 KiB si una línea es muy larga), en lugar de
+ * hacer una llamada a System.out por cada nodo.
+ * Admite paginación (entre páginas se consulta si continuar) y un tope de líneas; cuando se
+ * intenta escribir más allá del tope o el usuario deja de paginar, isDetenida() pasa a true y
+ * los recorridos terminan sin visitar el resto del árbol. Una salida con exactamente el tope de
+ * líneas no se considera truncada.
+ */
+public class SalidaPaginada {
+    private static final int LINEAS_POR_VOLCADO = 1000; // Líneas por escritura cuando no se pagina
+    private static final int CARACTERES_POR_VOLCADO = 1 << 16; // Se vuelca antes si el buffer supera este tamaño
+
+    private final PrintStream destino; // Flujo donde se escriben las páginas
+    private final StringBuilder buffer = new StringBuilder(CARACTERES_POR_VOLCADO); // Página en construcción
+    private final int lineasPorPagina; // Líneas escritas en cada volcado
+    private final long maxLineas; // Tope de líneas de toda la salida
+    private final BooleanSupplier siguientePagina; // Pregunta si continuar tras cada página (null: sin pausa)
+    private long lineas; // Líneas completadas
+    private int lineasEnPagina; // Líneas completadas en la página actual
+    private boolean completa; // true al alcanzar el tope: lo que llegue después se omite
+    private boolean detenida; // true si se intentó escribir tras el tope o se dejó de paginar
+    private boolean truncada; // true si se omitió salida por el tope de líneas
+
+    /**
+     * Constructor para volcar toda la salida sin pausas ni tope, en escrituras de 1000 líneas.
+     * @param destino flujo donde se escribe
+     */
+    public SalidaPaginada(PrintStream destino) {
+        this(destino, LINEAS_POR_VOLCADO, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Constructor completo.
+     * @param destino flujo donde se escribe
+     * @param lineasPorPagina líneas de cada página (cada página es una sola escritura)
+     * @param maxLineas número máximo de líneas a escribir; el resto se omite
+     * @param siguientePagina se invoca tras cada página completa y devuelve false para dejar de escribir,
+     *                        o null para no pausar entre páginas
+     * @throws IllegalArgumentException si lineasPorPagina o maxLineas no son positivos
+     */
+    public SalidaPaginada(PrintStream destino, int lineasPorPagina, long maxLineas, BooleanSupplier siguientePagina) {
+        if (lineasPorPagina <= 0 || maxLineas <= 0) {
+            throw new IllegalArgumentException("Las líneas por página y el máximo de líneas deben ser positivos");
+        }
+        this.destino = destino;
+        this.lineasPorPagina = lineasPorPagina;
+        this.maxLineas = maxLineas;
+        this.siguientePagina = siguientePagina;
+    }
+
+    /**
+     * Añade texto a la línea actual.
+     * @param texto texto a añadir
+     * @return esta salida, para encadenar
+     */
+    public SalidaPaginada texto(CharSequence texto) {
+        if (admite()) {
+            buffer.append(texto);
+            if (buffer.length() >= CARACTERES_POR_VOLCADO) {
+                volcar();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Añade un entero a la línea actual sin crear un String intermedio.
+     * @param numero número a añadir
+     * @return esta salida, para encadenar
+     */
+    public SalidaPaginada texto(int numero) {
+        if (admite()) {
+            buffer.append(numero);
+        }
+        return this;
+    }
+
+    /**
+     * Añade un empleado a la línea actual con el mismo formato que Empleado.toString().
+     * @param empleado empleado a añadir
+     * @return esta salida, para encadenar
+     */
+    public SalidaPaginada empleado(Empleado empleado) {
+        return texto("ID: ").texto(empleado.ID).texto(", Nombre: ").nombre(empleado);
+    }
+
+    /**
+     * Añade el nombre de un empleado a la línea actual, copiando sus palabras al buffer
+     * sin construir el String del nombre.
+     * @param empleado empleado cuyo nombre se añade
+     * @return esta salida, para encadenar
+     */
+    public SalidaPaginada nombre(Empleado empleado) {
+        if (admite()) {
+            empleado.agregarNombre(buffer);
+            if (buffer.length() >= CARACTERES_POR_VOLCADO) {
+                volcar();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Termina la línea actual. Al completar una página la escribe de una vez y, si hay paginación,
+     * pregunta si continuar; al llegar al tope de líneas la escribe y omite lo que llegue después.
+     */
+    public void finLinea() {
+        if (!admite()) {
+            return;
+        }
+        buffer.append(System.lineSeparator());
+        lineas++;
+        lineasEnPagina++;
+        if (lineas >= maxLineas) {
+            completa = true;
+            volcar();
+        } else if (lineasEnPagina >= lineasPorPagina) {
+            volcar();
+            lineasEnPagina = 0;
+            if (siguientePagina != null && !siguientePagina.getAsBoolean()) {
+                detenida = true;
+            }
+        }
+    }
+
+    /**
+     * Añade una línea completa.
+     * @param texto contenido de la línea
+     */
+    public void linea(CharSequence texto) {
+        texto(texto);
+        finLinea();
+    }
+
+    /**
+     * Indica si ya no se acepta más salida (tope alcanzado o paginación interrumpida).
+     * Los recorridos lo consultan para no seguir visitando nodos que no se mostrarán.
+     * @return true si la salida está detenida
+     */
+    public boolean isDetenida() {
+        return detenida;
+    }
+
+    /**
+     * Obtiene el número de líneas escritas.
+     * @return líneas completadas
+     */
+    public long getLineas() {
+        return lineas;
+    }
+
+    /**
+     * Escribe lo que quede en el buffer y, si la salida se cortó por el tope, lo indica.
+     */
+    public void cerrar() {
+        if (truncada) {
+            buffer.append("… salida truncada tras ").append(lineas).append(" líneas").append(System.lineSeparator());
+            truncada = false;
+        }
+        volcar();
+        detenida = true;
+    }
+
+    /**
+     * Indica si se acepta más salida. Lo primero que llega tras alcanzar el tope detiene la salida
+     * y la marca como truncada: solo entonces se sabe que había más de lo que se mostró.
+     * @return true si la salida sigue abierta
+     */
+    private boolean admite() {
+        if (completa && !detenida) {
+            detenida = true;
+            truncada = true;
+        }
+        return !detenida;
+    }
+
+    /**
+     * Escribe el contenido del buffer en una sola llamada y lo vacía para reutilizarlo.
+     */
+    private void volcar() {
+        if (buffer.length() > 0) {
+            destino.print(buffer);
+            destino.flush();
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase ServidorHTTP: servicio HTTP local para que otras herramientas del mismo equipo consulten
+ * y modifiquen el índice de empleados. Usa el servidor incluido en el JDK (com.sun.net.httpserver),
+ * escucha solo en la interfaz de loopback y responde en JSON.
+ * <pre>
+ *   GET    /empleados/{id}               -&gt; 200 {"id":..,"nombre":".."}  | 404
+ *   GET    /empleados?nombre=Ana%20Ruiz  -&gt; 200 [ {..}, .. ]  (homónimos, sin distinguir mayúsculas)
+ *   GET    /empleados?desde=1&amp;hasta=100  -&gt; 200 [ {..}, .. ]  (rango de IDs, ambos incluidos)
+ *                                        | 400 si tiene más de MAX_EMPLEADOS_RANGO empleados
+ *   POST   /empleados   (cuerpo: nombre)  -&gt; 201 {"id":..,"nombre":".."}  (ID asignado automáticamente)
+ *   DELETE /empleados/{id}               -&gt; 204 | 404
+ * </pre>
+ * Cada petición se atiende en un hilo virtual si la JVM los ofrece (Java 21 o superior) y, si no,
+ * en un pool de hilos que crece según la demanda. El backend debe admitir varios hilos
+ * (Tree en modo concurrente o SkipListEmpleados).
+ */
+public class ServidorHTTP {
+    private static final String RUTA = "/empleados";
+    /** Empleados que puede devolver como máximo una consulta por rango; los rangos mayores se rechazan con 400. */
+    public static final int MAX_EMPLEADOS_RANGO = 10_000;
+
+    static {
+        // El servidor del JDK escribe cabeceras y cuerpo por separado; con el algoritmo de Nagle activo
+        // cada respuesta espera el ACK retardado del cliente (~40 ms). Debe fijarse antes de crear el servidor.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final IndiceEmpleados indice; // Backend compartido por todas las peticiones
+    private final HttpServer servidor; // Servidor HTTP del JDK
+    private final ExecutorService ejecutor; // Hilos que atienden las peticiones
+    private final GeneradorID generadorID; // Asigna los IDs de los POST desde varios hilos
+
+    /**
+     * Constructor que crea el servidor sobre un backend concurrente, sin iniciarlo.
+     * Los POST reciben IDs a partir del mayor ID del backend, sin reutilizar los eliminados.
+     * @param indice backend a publicar (Tree creado con concurrente = true, o SkipListEmpleados)
+     * @param puerto puerto TCP en localhost (0 para elegir uno libre)
+     * @throws IOException si no se puede abrir el puerto
+     * @throws IllegalArgumentException si el backend no admite varios hilos
+     */
+    public ServidorHTTP(IndiceEmpleados indice, int puerto) throws IOException {
+        this(indice, puerto, new GeneradorID(indice, false));
+    }
+
+    /**
+     * Constructor con un generador de IDs propio, sin iniciar el servidor.
+     * @param indice backend a publicar (Tree creado con concurrente = true, o SkipListEmpleados)
+     * @param puerto puerto TCP en localhost (0 para elegir uno libre)
+     * @param generadorID generador de los IDs de los POST; recibe los IDs de los DELETE
+     * @throws IOException si no se puede abrir el puerto
+     * @throws IllegalArgumentException si el backend no admite varios hilos
+     */
+    public ServidorHTTP(IndiceEmpleados indice, int puerto, GeneradorID generadorID) throws IOException {
+        if (!indice.isConcurrente()) {
+            throw new IllegalArgumentException("El servidor HTTP necesita un backend concurrente");
+        }
+        this.indice = indice;
+        this.generadorID = generadorID;
+        this.ejecutor = crearEjecutor();
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        this.servidor.createContext(RUTA, this::atender);
+        this.servidor.setExecutor(ejecutor);
+    }
+
+    /**
+     * Crea el ejecutor de peticiones: un hilo virtual por petición si la JVM lo permite
+     * (se busca por reflexión para seguir compilando con Java 17), o un pool dinámico si no.
+     * @return ejecutor de peticiones
+     */
+    static ExecutorService crearEjecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Indica si las peticiones se atienden en hilos virtuales.
+     * @return true si el ejecutor usa hilos virtuales
+     */
+    public boolean usaHilosVirtuales() {
+        return !(ejecutor instanceof ThreadPoolExecutor);
+    }
+
+    /**
+     * Empieza a aceptar peticiones.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de aceptar peticiones, espera hasta un segundo a las que están en curso y libera los hilos.
+     */
+    public void detener() {
+        servidor.stop(1);
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     * @return puerto TCP
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Atiende una petición: la enruta según el método y la ruta, y convierte los errores
+     * de argumentos en respuestas 400, los del diario (alta o baja no registrada, sin cambios
+     * en el árbol) en 503 y los inesperados en 500.
+     * @param intercambio petición y respuesta HTTP
+     * @throws IOException si se corta la conexión
+     */
+    private void atender(HttpExchange intercambio) throws IOException {
+        try {
+            String ruta = intercambio.getRequestURI().getPath();
+            String metodo = intercambio.getRequestMethod();
+            if (ruta.equals(RUTA) || ruta.equals(RUTA + "/")) {
+                if (metodo.equals("GET")) {
+                    consultar(intercambio);
+                } else if (metodo.equals("POST")) {
+                    crear(intercambio);
+                } else {
+                    responderError(intercambio, 405, "Método no permitido: " + metodo);
+                }
+            } else if (ruta.startsWith(RUTA + "/")) {
+                int id = leerID(ruta.substring(RUTA.length() + 1), "ID");
+                if (metodo.equals("GET")) {
+                    Empleado empleado = indice.searchByID(id);
+                    if (empleado != null) {
+                        responder(intercambio, 200, aJson(new StringBuilder(), empleado).toString());
+                    } else {
+                        responderError(intercambio, 404, "No existe el empleado " + id);
+                    }
+                } else if (metodo.equals("DELETE")) {
+                    if (indice.delete(id)) {
+                        generadorID.liberar(id);
+                        intercambio.sendResponseHeaders(204, -1);
+                    } else {
+                        responderError(intercambio, 404, "No existe el empleado " + id);
+                    }
+                } else {
+                    responderError(intercambio, 405, "Método no permitido: " + metodo);
+                }
+            } else {
+                responderError(intercambio, 404, "Ruta desconocida: " + ruta);
+            }
+        } catch (IllegalArgumentException e) {
+            responderError(intercambio, 400, e.getMessage());
+        } catch (UncheckedIOException e) {
+            responderError(intercambio, 503, "No se pudo registrar la operación en el diario: " + e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            responderError(intercambio, 500, "Error interno: " + e);
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    /**
+     * Atiende GET /empleados con ?nombre= (búsqueda por nombre) o con ?desde=&amp;hasta= (rango).
+     * Un rango se cuenta antes de recorrerlo (countRange, sin crear objetos) y, si supera
+     * MAX_EMPLEADOS_RANGO, se rechaza sin construir la respuesta: así un ?desde=0&amp;hasta=2147483647
+     * no materializa todo el índice en un único JSON.
+     * @param intercambio petición y respuesta HTTP
+     * @throws IOException si se corta la conexión
+     */
+    private void consultar(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = leerParametros(intercambio.getRequestURI().getRawQuery());
+        StringBuilder json = new StringBuilder("[");
+        if (parametros.containsKey("nombre")) {
+            List<Empleado> homonimos = indice.searchAllByName(parametros.get("nombre"));
+            for (Empleado empleado : homonimos) {
+                agregarElemento(json, empleado);
+            }
+        } else if (parametros.containsKey("desde") && parametros.containsKey("hasta")) {
+            int desde = leerID(parametros.get("desde"), "desde");
+            int hasta = leerID(parametros.get("hasta"), "hasta");
+            int total = indice.countRange(desde, hasta);
+            if (total > MAX_EMPLEADOS_RANGO) {
+                throw new IllegalArgumentException("El rango contiene " + total + " empleados; el máximo por consulta es "
+                        + MAX_EMPLEADOS_RANGO + ": divida el rango en varias consultas");
+            }
+            indice.findRange(desde, hasta, empleado -> agregarElemento(json, empleado));
+        } else {
+            throw new IllegalArgumentException("Indique ?nombre= o ?desde=&hasta=");
+        }
+        responder(intercambio, 200, json.append(']').toString());
+    }
+
+    /**
+     * Atiende POST /empleados: el cuerpo es el nombre del nuevo empleado en UTF-8.
+     * @param intercambio petición y respuesta HTTP
+     * @throws IOException si se corta la conexión
+     */
+    private void crear(HttpExchange intercambio) throws IOException {
+        String nombre;
+        try (InputStream cuerpo = intercambio.getRequestBody()) {
+            nombre = new String(cuerpo.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        if (nombre.isEmpty()) {
+            throw new IllegalArgumentException("El nombre no puede estar vacío");
+        }
+        Empleado nuevo = new Empleado(nombre, generadorID.siguiente());
+        try {
+            indice.insert(nuevo);
+        } catch (UncheckedIOException e) {
+            generadorID.liberar(nuevo.ID);
+            throw e;
+        }
+        intercambio.getResponseHeaders().set("Location", RUTA + "/" + nuevo.ID);
+        responder(intercambio, 201, aJson(new StringBuilder(), nuevo).toString());
+    }
+
+    /**
+     * Añade un empleado a un array JSON en construcción, con coma si no es el primero.
+     * @param json array JSON abierto con '['
+     * @param empleado empleado a añadir
+     */
+    private static void agregarElemento(StringBuilder json, Empleado empleado) {
+        if (json.length() > 1) {
+            json.append(',');
+        }
+        aJson(json, empleado);
+    }
+
+    /**
+     * Escribe un empleado como objeto JSON.
+     * @param json destino
+     * @param empleado empleado a escribir
+     * @return el mismo destino, para encadenar
+     */
+    private static StringBuilder aJson(StringBuilder json, Empleado empleado) {
+        json.append("{\"id\":").append(empleado.ID).append(",\"nombre\":\"");
+        int inicio = json.length();
+        empleado.agregarNombre(json);
+        // El nombre se copia tal cual desde el diccionario; solo si contiene caracteres a escapar se reescribe
+        for (int i = inicio; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                String nombre = json.substring(inicio);
+                json.setLength(inicio);
+                escapar(json, nombre);
+                break;
+            }
+        }
+        return json.append("\"}");
+    }
+
+    /**
+     * Escribe un texto como cadena JSON entre comillas, escapando comillas, barras y controles.
+     * @param json destino
+     * @param texto texto a escribir
+     * @return el mismo destino, para encadenar
+     */
+    private static StringBuilder cadenaJson(StringBuilder json, String texto) {
+        json.append('"');
+        return escapar(json, texto).append('"');
+    }
+
+    /**
+     * Añade un texto escapando comillas, barras y controles, sin las comillas de la cadena JSON.
+     * @param json destino
+     * @param texto texto a escribir
+     * @return el mismo destino, para encadenar
+     */
+    private static StringBuilder escapar(StringBuilder json, String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Envía una respuesta de error con cuerpo {"error": mensaje}.
+     * @param intercambio petición y respuesta HTTP
+     * @param codigo código de estado HTTP
+     * @param mensaje descripción del error
+     * @throws IOException si se corta la conexión
+     */
+    private static void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        responder(intercambio, codigo, cadenaJson(new StringBuilder("{\"error\":"), mensaje).append('}').toString());
+    }
+
+    /**
+     * Envía una respuesta JSON completa.
+     * @param intercambio petición y respuesta HTTP
+     * @param codigo código de estado HTTP
+     * @param json cuerpo de la respuesta
+     * @throws IOException si se corta la conexión
+     */
+    private static void responder(HttpExchange intercambio, int codigo, String json) throws IOException {
+        byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    /**
+     * Separa los parámetros de una query string (decodificados en UTF-8).
+     * @param query query string sin decodificar, o null
+     * @return parámetros por nombre (el último gana si se repiten)
+     */
+    private static Map<String, String> leerParametros(String query) {
+        Map<String, String> parametros = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parametros;
+        }
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    /**
+     * Convierte un texto de la petición en ID.
+     * @param texto valor recibido
+     * @param campo nombre del campo, para el mensaje de error
+     * @return ID leído
+     * @throws IllegalArgumentException si el texto no es un entero
+     */
+    private static int leerID(String texto, String campo) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": '" + texto + "'");
+        }
+    }
+}
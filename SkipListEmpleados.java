@@ -0,0 +1,192 @@
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Clase SkipListEmpleados: backend sin cerrojos (lock-free) para cargas con muchas escrituras.
+ * Implementa las mismas operaciones públicas que Tree sobre una ConcurrentSkipListMap
+ * indexada por Empleado.ID, de modo que inserciones y eliminaciones de muchos hilos
+ * no se bloquean entre sí. El recorrido ordenado es débilmente consistente: refleja
+ * el estado en algún momento durante la iteración y nunca lanza ConcurrentModificationException.
+ */
+public class SkipListEmpleados implements IndiceEmpleados {
+    private final ConcurrentSkipListMap<Integer, Empleado> empleados = new ConcurrentSkipListMap<>(); // ID -> empleado
+    private final AtomicInteger tamano = new AtomicInteger(); // Contador para countNodes en O(1)
+    private final AsyncLogWriter logWriter; // Writer asíncrono para registrar operaciones (null si el log está desactivado)
+
+    /**
+     * Constructor que crea el backend vacío y configura el archivo de log.
+     * @param logFile ruta del archivo donde se registrarán las operaciones, o null para desactivar el log
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public SkipListEmpleados(String logFile) throws IOException {
+        this.logWriter = logFile != null ? new AsyncLogWriter(logFile, AsyncLogWriter.Durabilidad.LOTES) : null;
+    }
+
+    /**
+     * Carga de una vez empleados ordenados por ID (por ejemplo, los del CSV), registrando un
+     * único resumen en el log en lugar de una línea por empleado.
+     * @param ordenados empleados ordenados por ID, sin duplicados
+     */
+    public void cargarOrdenados(Empleado[] ordenados) {
+        int agregados = 0;
+        for (Empleado empleado : ordenados) {
+            if (empleados.putIfAbsent(empleado.ID, empleado) == null) {
+                agregados++;
+            }
+        }
+        tamano.addAndGet(agregados);
+        if (logWriter != null) {
+            logWriter.registrar("Carga masiva en la skip list: " + agregados + " empleados");
+        }
+    }
+
+    /**
+     * Inserta un empleado si su ID no existe todavía (putIfAbsent sin cerrojos).
+     * @param Data empleado a insertar
+     */
+    @Override
+    public void insert(Empleado Data) {
+        if (empleados.putIfAbsent(Data.ID, Data) == null) {
+            tamano.incrementAndGet();
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Insertando valor: " + Data);
+        }
+    }
+
+    /**
+     * Busca un empleado por su ID.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    @Override
+    public Empleado searchByID(int id) {
+        Empleado result = empleados.get(id);
+        if (logWriter != null) {
+            logWriter.registrar("Búsqueda por ID " + id + ": " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
+        }
+        return result;
+    }
+
+    /**
+     * Elimina un empleado por su ID.
+     * @param id ID del empleado a eliminar
+     * @return true si se eliminó exitosamente, false si no se encontró
+     */
+    @Override
+    public boolean delete(int id) {
+        boolean deleted = empleados.remove(id) != null;
+        if (deleted) {
+            tamano.decrementAndGet();
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Eliminación de empleado ID " + id + ": " + (deleted ? "EXITOSA" : "NO ENCONTRADO"));
+        }
+        return deleted;
+    }
+
+    /**
+     * Obtiene el empleado con el menor ID.
+     * @return empleado con el menor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    @Override
+    public Empleado findMin() {
+        Map.Entry<Integer, Empleado> primero = empleados.firstEntry();
+        if (primero == null) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return primero.getValue();
+    }
+
+    /**
+     * Obtiene el empleado con el mayor ID.
+     * @return empleado con el mayor ID
+     * @throws IllegalStateException si no hay empleados
+     */
+    @Override
+    public Empleado findMax() {
+        Map.Entry<Integer, Empleado> ultimo = empleados.lastEntry();
+        if (ultimo == null) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return ultimo.getValue();
+    }
+
+    /**
+     * Muestra los empleados ordenados por ID con el mismo formato que Tree.inorder().
+     * La iteración es débilmente consistente si hay escrituras concurrentes.
+     */
+    @Override
+    public void inorder() {
+        for (Empleado empleado : empleados.values()) {
+            System.out.print("[" + empleado + " " + "]");
+            System.out.println("|");
+        }
+    }
+
+    /**
+     * Entrega al consumidor, en orden de ID, los empleados con ID entre lo y hi (ambos incluidos).
+     * Recorre solo la vista subMap del rango; es débilmente consistente como inorder().
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @param accion consumidor que recibe cada empleado del rango
+     */
+    @Override
+    public void findRange(int lo, int hi, Consumer<Empleado> accion) {
+        int encontrados = 0;
+        if (lo <= hi) {
+            for (Empleado empleado : empleados.subMap(lo, true, hi, true).values()) {
+                accion.accept(empleado);
+                encontrados++;
+            }
+        }
+        if (logWriter != null) {
+            logWriter.registrar("Consulta de rango [" + lo + ", " + hi + "]: " + encontrados + " empleados");
+        }
+    }
+
+    /**
+     * Cuenta los empleados con ID entre lo y hi (ambos incluidos).
+     * La skip list no guarda tamaños por tramo, así que el coste es O(log n + k).
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @return número de empleados del rango (0 si lo > hi)
+     */
+    @Override
+    public int countRange(int lo, int hi) {
+        return lo <= hi ? empleados.subMap(lo, true, hi, true).size() : 0;
+    }
+
+    /**
+     * Obtiene el número de empleados almacenados en O(1).
+     * Con escrituras concurrentes el valor es aproximado durante un instante.
+     * @return número total de empleados
+     */
+    @Override
+    public int countNodes() {
+        return tamano.get();
+    }
+
+    /**
+     * La skip list admite escrituras y lecturas simultáneas de varios hilos sin cerrojos.
+     * @return siempre true
+     */
+    @Override
+    public boolean isConcurrente() {
+        return true;
+    }
+
+    /**
+     * Cierra el archivo de log esperando a que se escriban los registros pendientes.
+     */
+    @Override
+    public void closeLog() {
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Clase SnapshotEytzinger que representa una copia inmutable del árbol optimizada para lecturas.
+ * Los IDs se guardan en un int[] con disposición de Eytzinger (orden BFS de un árbol
+ * implícito: los hijos del índice k están en 2k y 2k+1), con un array paralelo de empleados.
+ * Los primeros niveles quedan juntos en memoria, así que la búsqueda aprovecha la caché
+ * en lugar de perseguir punteros Left/Right, y el descenso no tiene saltos impredecibles.
+ * El snapshot no ve las modificaciones posteriores del árbol; se reconstruye con Tree.congelar().
+ */
+public class SnapshotEytzinger {
+    private final int[] ids; // IDs en orden de Eytzinger; la posición 0 no se usa
+    private final Empleado[] empleados; // Empleados en la misma posición que su ID
+    private final int tamano; // Número de empleados del snapshot
+    private final long version; // Versión del árbol a partir de la que se construyó
+
+    /**
+     * Construye el snapshot a partir de los empleados ordenados por ID.
+     * @param ordenados empleados ordenados por ID, sin duplicados
+     * @param version versión del árbol en el momento de congelarlo
+     */
+    SnapshotEytzinger(Empleado[] ordenados, long version) {
+        this.tamano = ordenados.length;
+        this.ids = new int[tamano + 1];
+        this.empleados = new Empleado[tamano + 1];
+        this.version = version;
+        llenar(ordenados);
+    }
+
+    /**
+     * Coloca los empleados ordenados en disposición de Eytzinger recorriendo el árbol
+     * implícito en inorder: el i-ésimo nodo visitado recibe el i-ésimo empleado.
+     * La pila explícita nunca supera la altura del árbol implícito (log2 n + 1).
+     * @param ordenados empleados ordenados por ID
+     */
+    private void llenar(Empleado[] ordenados) {
+        int[] pila = new int[33];
+        int cima = 0;
+        int k = 1;
+        int i = 0;
+        while (k <= tamano || cima > 0) {
+            while (k <= tamano) {
+                pila[cima++] = k;
+                k = 2 * k;
+            }
+            k = pila[--cima];
+            ids[k] = ordenados[i].ID;
+            empleados[k] = ordenados[i++];
+            k = 2 * k + 1;
+        }
+    }
+
+    /**
+     * Busca un empleado por ID sobre la disposición de Eytzinger.
+     * El bucle solo calcula el siguiente índice (2k o 2k+1) sin ramas dependientes del dato;
+     * al final se recupera el candidato (primer ID mayor o igual) deshaciendo los giros a la derecha.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    public Empleado searchByID(int id) {
+        int k = 1;
+        while (k <= tamano) {
+            k = 2 * k + (ids[k] < id ? 1 : 0);
+        }
+        // Quitar los últimos giros a la derecha y el último giro a la izquierda
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && ids[k] == id ? empleados[k] : null;
+    }
+
+    /**
+     * Obtiene el número de empleados del snapshot.
+     * @return número de empleados
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene la versión del árbol a partir de la que se construyó el snapshot.
+     * @return versión del árbol al congelarlo
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,471 +1,2076 @@
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Clase Tree que implementa un Árbol Binario de Búsqueda (BST) para gestionar empleados.
  * Permite insertar, buscar, eliminar y visualizar empleados de manera eficiente.
  */
-public class Tree {
+public class Tree implements IndiceEmpleados, Iterable<Empleado> {
     Node root; // Nodo raíz del árbol
-    private PrintWriter logWriter; // Writer para registrar operaciones en archivo de log
+    private AsyncLogWriter logWriter; // Writer asíncrono para registrar operaciones (null si el log está desactivado)
+    private final boolean autoBalanceado; // Si es true, insert y delete rebalancean (AVL)
+    private Node[] camino = new Node[64]; // Pila reutilizable con el camino raíz -> nodo en insert/delete
+    private Map<String, List<Empleado>> indicePorNombre = new HashMap<>(); // Índice secundario: nombre normalizado -> empleados (null hasta la primera búsqueda por nombre tras una carga masiva)
+    private long version; // Se incrementa en cada modificación del árbol
+    private volatile SnapshotEytzinger snapshot; // Último snapshot de solo lectura (null si no se ha congelado)
+    private final StampedLock lock; // Cerrojo del modo concurrente (null si el árbol es de un solo hilo)
+    private DiarioOperaciones diario; // Diario de inserciones y eliminaciones para recuperación (null si no hay)
+    private volatile CacheEmpleados cache; // Caché de búsquedas por ID (null si está desactivada)
+    private volatile MetricasTree metricas; // Contadores e histogramas de latencia (null si están desactivados)
+    private String archivoBase; // Snapshot donde se compacta el diario
+
+    private static final Comparator<Empleado> POR_ID = Comparator.comparingInt(Empleado::getID);
+    // Un lote de al menos n/FACTOR claves se aplica reenlazando todos los nodos en lugar de clave a clave.
+    // Eliminar con rotaciones cuesta más que insertar, por eso su umbral es más bajo.
+    private static final int FACTOR_RECONSTRUCCION_INSERCION = 4;
+    private static final int FACTOR_RECONSTRUCCION_ELIMINACION = 16;
 
     /**
      * Constructor que inicializa el árbol vacío y configura el archivo de log.
+     * El árbol creado es un BST simple, sin rebalanceo automático.
      * @param logFile ruta del archivo donde se registrarán las operaciones
      * @throws IOException si hay problemas al crear/abrir el archivo de log
      */
     public Tree (String logFile) throws IOException {
+        this(logFile, false);
+    }
+
+    /**
+     * Constructor que permite elegir el modo autobalanceado (AVL).
+     * En modo AVL, insert y delete aplican rotaciones para mantener la altura en O(log n),
+     * incluso cuando los empleados llegan ordenados por ID.
+     * El log se escribe en segundo plano con durabilidad por lotes.
+     * @param logFile ruta del archivo donde se registrarán las operaciones
+     * @param autoBalanceado true para rebalancear en cada inserción y eliminación
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public Tree (String logFile, boolean autoBalanceado) throws IOException {
+        this(logFile, autoBalanceado, AsyncLogWriter.Durabilidad.LOTES);
+    }
+
+    /**
+     * Constructor completo que permite elegir además la durabilidad del log.
+     * @param logFile ruta del archivo donde se registrarán las operaciones, o null para desactivar el log
+     * @param autoBalanceado true para rebalancear en cada inserción y eliminación
+     * @param durabilidad NINGUNA, LOTES (group commit en segundo plano) o SINCRONA (flush por operación)
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public Tree (String logFile, boolean autoBalanceado, AsyncLogWriter.Durabilidad durabilidad) throws IOException {
+        this(logFile, autoBalanceado, durabilidad, false);
+    }
+
+    /**
+     * Constructor que permite además activar el modo concurrente.
+     * En modo concurrente el árbol puede compartirse entre hilos: las consultas por ID
+     * (searchByID, findMin, findMax, rank, select) usan lecturas optimistas de StampedLock y solo
+     * toman el cerrojo de lectura si una escritura concurrente invalida la lectura; las búsquedas
+     * por nombre toman siempre el cerrojo de lectura (el índice es un HashMap, que no admite
+     * lecturas durante una escritura); insert, delete y crearArbolBalanceado toman el cerrojo de escritura.
+     * @param logFile ruta del archivo donde se registrarán las operaciones, o null para desactivar el log
+     * @param autoBalanceado true para rebalancear en cada inserción y eliminación
+     * @param durabilidad NINGUNA, LOTES (group commit en segundo plano) o SINCRONA (flush por operación)
+     * @param concurrente true para proteger el árbol con un StampedLock
+     * @throws IOException si hay problemas al crear/abrir el archivo de log
+     */
+    public Tree (String logFile, boolean autoBalanceado, AsyncLogWriter.Durabilidad durabilidad, boolean concurrente)
+            throws IOException {
         root = null;
-        logWriter = new PrintWriter(new FileWriter(logFile, true));
+        logWriter = logFile != null ? new AsyncLogWriter(logFile, durabilidad) : null;
+        this.autoBalanceado = autoBalanceado;
+        this.lock = concurrente ? new StampedLock() : null;
+    }
+
+    /**
+     * Indica si el árbol rebalancea automáticamente en cada modificación.
+     * @return true si el árbol está en modo AVL
+     */
+    public boolean isAutoBalanceado() {
+        return autoBalanceado;
+    }
+
+    /**
+     * Indica si el árbol está en modo concurrente (protegido por StampedLock).
+     * @return true si el árbol puede compartirse entre hilos
+     */
+    @Override
+    public boolean isConcurrente() {
+        return lock != null;
+    }
+
+    /**
+     * Ejecuta una consulta con lectura optimista: recorre el árbol sin bloquear y valida
+     * al final que no hubo escrituras concurrentes. Si la validación falla (o la lectura
+     * inconsistente provocó una excepción), repite la consulta con el cerrojo de lectura.
+     * Las consultas deben acotar sus bucles para terminar aunque lean un estado intermedio.
+     * @param consulta consulta a ejecutar
+     * @return resultado de la consulta
+     */
+    private <T> T leer(Supplier<T> consulta) {
+        if (lock == null) {
+            return consulta.get();
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T resultado = consulta.get();
+                if (lock.validate(stamp)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // Lectura inconsistente por una escritura concurrente: se repite con cerrojo
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return consulta.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Toma el cerrojo de lectura en modo concurrente (no hace nada en modo de un solo hilo).
+     * Se usa en recorridos completos, que no compensa repetir de forma optimista.
+     * @return sello a pasar a desbloquearLectura
+     */
+    private long bloquearLectura() {
+        return lock != null ? lock.readLock() : 0L;
+    }
+
+    /**
+     * Libera el cerrojo de lectura tomado con bloquearLectura.
+     * @param stamp sello devuelto por bloquearLectura
+     */
+    private void desbloquearLectura(long stamp) {
+        if (lock != null) {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Toma el cerrojo de escritura en modo concurrente (no hace nada en modo de un solo hilo).
+     * @return sello a pasar a desbloquearEscritura
+     */
+    private long bloquearEscritura() {
+        return lock != null ? lock.writeLock() : 0L;
+    }
+
+    /**
+     * Libera el cerrojo de escritura tomado con bloquearEscritura.
+     * @param stamp sello devuelto por bloquearEscritura
+     */
+    private void desbloquearEscritura(long stamp) {
+        if (lock != null) {
+            lock.unlockWrite(stamp);
+        }
     }
     /**
      * Método privado para registrar operaciones en el archivo de log con timestamp.
+     * El registro se encola en el writer asíncrono; la fecha y hora se añaden al escribirlo.
+     * En las operaciones frecuentes se comprueba logWriter antes de construir el mensaje,
+     * para no concatenar cadenas cuando el log está desactivado.
      * @param message mensaje a registrar en el log
      */
     private void log(String message) {
-        logWriter.println(message + " " + LocalDate.now() + " " + LocalTime.now());
-        logWriter.flush();
+        if (logWriter != null) {
+            logWriter.registrar(message);
+        }
     }
 
     /**
      * Método público para insertar un empleado en el árbol.
-     * Utiliza el método recursivo insertRec y registra la operación en el log.
+     * Utiliza el método iterativo insertIter y registra la operación en el log.
      * @param Data empleado a insertar en el árbol
+     * @throws java.io.UncheckedIOException si no se puede registrar en el diario (el árbol no cambia)
      */
+    @Override
     public void insert(Empleado Data) {
-        root = insertRec(root, Data);
-        log("Insertando valor: " + Data);
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        long stamp = bloquearEscritura();
+        try {
+            if (diario != null && searchByIDIter(Data.ID) == null) {
+                diario.registrarInsercion(Data);
+            }
+            if (insertIter(Data)) {
+                indexarNombre(Data);
+                invalidarCache(Data.ID);
+                version++;
+            }
+            compactarSiHaceFalta();
+        } finally {
+            desbloquearEscritura(stamp);
+        }
+        if (logWriter != null) {
+            log("Insertando valor: " + Data);
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.INSERCION, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Normaliza un nombre para usarlo como clave del índice secundario.
+     * La búsqueda por nombre ignora mayúsculas/minúsculas y espacios en los extremos.
+     * @param nombre nombre original
+     * @return clave normalizada
+     */
+    private static String normalizarNombre(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Agrega un empleado al índice secundario por nombre.
+     * @param empleado empleado recién insertado en el árbol
+     */
+    private void indexarNombre(Empleado empleado) {
+        if (indicePorNombre != null) {
+            indexarNombre(indicePorNombre, empleado);
+        }
+    }
+
+    /**
+     * Agrega un empleado a un índice por nombre dado, manteniendo cada lista de homónimos
+     * ordenada por ID. Los IDs nuevos suelen ser los mayores, así que casi siempre se añade al final.
+     * @param indice índice por nombre a actualizar
+     * @param empleado empleado a indexar
+     */
+    private static void indexarNombre(Map<String, List<Empleado>> indice, Empleado empleado) {
+        List<Empleado> homonimos = indice.computeIfAbsent(normalizarNombre(empleado.getNombre()), k -> new ArrayList<>(1));
+        int posicion = homonimos.size();
+        while (posicion > 0 && homonimos.get(posicion - 1).ID > empleado.ID) {
+            posicion--;
+        }
+        homonimos.add(posicion, empleado);
+    }
+
+    /**
+     * Quita un empleado del índice secundario por nombre.
+     * @param empleado empleado recién eliminado del árbol
+     */
+    private void desindexarNombre(Empleado empleado) {
+        if (indicePorNombre == null) {
+            return;
+        }
+        String clave = normalizarNombre(empleado.getNombre());
+        List<Empleado> homonimos = indicePorNombre.get(clave);
+        if (homonimos != null) {
+            homonimos.remove(empleado);
+            if (homonimos.isEmpty()) {
+                indicePorNombre.remove(clave);
+            }
+        }
+    }
+
+    /**
+     * Quita un ID de la caché de búsquedas, si está activada. Se llama después de modificar
+     * ese ID en el árbol y con el cerrojo de escritura tomado.
+     * @param id ID insertado o eliminado
+     */
+    private void invalidarCache(int id) {
+        CacheEmpleados actual = cache;
+        if (actual != null) {
+            actual.invalidar(id);
+        }
+    }
+
+    /**
+     * Método iterativo privado para insertar un empleado en el árbol.
+     * Mantiene las propiedades del BST: menores a la izquierda, mayores a la derecha.
+     * Desciende guardando el camino en una pila explícita y luego sube actualizando
+     * alturas (y rebalanceando en modo AVL), sin riesgo de StackOverflowError.
+     * @param Data empleado a insertar
+     * @return true si se insertó, false si el ID ya existía
+     */
+    private boolean insertIter(Empleado Data) {
+        if (root == null) {
+            root = new Node(Data);
+            return true;
+        }
+
+        int profundidad = 0;
+        Node actual = root;
+        while (true) {
+            apilar(profundidad++, actual);
+            if (Data.ID < actual.Data.ID) {
+                if (actual.Left == null) {
+                    actual.Left = new Node(Data);
+                    break;
+                }
+                actual = actual.Left;
+            } else if (Data.ID > actual.Data.ID) {
+                if (actual.Right == null) {
+                    actual.Right = new Node(Data);
+                    break;
+                }
+                actual = actual.Right;
+            } else {
+                return false; // ID duplicado: el árbol no cambia
+            }
+        }
+
+        subirReequilibrando(profundidad, 1);
+        return true;
+    }
+
+    /**
+     * Guarda un nodo en la pila de camino, ampliándola si el árbol es más alto de lo previsto.
+     * @param posicion posición (profundidad) del nodo en el camino
+     * @param nodo nodo a guardar
+     */
+    private void apilar(int posicion, Node nodo) {
+        if (posicion == camino.length) {
+            camino = Arrays.copyOf(camino, camino.length * 2);
+        }
+        camino[posicion] = nodo;
+    }
+
+    /**
+     * Recorre la pila de camino desde el nodo más profundo hacia la raíz,
+     * actualizando alturas y tamaños, rebalanceando y reenlazando cada subárbol con su padre.
+     * En cuanto la altura de un subárbol no cambia, los ancestros ya no necesitan
+     * rebalanceo y solo se ajusta su tamaño.
+     * @param profundidad número de nodos válidos en la pila de camino
+     * @param delta cambio en el número de nodos (+1 al insertar, -1 al eliminar)
+     */
+    private void subirReequilibrando(int profundidad, int delta) {
+        int i = profundidad - 1;
+        for (; i >= 0; i--) {
+            Node nodo = camino[i];
+            camino[i] = null; // No retener referencias a nodos eliminados
+            int alturaAntes = nodo.Altura;
+            Node nuevo = reequilibrar(nodo);
+            if (nuevo != nodo) {
+                reemplazarHijo(i == 0 ? null : camino[i - 1], nodo, nuevo);
+            }
+            if (nuevo.Altura == alturaAntes) {
+                break;
+            }
+        }
+        for (i--; i >= 0; i--) {
+            camino[i].Tamano += delta;
+            camino[i] = null;
+        }
+    }
+
+    /**
+     * Sustituye el hijo de un nodo (o la raíz si no hay padre) por otro nodo.
+     * @param padre nodo padre, o null si el hijo es la raíz
+     * @param viejo hijo actual
+     * @param nuevo nodo que ocupará su lugar
+     */
+    private void reemplazarHijo(Node padre, Node viejo, Node nuevo) {
+        if (padre == null) {
+            root = nuevo;
+        } else if (padre.Left == viejo) {
+            padre.Left = nuevo;
+        } else {
+            padre.Right = nuevo;
+        }
+    }
+
+    /**
+     * Obtiene la altura almacenada de un nodo (0 si es null).
+     * @param nodo nodo a consultar
+     * @return altura del subárbol
+     */
+    private static int altura(Node nodo) {
+        return nodo == null ? 0 : nodo.Altura;
+    }
+
+    /**
+     * Obtiene el tamaño almacenado de un subárbol (0 si es null).
+     * @param nodo nodo a consultar
+     * @return número de nodos del subárbol
+     */
+    private static int tamano(Node nodo) {
+        return nodo == null ? 0 : nodo.Tamano;
+    }
+
+    /**
+     * Recalcula la altura y el tamaño de un nodo a partir de los de sus hijos.
+     * @param nodo nodo a actualizar
+     */
+    private static void actualizar(Node nodo) {
+        nodo.Altura = Math.max(altura(nodo.Left), altura(nodo.Right)) + 1;
+        nodo.Tamano = tamano(nodo.Left) + tamano(nodo.Right) + 1;
+    }
+
+    /**
+     * Rotación simple a la derecha: el hijo izquierdo pasa a ser la raíz del subárbol.
+     * @param nodo raíz actual del subárbol
+     * @return nueva raíz del subárbol
+     */
+    private static Node rotarDerecha(Node nodo) {
+        Node izq = nodo.Left;
+        nodo.Left = izq.Right;
+        izq.Right = nodo;
+        actualizar(nodo);
+        actualizar(izq);
+        return izq;
+    }
+
+    /**
+     * Rotación simple a la izquierda: el hijo derecho pasa a ser la raíz del subárbol.
+     * @param nodo raíz actual del subárbol
+     * @return nueva raíz del subárbol
+     */
+    private static Node rotarIzquierda(Node nodo) {
+        Node der = nodo.Right;
+        nodo.Right = der.Left;
+        der.Left = nodo;
+        actualizar(nodo);
+        actualizar(der);
+        return der;
+    }
+
+    /**
+     * Actualiza la altura y el tamaño del nodo y, en modo AVL, aplica las rotaciones necesarias
+     * para que la diferencia de altura entre sus subárboles no exceda 1.
+     * @param nodo raíz del subárbol recién modificado
+     * @return nueva raíz del subárbol
+     */
+    private Node reequilibrar(Node nodo) {
+        actualizar(nodo);
+        if (!autoBalanceado) {
+            return nodo;
+        }
+
+        int balance = altura(nodo.Left) - altura(nodo.Right);
+        if (balance > 1) {
+            // Caso izquierda-derecha: primero rotar el hijo izquierdo
+            if (altura(nodo.Left.Left) < altura(nodo.Left.Right)) {
+                nodo.Left = rotarIzquierda(nodo.Left);
+            }
+            return rotarDerecha(nodo);
+        }
+        if (balance < -1) {
+            // Caso derecha-izquierda: primero rotar el hijo derecho
+            if (altura(nodo.Right.Right) < altura(nodo.Right.Left)) {
+                nodo.Right = rotarDerecha(nodo.Right);
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+     /**
+      * Método público para realizar un recorrido inorder del árbol.
+      * Muestra los empleados ordenados por ID de menor a mayor, en escrituras de 1000 líneas.
+      */
+     @Override
+     public void inorder(){
+        SalidaPaginada salida = new SalidaPaginada(System.out);
+        inorder(salida);
+        salida.cerrar();
+     }
+
+     /**
+      * Recorrido inorder que escribe en una salida paginada (sin cerrarla).
+      * El recorrido termina en cuanto la salida se detiene por tope de líneas o paginación.
+      * En modo concurrente el cerrojo de lectura se mantiene mientras se pagina.
+      * @param salida destino de las líneas
+      */
+     public void inorder(SalidaPaginada salida){
+        long stamp = bloquearLectura();
+        try {
+            inorderIter(root, salida);
+        } finally {
+            desbloquearLectura(stamp);
+        }
+     }
+
+     /**
+      * Método iterativo privado para el recorrido inorder.
+      * Visita: subárbol izquierdo -> nodo actual -> subárbol derecho,
+      * usando una pila explícita en lugar de la pila de llamadas.
+      * @param root raíz del subárbol a recorrer
+      * @param salida destino de las líneas
+      */
+     private void inorderIter(Node root, SalidaPaginada salida){
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        Node actual = root;
+        while ((actual != null || !pila.isEmpty()) && !salida.isDetenida()) {
+            while (actual != null) {
+                pila.push(actual);
+                actual = actual.Left;
+            }
+            actual = pila.pop();
+            salida.texto("[").empleado(actual.Data).texto(" ]|");
+            salida.finLinea();
+            actual = actual.Right;
+        }
+     }
+
+     /**
+      * Método público para buscar un empleado en el árbol.
+      * @param data empleado a buscar
+      * @return true si el empleado existe, false en caso contrario
+      */
+     public boolean search(Empleado data){
+        boolean found = leer(() -> searchByIDIter(data.ID)) != null;
+         if (logWriter != null) {
+             log("Búsqueda de " + data + ": " + (found ? "ENCONTRADO" : "NO ENCONTRADO"));
+         }
+         return found;
+     }
+
+    /**
+     * Método público para encontrar el empleado con el ID mínimo en el árbol.
+     * @return empleado con el menor ID
+     * @throws IllegalStateException si el árbol está vacío
+     */
+    @Override
+    public Empleado findMin(){
+        return leer(() -> findMinIter(root));
+    }
+
+    /**
+     * Método privado para encontrar el empleado con ID mínimo.
+     * En un BST, el mínimo siempre está en el nodo más a la izquierda.
+     * @param root raíz del subárbol
+     * @return empleado con el menor ID
+     * @throws IllegalStateException si el árbol está vacío
+     */
+    private Empleado findMinIter(Node root) {
+        if (root == null){
+            throw new IllegalStateException("Tree is empty");
+        }
+
+        // El límite de pasos solo se alcanza en una lectura optimista inconsistente
+        for (int pasos = root.Tamano; root.Left != null && pasos > 0; pasos--){
+            root = root.Left;
+        }
+        return root.Data;
+    }
+
+    /**
+     * Método público para encontrar el empleado con el ID máximo en el árbol.
+     * @return empleado con el mayor ID
+     * @throws IllegalStateException si el árbol está vacío
+     */
+    @Override
+    public Empleado findMax(){
+        return leer(() -> findMaxIter(root));
+    }
+
+    /**
+     * Método privado para encontrar el empleado con ID máximo.
+     * En un BST, el máximo siempre está en el nodo más a la derecha.
+     * @param root raíz del subárbol
+     * @return empleado con el mayor ID
+     * @throws IllegalStateException si el árbol está vacío
+     */
+    private Empleado findMaxIter(Node root){
+        if (root == null)
+            throw new IllegalStateException("Tree is empty");
+
+        // El límite de pasos solo se alcanza en una lectura optimista inconsistente
+        for (int pasos = root.Tamano; root.Right != null && pasos > 0; pasos--)
+            root = root.Right;
+        return root.Data;
+    }
+
+    /**
+     * Método público para buscar un empleado específicamente por su ID.
+     * Más eficiente que buscar por objeto completo. Si la caché está activada,
+     * se consulta primero y los empleados encontrados en el árbol se guardan en ella.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    @Override
+    public Empleado searchByID(int id) {
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        CacheEmpleados actual = cache;
+        Empleado result = actual != null ? actual.buscar(id) : null;
+        if (result == null) {
+            long generacion = actual != null ? actual.getGeneracion() : 0L;
+            result = medidor != null ? leer(() -> searchByIDIterMedido(id, medidor)) : leer(() -> searchByIDIter(id));
+            if (result != null && actual != null) {
+                actual.guardar(result, generacion);
+            }
+        }
+        if (logWriter != null) {
+            log("Búsqueda por ID " + id + ": " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.BUSQUEDA_ID, System.nanoTime() - inicio);
+        }
+        return result;
+    }
+    
+    /**
+     * Método iterativo privado para buscar empleado por ID.
+     * Utiliza las propiedades del BST para búsqueda eficiente O(log n)
+     * con un simple bucle de descenso, sin coste de llamadas recursivas.
+     * @param id ID del empleado a buscar
+     * @return empleado encontrado o null si no existe
+     */
+    private Empleado searchByIDIter(int id) {
+        Node actual = root;
+        // El límite de pasos solo se alcanza en una lectura optimista inconsistente
+        for (int pasos = tamano(actual); actual != null && pasos >= 0; pasos--) {
+            int actualID = actual.Data.ID;
+            if (id == actualID) {
+                return actual.Data;
+            }
+            actual = id < actualID ? actual.Left : actual.Right;
+        }
+        return null;
+    }
+
+    /**
+     * Variante de searchByIDIter que además registra en las métricas los nodos visitados.
+     * Se usa solo con las métricas activadas, para no añadir el contador al camino normal.
+     * @param id ID del empleado a buscar
+     * @param medidor métricas donde registrar los nodos visitados
+     * @return empleado encontrado o null si no existe
+     */
+    private Empleado searchByIDIterMedido(int id, MetricasTree medidor) {
+        Node actual = root;
+        int visitados = 0;
+        Empleado encontrado = null;
+        for (int pasos = tamano(actual); actual != null && pasos >= 0; pasos--) {
+            visitados++;
+            int actualID = actual.Data.ID;
+            if (id == actualID) {
+                encontrado = actual.Data;
+                break;
+            }
+            actual = id < actualID ? actual.Left : actual.Right;
+        }
+        medidor.registrarNodosVisitados(visitados);
+        return encontrado;
     }
+    
+    /**
+     * Método público para buscar un empleado por su nombre.
+     * Usa el índice secundario por nombre normalizado, por lo que la búsqueda es O(1).
+     * Si hay varios empleados con el mismo nombre, devuelve el de menor ID.
+     * @param nombre nombre del empleado a buscar (case-insensitive)
+     * @return empleado encontrado o null si no existe
+     */
+    public Empleado searchByName(String nombre) {
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        Empleado result = consultarPorNombre(nombre, homonimos -> homonimos != null ? homonimos.get(0) : null);
+        if (logWriter != null) {
+            log("Búsqueda por nombre '" + nombre + "': " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.BUSQUEDA_NOMBRE, System.nanoTime() - inicio);
+        }
+        return result;
+    }
+
+    /**
+     * Método público para buscar todos los empleados con un nombre dado.
+     * Útil cuando existen homónimos; usa el índice secundario por nombre.
+     * @param nombre nombre de los empleados a buscar (case-insensitive)
+     * @return lista (no modificable) de empleados con ese nombre en orden de ID, vacía si no hay ninguno
+     */
+    @Override
+    public List<Empleado> searchAllByName(String nombre) {
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        List<Empleado> result = consultarPorNombre(nombre, homonimos -> homonimos != null
+                ? Collections.unmodifiableList(new ArrayList<>(homonimos))
+                : Collections.<Empleado>emptyList());
+        if (logWriter != null) {
+            log("Búsqueda de homónimos '" + nombre + "': " + result.size() + " ENCONTRADOS");
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.BUSQUEDA_NOMBRE, System.nanoTime() - inicio);
+        }
+        return result;
+    }
+
+    /**
+     * Ejecuta una consulta sobre los homónimos de un nombre en el índice secundario.
+     * Si el índice aún no existe (tras una carga masiva) se construye primero y se repite la consulta.
+     * La consulta se hace con el cerrojo de lectura y no de forma optimista: un HashMap que se
+     * redimensiona, o una lista de homónimos que cambia, no se pueden leer durante una escritura.
+     * @param nombre nombre a buscar (se normaliza)
+     * @param consulta función que recibe la lista de homónimos, o null si no hay ninguno
+     * @return resultado de la consulta
+     */
+    private <T> T consultarPorNombre(String nombre, Function<List<Empleado>, T> consulta) {
+        String clave = normalizarNombre(nombre);
+        while (true) {
+            long stamp = bloquearLectura();
+            try {
+                Map<String, List<Empleado>> indice = indicePorNombre;
+                if (indice != null) {
+                    return consulta.apply(indice.get(clave));
+                }
+            } finally {
+                desbloquearLectura(stamp);
+            }
+            construirIndiceNombres();
+        }
+    }
+
+    /**
+     * Construye el índice por nombre a partir del contenido del árbol, si no existe ya.
+     * Las cargas masivas lo dejan sin construir para no pagar su coste al arrancar.
+     */
+    private void construirIndiceNombres() {
+        long stamp = bloquearEscritura();
+        try {
+            if (indicePorNombre == null) {
+                Empleado[] empleados = toArrayIter();
+                Map<String, List<Empleado>> nuevoIndice = new HashMap<>(Math.max(16, (int) (empleados.length / 0.75f) + 1));
+                for (Empleado empleado : empleados) {
+                    indexarNombre(nuevoIndice, empleado);
+                }
+                indicePorNombre = nuevoIndice;
+            }
+        } finally {
+            desbloquearEscritura(stamp);
+        }
+    }
+    
+    /**
+     * Método público para eliminar un empleado del árbol por su ID.
+     * Mantiene las propiedades del BST después de la eliminación.
+     * @param id ID del empleado a eliminar
+     * @return true si se eliminó exitosamente, false si no se encontró
+     * @throws java.io.UncheckedIOException si no se puede registrar en el diario (el árbol no cambia)
+     */
+    @Override
+    public boolean delete(int id) {
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        boolean deleted;
+        long stamp = bloquearEscritura();
+        try {
+            if (diario != null && searchByIDIter(id) != null) {
+                diario.registrarEliminacion(id);
+            }
+            Empleado eliminado = deleteIter(id);
+            deleted = eliminado != null;
+            if (deleted) {
+                desindexarNombre(eliminado);
+                invalidarCache(id);
+                version++;
+            }
+            compactarSiHaceFalta();
+        } finally {
+            desbloquearEscritura(stamp);
+        }
+        if (logWriter != null) {
+            log("Eliminación de empleado ID " + id + ": " + (deleted ? "EXITOSA" : "NO ENCONTRADO"));
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.ELIMINACION, System.nanoTime() - inicio);
+        }
+        return deleted;
+    }
+    
+    /**
+     * Inserta un lote de empleados con un único registro de log.
+     * @param empleados empleados a insertar
+     * @return número de empleados insertados
+     * @see #insertAll(Empleado[])
+     */
+    public int insertAll(java.util.List<Empleado> empleados) {
+        return insertAll(empleados.toArray(new Empleado[0]));
+    }
+
+    /**
+     * Inserta un lote de empleados ordenándolo una sola vez por ID.
+     * Los IDs repetidos dentro del lote o ya presentes en el árbol se ignoran (gana el primero),
+     * igual que con insert. Si el lote es grande respecto al árbol, se mezcla en un solo paso con
+     * los nodos actuales y se vuelven a enlazar balanceados (O(n + k)); si es pequeño, se inserta en
+     * orden de ID, que recorre caminos casi iguales y aprovecha la caché.
+     * Todo el lote se aplica bajo un único cerrojo de escritura y escribe un solo registro de log.
+     * @param lote empleados a insertar
+     * @return número de empleados insertados
+     * @throws java.io.UncheckedIOException si no se puede registrar en el diario (el árbol no cambia)
+     */
+    public int insertAll(Empleado[] lote) {
+        Empleado[] ordenados = lote.clone();
+        Arrays.sort(ordenados, POR_ID); // Ordenación estable: ante IDs repetidos queda primero el original
+        int distintos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            if (distintos == 0 || ordenados[i].ID != ordenados[distintos - 1].ID) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+
+        int insertados = 0;
+        long stamp = bloquearEscritura();
+        try {
+            if (diario != null) {
+                // Registrar en el diario solo los que realmente se insertarán, antes de aplicarlos
+                Empleado[] nuevos = new Empleado[distintos];
+                int cantidad = 0;
+                for (int i = 0; i < distintos; i++) {
+                    if (searchByIDIter(ordenados[i].ID) == null) {
+                        nuevos[cantidad++] = ordenados[i];
+                    }
+                }
+                diario.registrarInserciones(nuevos, cantidad);
+            }
+            if (distintos > 0 && (long) distintos * FACTOR_RECONSTRUCCION_INSERCION >= tamano(root)) {
+                Node[] actuales = nodosInorder();
+                Node[] mezcla = new Node[actuales.length + distintos];
+                int i = 0;
+                int j = 0;
+                int total = 0;
+                while (i < actuales.length || j < distintos) {
+                    if (j == distintos || (i < actuales.length && actuales[i].Data.ID < ordenados[j].ID)) {
+                        mezcla[total++] = actuales[i++];
+                    } else if (i == actuales.length || ordenados[j].ID < actuales[i].Data.ID) {
+                        indexarNombre(ordenados[j]);
+                        invalidarCache(ordenados[j].ID);
+                        mezcla[total++] = new Node(ordenados[j++]);
+                        insertados++;
+                    } else {
+                        // El ID ya existe en el árbol: se conserva el actual
+                        mezcla[total++] = actuales[i++];
+                        j++;
+                    }
+                }
+                root = enlazarBalanceado(mezcla, 0, total - 1);
+            } else {
+                for (int i = 0; i < distintos; i++) {
+                    if (insertIter(ordenados[i])) {
+                        indexarNombre(ordenados[i]);
+                        invalidarCache(ordenados[i].ID);
+                        insertados++;
+                    }
+                }
+            }
+            if (insertados > 0) {
+                version++;
+            }
+            compactarSiHaceFalta();
+        } finally {
+            desbloquearEscritura(stamp);
+        }
+        if (logWriter != null) {
+            log("Inserción múltiple de " + lote.length + " empleados: " + insertados + " insertados");
+        }
+        return insertados;
+    }
+
+    /**
+     * Elimina un lote de empleados por ID ordenando los IDs una sola vez.
+     * Si el lote es grande respecto al árbol, se filtran los nodos actuales en un solo paso
+     * de mezcla y se vuelven a enlazar balanceados; si es pequeño, se elimina en orden de ID.
+     * Todo el lote se aplica bajo un único cerrojo de escritura y escribe un solo registro de log.
+     * @param ids IDs de los empleados a eliminar (los repetidos o inexistentes se ignoran)
+     * @return número de empleados eliminados
+     * @throws java.io.UncheckedIOException si no se puede registrar en el diario (el árbol no cambia)
+     */
+    public int deleteAll(int[] ids) {
+        int[] ordenados = ids.clone();
+        Arrays.sort(ordenados);
+        int distintos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            if (distintos == 0 || ordenados[i] != ordenados[distintos - 1]) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+
+        int eliminados = 0;
+        long stamp = bloquearEscritura();
+        try {
+            if (diario != null) {
+                // Registrar en el diario solo los que realmente se eliminarán, antes de aplicarlos
+                int[] existentes = new int[distintos];
+                int cantidad = 0;
+                for (int i = 0; i < distintos; i++) {
+                    if (searchByIDIter(ordenados[i]) != null) {
+                        existentes[cantidad++] = ordenados[i];
+                    }
+                }
+                diario.registrarEliminaciones(existentes, cantidad);
+            }
+            if (distintos > 0 && (long) distintos * FACTOR_RECONSTRUCCION_ELIMINACION >= tamano(root)) {
+                Node[] actuales = nodosInorder();
+                int total = 0;
+                int j = 0;
+                for (Node nodo : actuales) {
+                    while (j < distintos && ordenados[j] < nodo.Data.ID) {
+                        j++;
+                    }
+                    if (j < distintos && ordenados[j] == nodo.Data.ID) {
+                        desindexarNombre(nodo.Data);
+                        invalidarCache(nodo.Data.ID);
+                        eliminados++;
+                    } else {
+                        actuales[total++] = nodo;
+                    }
+                }
+                root = enlazarBalanceado(actuales, 0, total - 1);
+            } else {
+                for (int i = 0; i < distintos; i++) {
+                    Empleado eliminado = deleteIter(ordenados[i]);
+                    if (eliminado != null) {
+                        desindexarNombre(eliminado);
+                        invalidarCache(eliminado.ID);
+                        eliminados++;
+                    }
+                }
+            }
+            if (eliminados > 0) {
+                version++;
+            }
+            compactarSiHaceFalta();
+        } finally {
+            desbloquearEscritura(stamp);
+        }
+        if (logWriter != null) {
+            log("Eliminación múltiple de " + ids.length + " IDs: " + eliminados + " eliminados");
+        }
+        return eliminados;
+    }
+
+    /**
+     * Método iterativo privado que recoge los nodos del árbol en orden de ID.
+     * @return array nuevo con los nodos en inorder
+     */
+    private Node[] nodosInorder() {
+        Node[] nodos = new Node[tamano(root)];
+        int i = 0;
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        Node actual = root;
+        while (actual != null || !pila.isEmpty()) {
+            while (actual != null) {
+                pila.push(actual);
+                actual = actual.Left;
+            }
+            actual = pila.pop();
+            nodos[i++] = actual;
+            actual = actual.Right;
+        }
+        return nodos;
+    }
+
+    /**
+     * Vuelve a enlazar nodos ya ordenados en un árbol balanceado, reutilizándolos
+     * en lugar de crear nodos nuevos (la recursión solo llega a log2 n niveles).
+     * @param nodos nodos ordenados por ID
+     * @param inicio índice inicial del rango
+     * @param fin índice final del rango
+     * @return raíz del subárbol balanceado
+     */
+    private static Node enlazarBalanceado(Node[] nodos, int inicio, int fin) {
+        if (inicio > fin) {
+            return null;
+        }
+        int medio = inicio + (fin - inicio) / 2;
+        Node nodo = nodos[medio];
+        nodo.Left = enlazarBalanceado(nodos, inicio, medio - 1);
+        nodo.Right = enlazarBalanceado(nodos, medio + 1, fin);
+        actualizar(nodo);
+        return nodo;
+    }
+
+    /**
+     * Busca un lote de IDs con un único descenso coordinado: los IDs se ordenan una vez y cada
+     * nodo reparte el tramo de IDs que le llega entre su subárbol izquierdo y el derecho, de modo
+     * que el camino común a varios IDs se recorre una sola vez. Escribe un solo registro de log.
+     * @param ids IDs a buscar (pueden repetirse)
+     * @return array alineado con ids: el empleado de cada ID, o null si no existe
+     */
+    public Empleado[] searchMany(int[] ids) {
+        // Cada clave empaqueta el ID (parte alta) y su posición original (parte baja)
+        long[] claves = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            claves[i] = ((long) ids[i] << 32) | i;
+        }
+        Arrays.sort(claves);
+
+        Empleado[] resultados = new Empleado[ids.length];
+        int encontrados;
+        long stamp = bloquearLectura();
+        try {
+            encontrados = searchManyIter(claves, resultados);
+        } finally {
+            desbloquearLectura(stamp);
+        }
+        if (logWriter != null) {
+            log("Búsqueda múltiple de " + ids.length + " IDs: " + encontrados + " encontrados");
+        }
+        return resultados;
+    }
+
+    /**
+     * Método iterativo privado del descenso coordinado de searchMany.
+     * La pila guarda (nodo, inicio, fin) con el tramo de claves que aún debe resolver cada subárbol;
+     * en cada paso solo se apila un hijo por nivel, así que su tamaño no supera la altura.
+     * @param claves IDs ordenados, empaquetados con su posición original
+     * @param resultados array donde se guarda el empleado de cada posición original
+     * @return número de IDs encontrados
+     */
+    private int searchManyIter(long[] claves, Empleado[] resultados) {
+        int encontrados = 0;
+        int capacidad = altura(root) + 2;
+        Node[] nodos = new Node[capacidad];
+        int[] inicios = new int[capacidad];
+        int[] fines = new int[capacidad];
+        int cima = 0;
+
+        Node nodo = root;
+        int inicio = 0;
+        int fin = claves.length;
+        while (true) {
+            if (nodo != null && inicio < fin) {
+                int id = nodo.Data.ID;
+                // Primera clave con ID >= id dentro de [inicio, fin)
+                int bajo = inicio;
+                int alto = fin;
+                while (bajo < alto) {
+                    int medio = (bajo + alto) >>> 1;
+                    if ((int) (claves[medio] >> 32) < id) {
+                        bajo = medio + 1;
+                    } else {
+                        alto = medio;
+                    }
+                }
+                int corte = bajo;
+                while (bajo < fin && (int) (claves[bajo] >> 32) == id) {
+                    resultados[(int) claves[bajo]] = nodo.Data;
+                    encontrados++;
+                    bajo++;
+                }
+                // Resolver ahora el tramo izquierdo y dejar el derecho pendiente
+                if (bajo < fin && nodo.Right != null) {
+                    nodos[cima] = nodo.Right;
+                    inicios[cima] = bajo;
+                    fines[cima] = fin;
+                    cima++;
+                }
+                nodo = nodo.Left;
+                fin = corte;
+            } else if (cima > 0) {
+                cima--;
+                nodo = nodos[cima];
+                inicio = inicios[cima];
+                fin = fines[cima];
+            } else {
+                return encontrados;
+            }
+        }
+    }
+
+    /**
+     * Método iterativo privado para eliminar un nodo del árbol.
+     * Maneja tres casos: nodo hoja, nodo con un hijo, nodo con dos hijos.
+     * Guarda el camino en la pila explícita y luego sube rebalanceando.
+     * @param id ID del empleado a eliminar
+     * @return empleado eliminado, o null si no existía
+     */
+    private Empleado deleteIter(int id) {
+        int profundidad = 0;
+        Node actual = root;
+        while (actual != null && actual.Data.ID != id) {
+            apilar(profundidad++, actual);
+            actual = id < actual.Data.ID ? actual.Left : actual.Right;
+        }
+        if (actual == null) {
+            Arrays.fill(camino, 0, profundidad, null);
+            return null;
+        }
+
+        // Nodo con dos hijos: copiar el sucesor inorder y eliminar el sucesor
+        Empleado datoEliminado = actual.Data;
+        Node eliminado = actual;
+        if (actual.Left != null && actual.Right != null) {
+            apilar(profundidad++, actual);
+            Node sucesor = actual.Right;
+            while (sucesor.Left != null) {
+                apilar(profundidad++, sucesor);
+                sucesor = sucesor.Left;
+            }
+            actual.Data = sucesor.Data;
+            eliminado = sucesor;
+        }
+
+        // El nodo eliminado tiene como máximo un hijo
+        Node hijo = eliminado.Left != null ? eliminado.Left : eliminado.Right;
+        reemplazarHijo(profundidad == 0 ? null : camino[profundidad - 1], eliminado, hijo);
+        subirReequilibrando(profundidad, -1);
+        return datoEliminado;
+    }
+    
+    /**
+     * Método público para contar el total de nodos en el árbol.
+     * Cada nodo mantiene el tamaño de su subárbol, por lo que la consulta es O(1).
+     * @return número total de empleados en el árbol
+     */
+    @Override
+    public int countNodes() {
+        return tamano(root);
+    }
+
+    /**
+     * Calcula el rango de un ID: cuántos empleados tienen un ID estrictamente menor.
+     * Coincide con la posición (base 0) que ocupa o que ocuparía el ID en el recorrido inorder.
+     * Complejidad O(altura) gracias a los tamaños de subárbol.
+     * @param id ID a consultar (no necesita existir en el árbol)
+     * @return número de empleados con ID menor que id
+     */
+    public int rank(int id) {
+        return leer(() -> rankIter(id));
+    }
+
+    /**
+     * Método iterativo privado para calcular el rango de un ID.
+     * @param id ID a consultar
+     * @return número de empleados con ID menor que id
+     */
+    private int rankIter(int id) {
+        int menores = 0;
+        Node actual = root;
+        // El límite de pasos solo se alcanza en una lectura optimista inconsistente
+        for (int pasos = tamano(actual); actual != null && pasos >= 0; pasos--) {
+            if (id <= actual.Data.ID) {
+                if (id == actual.Data.ID) {
+                    return menores + tamano(actual.Left);
+                }
+                actual = actual.Left;
+            } else {
+                menores += tamano(actual.Left) + 1;
+                actual = actual.Right;
+            }
+        }
+        return menores;
+    }
+
+    /**
+     * Selecciona el k-ésimo empleado en orden de ID (base 0: select(0) es el de menor ID).
+     * Complejidad O(altura) gracias a los tamaños de subárbol.
+     * @param k posición en el orden por ID, entre 0 y countNodes() - 1
+     * @return empleado que ocupa la posición k
+     * @throws IndexOutOfBoundsException si k está fuera de rango
+     */
+    public Empleado select(int k) {
+        return leer(() -> selectIter(k));
+    }
+
+    /**
+     * Método iterativo privado para seleccionar el k-ésimo empleado.
+     * @param k posición en el orden por ID
+     * @return empleado que ocupa la posición k
+     * @throws IndexOutOfBoundsException si k está fuera de rango
+     */
+    private Empleado selectIter(int k) {
+        Node actual = root;
+        if (k < 0 || k >= tamano(actual)) {
+            throw new IndexOutOfBoundsException("Posición " + k + " fuera de rango (total: " + tamano(actual) + ")");
+        }
+
+        // El límite de pasos solo se alcanza en una lectura optimista inconsistente
+        for (int pasos = tamano(actual); pasos >= 0; pasos--) {
+            int izquierda = tamano(actual.Left);
+            if (k < izquierda) {
+                actual = actual.Left;
+            } else if (k == izquierda) {
+                return actual.Data;
+            } else {
+                k -= izquierda + 1;
+                actual = actual.Right;
+            }
+        }
+        throw new IllegalStateException("Lectura inconsistente del árbol");
+    }
+
+    /**
+     * Entrega al consumidor, en orden de ID, los empleados con ID entre lo y hi (ambos incluidos).
+     * Solo desciende por los subárboles que pueden contener IDs del rango, así que el coste
+     * es O(altura + k) con k empleados entregados, en lugar de recorrer todo el árbol.
+     * En modo concurrente el consumidor se ejecuta con el cerrojo de lectura tomado,
+     * por lo que no debe modificar el árbol.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @param accion consumidor que recibe cada empleado del rango
+     */
+    @Override
+    public void findRange(int lo, int hi, Consumer<Empleado> accion) {
+        MetricasTree medidor = metricas;
+        long inicio = medidor != null ? System.nanoTime() : 0L;
+        int encontrados;
+        long stamp = bloquearLectura();
+        try {
+            encontrados = findRangeIter(lo, hi, accion);
+        } finally {
+            desbloquearLectura(stamp);
+        }
+        if (logWriter != null) {
+            log("Consulta de rango [" + lo + ", " + hi + "]: " + encontrados + " empleados");
+        }
+        if (medidor != null) {
+            medidor.registrar(MetricasTree.Operacion.RANGO, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Método iterativo privado para la consulta de rango: recorrido inorder podado.
+     * Al bajar por la izquierda se saltan los nodos con ID menor que lo (y con ellos su
+     * subárbol izquierdo), y el recorrido termina en cuanto aparece un ID mayor que hi.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @param accion consumidor que recibe cada empleado del rango
+     * @return número de empleados entregados
+     */
+    private int findRangeIter(int lo, int hi, Consumer<Empleado> accion) {
+        int encontrados = 0;
+        if (lo > hi) {
+            return encontrados;
+        }
+
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        Node actual = root;
+        while (actual != null || !pila.isEmpty()) {
+            while (actual != null) {
+                if (actual.Data.ID < lo) {
+                    actual = actual.Right;
+                } else {
+                    pila.push(actual);
+                    actual = actual.Left;
+                }
+            }
+            if (pila.isEmpty()) {
+                break;
+            }
+            actual = pila.pop();
+            if (actual.Data.ID > hi) {
+                break;
+            }
+            accion.accept(actual.Data);
+            encontrados++;
+            actual = actual.Right;
+        }
+        return encontrados;
+    }
+
+    /**
+     * Cuenta los empleados con ID entre lo y hi (ambos incluidos) sin recorrerlos:
+     * es la diferencia de dos rangos, así que cuesta O(altura) sea cual sea el tamaño del rango.
+     * @param lo ID mínimo del rango
+     * @param hi ID máximo del rango
+     * @return número de empleados del rango (0 si lo > hi)
+     */
+    @Override
+    public int countRange(int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        return leer(() -> {
+            int hasta = hi == Integer.MAX_VALUE ? tamano(root) : rankIter(hi + 1);
+            return Math.max(0, hasta - rankIter(lo));
+        });
+    }
+
+    /**
+     * Método público para mostrar la estructura visual del árbol.
+     * Presenta el árbol en formato de árbol con líneas y conectores.
+     */
+    public void mostrarArbolVisual() {
+        SalidaPaginada salida = new SalidaPaginada(System.out);
+        mostrarArbolVisual(salida, Integer.MAX_VALUE);
+        salida.cerrar();
+    }
+
+    /**
+     * Muestra la estructura visual del árbol en una salida paginada (sin cerrarla).
+     * @param salida destino de las líneas
+     * @param maxProfundidad profundidad máxima mostrada (0 = solo la raíz); de los nodos en el
+     *                       límite se indica cuántos descendientes se omiten
+     */
+    public void mostrarArbolVisual(SalidaPaginada salida, int maxProfundidad) {
+        long stamp = bloquearLectura();
+        try {
+            if (root == null) {
+                salida.linea("El árbol está vacío");
+                return;
+            }
+        
+            salida.linea("Estructura del Árbol Binario:");
+            salida.linea("(Formato: ID - Nombre)");
+            salida.linea("");
+            mostrarArbolVisualIter(salida, maxProfundidad);
+        } finally {
+            desbloquearLectura(stamp);
+        }
+    }
+    
+    /**
+     * Método iterativo privado para mostrar el árbol visualmente (preorder con pila explícita).
+     * Utiliza caracteres ASCII para crear una representación gráfica del árbol.
+     * El prefijo de líneas se guarda en un único StringBuilder: cada nivel ocupa 4 caracteres,
+     * así que al pasar a otro nodo basta con recortarlo a 4 * profundidad.
+     * @param salida destino de las líneas
+     * @param maxProfundidad profundidad máxima mostrada
+     */
+    private void mostrarArbolVisualIter(SalidaPaginada salida, int maxProfundidad) {
+        StringBuilder prefijo = new StringBuilder();
+        ArrayDeque<Node> nodos = new ArrayDeque<>();
+        ArrayDeque<Integer> profundidades = new ArrayDeque<>();
+        ArrayDeque<Boolean> ultimos = new ArrayDeque<>();
+        nodos.push(root);
+        profundidades.push(0);
+        ultimos.push(true);
+
+        while (!nodos.isEmpty() && !salida.isDetenida()) {
+            Node nodo = nodos.pop();
+            int profundidad = profundidades.pop();
+            boolean esUltimo = ultimos.pop();
+
+            prefijo.setLength(4 * profundidad);
+            salida.texto(prefijo).texto(esUltimo ? "└── " : "├── ")
+                    .texto(nodo.Data.getID()).texto(" - ").nombre(nodo.Data);
+            salida.finLinea();
+
+            // Prefijo para los hijos
+            prefijo.append(esUltimo ? "    " : "│   ");
+            boolean tieneHijoIzq = nodo.Left != null;
+            boolean tieneHijoDer = nodo.Right != null;
+            if (profundidad >= maxProfundidad) {
+                if (tieneHijoIzq || tieneHijoDer) {
+                    salida.texto(prefijo).texto("└── … ").texto(tamano(nodo) - 1).texto(" nodos más");
+                    salida.finLinea();
+                }
+                continue;
+            }
+
+            // Se apila primero el derecho para mostrar antes el izquierdo (valores menores)
+            if (tieneHijoDer) {
+                nodos.push(nodo.Right);
+                profundidades.push(profundidad + 1);
+                ultimos.push(true);
+            }
+            if (tieneHijoIzq) {
+                nodos.push(nodo.Left);
+                profundidades.push(profundidad + 1);
+                ultimos.push(!tieneHijoDer);
+            }
+        }
+    }
+    
+    /**
+     * Método público para mostrar el árbol organizado por niveles.
+     * Muestra cada nivel del árbol en una línea separada usando BFS.
+     */
+    public void mostrarArbolPorNiveles() {
+        SalidaPaginada salida = new SalidaPaginada(System.out);
+        mostrarArbolPorNiveles(salida, Integer.MAX_VALUE);
+        salida.cerrar();
+    }
+
+    /**
+     * Muestra el árbol por niveles (BFS) en una salida paginada (sin cerrarla).
+     * @param salida destino de las líneas (una por nivel)
+     * @param maxNiveles número máximo de niveles mostrados
+     */
+    public void mostrarArbolPorNiveles(SalidaPaginada salida, int maxNiveles) {
+        long stamp = bloquearLectura();
+        try {
+            if (root == null) {
+                salida.linea("El árbol está vacío");
+                return;
+            }
+        
+            int altura = calcularAltura(root);
+            salida.linea("Árbol por niveles (altura: " + altura + "):");
+            salida.linea("");
+        
+            // Usar una cola para recorrido por niveles (BFS)
+            ArrayDeque<Node> cola = new ArrayDeque<>();
+            cola.offer(root);
+            int nivelActual = 0;
+        
+            while (!cola.isEmpty() && nivelActual < maxNiveles && !salida.isDetenida()) {
+                int nodosEnNivel = cola.size();
+                salida.texto("Nivel ").texto(nivelActual).texto(": ");
+            
+                for (int i = 0; i < nodosEnNivel; i++) {
+                    Node nodo = cola.poll();
+                    salida.texto("[").texto(nodo.Data.getID()).texto("-").nombre(nodo.Data).texto("] ");
+                
+                    if (nodo.Left != null) {
+                        cola.offer(nodo.Left);
+                    }
+                    if (nodo.Right != null) {
+                        cola.offer(nodo.Right);
+                    }
+                }
+                salida.finLinea();
+                nivelActual++;
+            }
+            if (nivelActual < altura && !salida.isDetenida()) {
+                salida.linea("… " + (altura - nivelActual) + " niveles más");
+            }
+        } finally {
+            desbloquearLectura(stamp);
+        }
+    }
+    
+    /**
+     * Método alternativo para mostrar el árbol por niveles usando recursión.
+     * Útil para entender la estructura recursiva del árbol.
+     */
+    public void mostrarArbolPorNivelesRecursivo() {
+        SalidaPaginada salida = new SalidaPaginada(System.out);
+        mostrarArbolPorNivelesRecursivo(salida, Integer.MAX_VALUE);
+        salida.cerrar();
+    }
+
+    /**
+     * Muestra el árbol por niveles con el método recursivo en una salida paginada (sin cerrarla).
+     * @param salida destino de las líneas (una por nivel)
+     * @param maxNiveles número máximo de niveles mostrados
+     */
+    public void mostrarArbolPorNivelesRecursivo(SalidaPaginada salida, int maxNiveles) {
+        long stamp = bloquearLectura();
+        try {
+            if (root == null) {
+                salida.linea("El árbol está vacío");
+                return;
+            }
+        
+            int altura = calcularAltura(root);
+            salida.linea("Árbol por niveles (método recursivo - altura: " + altura + "):");
+            salida.linea("");
+        
+            int niveles = Math.min(altura, maxNiveles);
+            for (int i = 0; i < niveles && !salida.isDetenida(); i++) {
+                salida.texto("Nivel ").texto(i).texto(": ");
+                mostrarNivel(root, i, salida);
+                salida.finLinea();
+            }
+            if (niveles < altura && !salida.isDetenida()) {
+                salida.linea("… " + (altura - niveles) + " niveles más");
+            }
+        } finally {
+            desbloquearLectura(stamp);
+        }
+    }
+    
+    /**
+     * Método recursivo privado para mostrar todos los nodos de un nivel específico.
+     * La profundidad de la recursión es como mucho el nivel pedido, acotado por la altura.
+     * @param nodo nodo actual en la recursión
+     * @param nivel nivel objetivo a mostrar (0 = nivel actual)
+     * @param salida destino del texto
+     */
+    private void mostrarNivel(Node nodo, int nivel, SalidaPaginada salida) {
+        if (nodo == null) {
+            return;
+        }
+        
+        if (nivel == 0) {
+            salida.texto("[").texto(nodo.Data.getID()).texto("-").nombre(nodo.Data).texto("] ");
+        } else {
+            mostrarNivel(nodo.Left, nivel - 1, salida);
+            mostrarNivel(nodo.Right, nivel - 1, salida);
+        }
+    }
+    
+    /**
+     * Método privado para calcular la altura del árbol.
+     * La altura es el número máximo de niveles desde la raíz hasta una hoja.
+     * Cada nodo mantiene la altura de su subárbol, por lo que la consulta es O(1).
+     * @param nodo raíz del subárbol
+     * @return altura del subárbol
+     */
+    private int calcularAltura(Node nodo) {
+        return altura(nodo);
+    }
+
+    /**
+     * Devuelve todos los empleados del árbol ordenados por ID (recorrido inorder iterativo).
+     * @return array nuevo con countNodes() empleados en orden de ID
+     */
+    public Empleado[] toArray() {
+        long stamp = bloquearLectura();
+        try {
+            return toArrayIter();
+        } finally {
+            desbloquearLectura(stamp);
+        }
+    }
+
+    /**
+     * Método iterativo privado que copia el árbol en un array ordenado (sin tomar cerrojos).
+     * @return array nuevo con los empleados en orden de ID
+     */
+    private Empleado[] toArrayIter() {
+        Empleado[] resultado = new Empleado[tamano(root)];
+        int i = 0;
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        Node actual = root;
+        while (actual != null || !pila.isEmpty()) {
+            while (actual != null) {
+                pila.push(actual);
+                actual = actual.Left;
+            }
+            actual = pila.pop();
+            resultado[i++] = actual.Data;
+            actual = actual.Right;
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve un iterador perezoso que recorre los empleados en orden de ID.
+     * Solo guarda el camino pendiente (O(altura)), no una copia del árbol, y falla con
+     * ConcurrentModificationException si el árbol se modifica durante el recorrido.
+     * En modo concurrente recorre una copia ordenada (ver spliterator).
+     * @return iterador inorder de los empleados
+     */
+    @Override
+    public Iterator<Empleado> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Devuelve un Spliterator inorder que se divide por los límites de subárbol, lo que permite
+     * recorrer el árbol en paralelo con tamaños exactos (SIZED/SUBSIZED) y en orden de ID (SORTED).
+     * En modo concurrente recorre una copia ordenada de los empleados tomada con el cerrojo de
+     * lectura (IMMUTABLE, se divide por la mitad), ya que el recorrido no puede mantener el
+     * cerrojo entre llamadas.
+     * @return Spliterator de los empleados ordenados por ID
+     */
+    @Override
+    public Spliterator<Empleado> spliterator() {
+        if (lock == null) {
+            return new RecorridoInorder(null, root, tamano(root));
+        }
+        return new CopiaOrdenada(Spliterators.spliterator(leer(this::toArrayIter),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE));
+    }
+
+    /**
+     * Devuelve un Stream de los empleados en orden de ID, sin copiarlos a una lista.
+     * Con stream().parallel() el trabajo se reparte por subárboles entre varios hilos.
+     * @return Stream secuencial de los empleados ordenados por ID
+     */
+    public Stream<Empleado> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
     /**
-     * Método recursivo privado para insertar un empleado en el árbol.
-     * Mantiene las propiedades del BST: menores a la izquierda, mayores a la derecha.
-     * @param root nodo actual en la recursión
-     * @param Data empleado a insertar
-     * @return nodo raíz del subárbol después de la inserción
+     * Spliterator inorder sobre un subárbol. Antes de empezar a recorrer, su estado es un
+     * empleado inicial opcional (primero) seguido de un subárbol completo: dividir entrega
+     * (primero, subárbol izquierdo) y se queda con (raíz, subárbol derecho), ambos con la
+     * misma forma y tamaño exacto. Al empezar a recorrer pasa a una pila con el camino pendiente.
      */
-    private Node insertRec(Node root, Empleado Data){
-        if (root == null){
-            root = new Node(Data);
-            return root;
+    private final class RecorridoInorder implements Spliterator<Empleado> {
+        private static final int TAMANO_MINIMO_DIVISION = 64; // Por debajo no compensa dividir
+        private Node primero; // Nodo a entregar antes del subárbol (null si no hay)
+        private Node subarbol; // Subárbol pendiente de recorrer completo
+        private ArrayDeque<Node> pila; // Camino pendiente una vez iniciado el recorrido (null antes)
+        private long restantes; // Empleados que quedan por entregar
+        private final long versionEsperada; // Versión del árbol al crear el recorrido
+
+        RecorridoInorder(Node primero, Node subarbol, long restantes) {
+            this(primero, subarbol, restantes, version);
         }
 
-        if (Data.ID < root.Data.ID){
-            root.Left = insertRec(root.Left, Data);
-        } else if (Data.ID > root.Data.ID){
-            root.Right = insertRec(root.Right, Data);
+        private RecorridoInorder(Node primero, Node subarbol, long restantes, long versionEsperada) {
+            this.primero = primero;
+            this.subarbol = subarbol;
+            this.restantes = restantes;
+            this.versionEsperada = versionEsperada;
         }
-        return root;
-    }
-     /**
-      * Método público para realizar un recorrido inorder del árbol.
-      * Muestra los empleados ordenados por ID de menor a mayor.
-      */
-     public void inorder(){
-        inorderRec(root);
-     }
 
-     /**
-      * Método recursivo privado para el recorrido inorder.
-      * Visita: subárbol izquierdo -> nodo actual -> subárbol derecho
-      * @param root nodo actual en la recursión
-      */
-     private void inorderRec(Node root){
-        if (root != null ){
-            inorderRec(root.Left);
-            System.out.print("[" + root.Data + " " + "]");
-            System.out.println("|");
-            inorderRec(root.Right);
+        @Override
+        public boolean tryAdvance(Consumer<? super Empleado> accion) {
+            if (version != versionEsperada) {
+                throw new ConcurrentModificationException("El árbol se modificó durante el recorrido");
+            }
+            if (primero != null) {
+                Node nodo = primero;
+                primero = null;
+                restantes--;
+                accion.accept(nodo.Data);
+                return true;
+            }
+            if (pila == null) {
+                pila = new ArrayDeque<>();
+                bajarIzquierda(subarbol);
+                subarbol = null;
+            }
+            if (pila.isEmpty()) {
+                return false;
+            }
+            Node nodo = pila.pop();
+            bajarIzquierda(nodo.Right);
+            restantes--;
+            accion.accept(nodo.Data);
+            return true;
         }
-     }
 
-     /**
-      * Método público para buscar un empleado en el árbol.
-      * @param data empleado a buscar
-      * @return true si el empleado existe, false en caso contrario
-      */
-     public boolean search(Empleado data){
-        boolean found = searchRec(root, data);
-         log("Búsqueda de " + data + ": " + (found ? "ENCONTRADO" : "NO ENCONTRADO"));
-         return found;
-     }
+        /**
+         * Apila el camino desde el nodo hasta su descendiente más a la izquierda.
+         * @param nodo raíz del subárbol a recorrer (puede ser null)
+         */
+        private void bajarIzquierda(Node nodo) {
+            while (nodo != null) {
+                pila.push(nodo);
+                nodo = nodo.Left;
+            }
+        }
 
-    /**
-     * Método recursivo privado para buscar un empleado por ID.
-     * Utiliza las propiedades del BST para búsqueda eficiente O(log n).
-     * @param root nodo actual en la recursión
-     * @param data empleado a buscar
-     * @return true si encuentra el empleado, false en caso contrario
-     */
-    private boolean searchRec(Node root, Empleado data){
-        if (root == null){
-            return false;
+        @Override
+        public Spliterator<Empleado> trySplit() {
+            if (pila != null || subarbol == null || restantes < TAMANO_MINIMO_DIVISION) {
+                return null;
+            }
+            Node raiz = subarbol;
+            long prefijo = (primero != null ? 1 : 0) + tamano(raiz.Left);
+            RecorridoInorder izquierda = new RecorridoInorder(primero, raiz.Left, prefijo, versionEsperada);
+            primero = raiz;
+            subarbol = raiz.Right;
+            restantes -= prefijo;
+            return izquierda;
         }
 
-        if (root.Data.ID == data.ID){
-            return true;
+        @Override
+        public long estimateSize() {
+            return restantes;
         }
 
-        if (data.ID < root.Data.ID){
-            return searchRec(root.Left, data);
-        } else {
-            return searchRec(root.Right, data);
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
         }
-    }
 
-    /**
-     * Método público para encontrar el empleado con el ID mínimo en el árbol.
-     * @return empleado con el menor ID
-     * @throws IllegalStateException si el árbol está vacío
-     */
-    public Empleado findMin(){
-        return findMinRec(root);
+        @Override
+        public Comparator<? super Empleado> getComparator() {
+            return POR_ID;
+        }
     }
 
     /**
-     * Método recursivo privado para encontrar el empleado con ID mínimo.
-     * En un BST, el mínimo siempre está en el nodo más a la izquierda.
-     * @param root nodo actual en la recursión
-     * @return empleado con el menor ID
-     * @throws IllegalStateException si el árbol está vacío
+     * Spliterator sobre la copia ordenada que recorre el modo concurrente. Delega en el
+     * Spliterator del array y solo añade el comparador por ID, porque el del array declararía
+     * SORTED con orden natural y Empleado no es Comparable.
      */
-    private Empleado findMinRec(Node root) {
-        if (root == null){
-            throw new IllegalStateException("Tree is empty");
+    private static final class CopiaOrdenada implements Spliterator<Empleado> {
+        private final Spliterator<Empleado> copia; // Spliterator del array de empleados
+
+        CopiaOrdenada(Spliterator<Empleado> copia) {
+            this.copia = copia;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Empleado> accion) {
+            return copia.tryAdvance(accion);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Empleado> accion) {
+            copia.forEachRemaining(accion);
+        }
+
+        @Override
+        public Spliterator<Empleado> trySplit() {
+            Spliterator<Empleado> mitad = copia.trySplit();
+            return mitad == null ? null : new CopiaOrdenada(mitad);
+        }
+
+        @Override
+        public long estimateSize() {
+            return copia.estimateSize();
         }
 
-        if (root.Left == null){
-            return root.Data;
+        @Override
+        public int characteristics() {
+            return copia.characteristics();
         }
 
-        return findMinRec(root.Left);
+        @Override
+        public Comparator<? super Empleado> getComparator() {
+            return POR_ID;
+        }
     }
 
     /**
-     * Método público para encontrar el empleado con el ID máximo en el árbol.
-     * @return empleado con el mayor ID
-     * @throws IllegalStateException si el árbol está vacío
+     * Activa (o reemplaza) la caché de búsquedas por ID con la capacidad indicada.
+     * Útil cuando unos pocos empleados concentran la mayoría de las consultas.
+     * @param capacidad número máximo de empleados en la caché
+     * @throws IllegalArgumentException si la capacidad no es positiva
      */
-    public Empleado findMax(){
-        return findMaxRec(root);
+    public void activarCache(int capacidad) {
+        cache = new CacheEmpleados(capacidad);
     }
 
     /**
-     * Método recursivo privado para encontrar el empleado con ID máximo.
-     * En un BST, el máximo siempre está en el nodo más a la derecha.
-     * @param root nodo actual en la recursión
-     * @return empleado con el mayor ID
-     * @throws IllegalStateException si el árbol está vacío
+     * Desactiva la caché de búsquedas por ID.
      */
-    private Empleado findMaxRec(Node root){
-        if (root == null)
-            throw new IllegalStateException("Tree is empty");
+    public void desactivarCache() {
+        cache = null;
+    }
 
-        if (root.Right == null)
-            return root.Data;
+    /**
+     * Obtiene la caché de búsquedas por ID, con sus contadores de aciertos y fallos.
+     * @return caché activa, o null si está desactivada
+     */
+    public CacheEmpleados getCache() {
+        return cache;
+    }
 
-        return findMaxRec(root.Right);
+    /**
+     * Activa las métricas del árbol (si no lo estaban): cantidad y latencia de cada operación,
+     * nodos visitados por búsqueda por ID y altura. Con las métricas desactivadas
+     * las operaciones no leen el reloj.
+     * @return métricas del árbol, para consultarlas o publicarlas por JMX
+     */
+    public synchronized MetricasTree activarMetricas() {
+        if (metricas == null) {
+            metricas = new MetricasTree(this::getAltura);
+        }
+        return metricas;
     }
 
     /**
-     * Método público para buscar un empleado específicamente por su ID.
-     * Más eficiente que buscar por objeto completo.
-     * @param id ID del empleado a buscar
-     * @return empleado encontrado o null si no existe
+     * Obtiene las métricas del árbol.
+     * @return métricas activas, o null si están desactivadas
      */
-    public Empleado searchByID(int id) {
-        Empleado result = searchByIDRec(root, id);
-        log("Búsqueda por ID " + id + ": " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
-        return result;
+    public MetricasTree getMetricas() {
+        return metricas;
     }
-    
+
     /**
-     * Método recursivo privado para buscar empleado por ID.
-     * Utiliza las propiedades del BST para búsqueda eficiente O(log n).
-     * @param root nodo actual en la recursión
-     * @param id ID del empleado a buscar
-     * @return empleado encontrado o null si no existe
+     * Congela el estado actual del árbol en un snapshot inmutable de solo lectura
+     * (disposición de Eytzinger) y lo guarda como snapshot vigente.
+     * Las escrituras siguen yendo al árbol; el snapshot no las ve hasta volver a congelar.
+     * @return snapshot recién construido
      */
-    private Empleado searchByIDRec(Node root, int id) {
-        if (root == null) {
-            return null;
-        }
-        
-        if (root.Data.ID == id) {
-            return root.Data;
-        }
-        
-        if (id < root.Data.ID) {
-            return searchByIDRec(root.Left, id);
-        } else {
-            return searchByIDRec(root.Right, id);
+    public SnapshotEytzinger congelar() {
+        long stamp = bloquearLectura();
+        try {
+            snapshot = new SnapshotEytzinger(toArrayIter(), version);
+        } finally {
+            desbloquearLectura(stamp);
         }
+        log("Snapshot de solo lectura creado con " + snapshot.size() + " empleados");
+        return snapshot;
     }
-    
+
     /**
-     * Método público para buscar un empleado por su nombre.
-     * Nota: Esta búsqueda es O(n) ya que el nombre no mantiene el orden del BST.
-     * @param nombre nombre del empleado a buscar (case-insensitive)
-     * @return empleado encontrado o null si no existe
+     * Obtiene el último snapshot construido con congelar().
+     * @return snapshot de solo lectura, o null si nunca se congeló el árbol
      */
-    public Empleado searchByName(String nombre) {
-        Empleado result = searchByNameRec(root, nombre);
-        log("Búsqueda por nombre '" + nombre + "': " + (result != null ? "ENCONTRADO - " + result : "NO ENCONTRADO"));
-        return result;
+    public SnapshotEytzinger getSnapshot() {
+        return snapshot;
     }
-    
+
     /**
-     * Método recursivo privado para buscar empleado por nombre.
-     * Debe recorrer todo el árbol ya que los nombres no siguen el orden del BST.
-     * @param root nodo actual en la recursión
-     * @param nombre nombre del empleado a buscar
-     * @return empleado encontrado o null si no existe
+     * Indica si el snapshot refleja el estado actual del árbol
+     * (no hubo inserciones ni eliminaciones desde que se congeló).
+     * @return true si existe un snapshot y está al día
      */
-    private Empleado searchByNameRec(Node root, String nombre) {
-        if (root == null) {
-            return null;
-        }
-        
-        if (root.Data.Nombre.equalsIgnoreCase(nombre)) {
-            return root.Data;
-        }
-        
-        // Buscar en ambos subárboles ya que el nombre no sigue el orden del BST
-        Empleado leftResult = searchByNameRec(root.Left, nombre);
-        if (leftResult != null) {
-            return leftResult;
-        }
-        
-        return searchByNameRec(root.Right, nombre);
+    public boolean isSnapshotVigente() {
+        return snapshot != null && snapshot.getVersion() == version;
     }
-    
+
     /**
-     * Método público para eliminar un empleado del árbol por su ID.
-     * Mantiene las propiedades del BST después de la eliminación.
-     * @param id ID del empleado a eliminar
-     * @return true si se eliminó exitosamente, false si no se encontró
+     * Obtiene la altura actual del árbol en O(1), usando la altura almacenada en la raíz.
+     * @return altura del árbol (0 si está vacío)
      */
-    public boolean delete(int id) {
-        int initialSize = countNodes();
-        root = deleteRec(root, id);
-        int finalSize = countNodes();
-        boolean deleted = finalSize < initialSize;
-        log("Eliminación de empleado ID " + id + ": " + (deleted ? "EXITOSA" : "NO ENCONTRADO"));
-        return deleted;
+    public int getAltura() {
+        return altura(root);
     }
-    
+
     /**
-     * Método recursivo privado para eliminar un nodo del árbol.
-     * Maneja tres casos: nodo hoja, nodo con un hijo, nodo con dos hijos.
-     * @param root nodo actual en la recursión
-     * @param id ID del empleado a eliminar
-     * @return nodo raíz del subárbol después de la eliminación
+     * Método para crear un árbol balanceado a partir de una lista ordenada de empleados.
+     * Utiliza el algoritmo de construcción balanceada dividiendo recursivamente la lista.
+     * @param empleados lista ordenada de empleados
      */
-    private Node deleteRec(Node root, int id) {
-        if (root == null) {
-            return root;
-        }
-        
-        if (id < root.Data.ID) {
-            root.Left = deleteRec(root.Left, id);
-        } else if (id > root.Data.ID) {
-            root.Right = deleteRec(root.Right, id);
-        } else {
-            // Nodo encontrado, proceder con eliminación
-            if (root.Left == null) {
-                return root.Right;
-            } else if (root.Right == null) {
-                return root.Left;
-            }
-            
-            // Nodo con dos hijos: obtener el sucesor inorder
-            root.Data = findMinRec(root.Right);
-            root.Right = deleteRec(root.Right, root.Data.ID);
-        }
-        
-        return root;
+    public void crearArbolBalanceado(java.util.List<Empleado> empleados) {
+        // Convertir lista a array para acceso por índice eficiente
+        crearArbolBalanceado(empleados.toArray(new Empleado[0]));
     }
-    
+
     /**
-     * Método público para contar el total de nodos en el árbol.
-     * @return número total de empleados en el árbol
+     * Método para crear un árbol balanceado a partir de un array ordenado por ID y sin duplicados,
+     * por ejemplo el que entrega CargadorCSV.cargarParalelo. La construcción es O(n).
+     * @param array array de empleados ordenado por ID
      */
-    public int countNodes() {
-        return countNodesRec(root);
+    public void crearArbolBalanceado(Empleado[] array) {
+        publicar(construirBalanceadoRec(array, 0, array.length - 1));
+        log("Árbol balanceado creado con " + array.length + " empleados");
     }
-    
+
     /**
-     * Método recursivo privado para contar nodos.
-     * @param root nodo actual en la recursión
-     * @return número de nodos en el subárbol
+     * Reemplaza el contenido del árbol por uno construido aparte, publicándolo bajo el cerrojo.
+     * El índice por nombre se descarta y se reconstruye en la primera búsqueda por nombre,
+     * así que una carga masiva solo paga por los nodos.
+     * @param nuevaRaiz raíz del nuevo árbol (con alturas y tamaños ya calculados)
      */
-    private int countNodesRec(Node root) {
-        if (root == null) {
-            return 0;
+    private void publicar(Node nuevaRaiz) {
+        long stamp = bloquearEscritura();
+        try {
+            root = nuevaRaiz;
+            indicePorNombre = null;
+            CacheEmpleados actual = cache;
+            if (actual != null) {
+                actual.limpiar();
+            }
+            version++;
+        } finally {
+            desbloquearEscritura(stamp);
         }
-        return 1 + countNodesRec(root.Left) + countNodesRec(root.Right);
     }
 
     /**
-     * Método público para mostrar la estructura visual del árbol.
-     * Presenta el árbol en formato de árbol con líneas y conectores.
+     * Aplica sobre el contenido actual (snapshot o CSV) las operaciones recuperadas de un diario.
+     * Como el diario solo contiene operaciones que tuvieron efecto, basta con la última operación
+     * de cada ID: se eliminan todos los IDs afectados y se insertan los que terminaron insertados.
+     * Por eso aplicarlas de nuevo sobre una base que ya las incluye deja el mismo resultado.
+     * Debe llamarse antes de activarDiario, para no volver a registrar lo que se reproduce.
+     * @param operaciones operaciones en el orden en que se registraron
+     * @return número de operaciones reproducidas
+     * @throws IllegalStateException si el árbol ya tiene un diario activo
      */
-    public void mostrarArbolVisual() {
-        if (root == null) {
-            System.out.println("El árbol está vacío");
-            return;
+    public int reproducirDiario(List<DiarioOperaciones.Operacion> operaciones) {
+        if (diario != null) {
+            throw new IllegalStateException("El diario debe reproducirse antes de activarlo");
         }
-        
-        System.out.println("Estructura del Árbol Binario:");
-        System.out.println("(Formato: ID - Nombre)");
-        System.out.println();
-        mostrarArbolVisualRec(root, "", true);
+        Map<Integer, DiarioOperaciones.Operacion> ultimas = new HashMap<>();
+        for (DiarioOperaciones.Operacion operacion : operaciones) {
+            ultimas.put(operacion.getID(), operacion);
+        }
+        int[] afectados = new int[ultimas.size()];
+        Empleado[] insertados = new Empleado[ultimas.size()];
+        int i = 0;
+        int j = 0;
+        for (DiarioOperaciones.Operacion operacion : ultimas.values()) {
+            afectados[i++] = operacion.getID();
+            if (operacion.isInsercion()) {
+                insertados[j++] = operacion.getEmpleado();
+            }
+        }
+        deleteAll(afectados);
+        insertAll(Arrays.copyOf(insertados, j));
+        log("Diario reproducido: " + operaciones.size() + " operaciones sobre " + afectados.length + " IDs");
+        return operaciones.size();
     }
-    
+
     /**
-     * Método recursivo privado para mostrar el árbol visualmente.
-     * Utiliza caracteres ASCII para crear una representación gráfica del árbol.
-     * @param nodo nodo actual a mostrar
-     * @param prefijo prefijo de líneas para mantener la estructura visual
-     * @param esUltimo indica si es el último nodo en su nivel
-     */
-    private void mostrarArbolVisualRec(Node nodo, String prefijo, boolean esUltimo) {
-        if (nodo != null) {
-            System.out.println(prefijo + (esUltimo ? "└── " : "├── ") + 
-                             nodo.Data.getID() + " - " + nodo.Data.getNombre());
-            
-            // Determinar si hay hijos
-            boolean tieneHijoIzq = nodo.Left != null;
-            boolean tieneHijoDer = nodo.Right != null;
-            
-            // Crear el nuevo prefijo para los hijos
-            String nuevoPrefijo = prefijo + (esUltimo ? "    " : "│   ");
-            
-            // Mostrar hijo izquierdo primero (valores menores)
-            if (tieneHijoIzq) {
-                mostrarArbolVisualRec(nodo.Left, nuevoPrefijo, !tieneHijoDer);
-            }
-            
-            // Mostrar hijo derecho (valores mayores)
-            if (tieneHijoDer) {
-                mostrarArbolVisualRec(nodo.Right, nuevoPrefijo, true);
-            }
+     * Activa el diario: a partir de aquí cada inserción o eliminación con efecto se registra
+     * en él antes de aplicarse. Cuando el diario supera su umbral, el contenido del árbol se copia
+     * (bajo el cerrojo de escritura, O(n) en memoria) y se vuelca a archivoBase en un hilo de fondo.
+     * Las cargas masivas (crearArbolBalanceado, cargarSnapshot) no se registran: son la base.
+     * @param diario diario abierto (ya reproducido con reproducirDiario)
+     * @param archivoBase snapshot donde se compacta el diario
+     */
+    public void activarDiario(DiarioOperaciones diario, String archivoBase) {
+        long stamp = bloquearEscritura();
+        try {
+            this.diario = diario;
+            this.archivoBase = archivoBase;
+        } finally {
+            desbloquearEscritura(stamp);
         }
     }
-    
+
     /**
-     * Método público para mostrar el árbol organizado por niveles.
-     * Muestra cada nivel del árbol en una línea separada usando BFS.
+     * Compacta el diario de inmediato y espera a que termine: vuelca el contenido del árbol
+     * a la base y deja el diario vacío. Útil al arrancar, tras reproducir un diario largo.
+     * Si hay una compactación en segundo plano, primero espera a que termine.
+     * @throws InterruptedIOException si el hilo se interrumpe mientras espera otra compactación
+     * @throws IOException si hay problemas al rotar el diario o escribir la base
+     * @throws IllegalStateException si el árbol no tiene un diario activo
      */
-    public void mostrarArbolPorNiveles() {
-        if (root == null) {
-            System.out.println("El árbol está vacío");
-            return;
+    public void compactarDiario() throws IOException {
+        if (diario == null) {
+            throw new IllegalStateException("El árbol no tiene un diario activo");
         }
-        
-        int altura = calcularAltura(root);
-        System.out.println("Árbol por niveles (altura: " + altura + "):");
-        System.out.println();
-        
-        // Usar una cola para recorrido por niveles (BFS)
-        java.util.Queue<Node> cola = new java.util.LinkedList<>();
-        cola.offer(root);
-        int nivelActual = 0;
-        
-        while (!cola.isEmpty()) {
-            int nodosEnNivel = cola.size();
-            System.out.print("Nivel " + nivelActual + ": ");
-            
-            for (int i = 0; i < nodosEnNivel; i++) {
-                Node nodo = cola.poll();
-                System.out.print("[" + nodo.Data.getID() + "-" + nodo.Data.getNombre() + "] ");
-                
-                if (nodo.Left != null) {
-                    cola.offer(nodo.Left);
-                }
-                if (nodo.Right != null) {
-                    cola.offer(nodo.Right);
+        Empleado[] base = null;
+        while (base == null) {
+            // Si hay una compactación en segundo plano, esperarla: dos bases no deben escribirse a la vez
+            diario.esperarCompactacion();
+            long stamp = bloquearEscritura();
+            try {
+                if (diario.rotar()) {
+                    base = toArrayIter();
                 }
+            } finally {
+                desbloquearEscritura(stamp);
             }
-            System.out.println();
-            nivelActual++;
         }
+        diario.escribirBase(archivoBase, base);
+        log("Diario compactado en " + archivoBase + " con " + base.length + " empleados");
     }
-    
+
     /**
-     * Método alternativo para mostrar el árbol por niveles usando recursión.
-     * Útil para entender la estructura recursiva del árbol.
+     * Si el diario superó su umbral, copia el contenido del árbol, rota el diario y lanza
+     * la escritura de la base en segundo plano. Se llama con el cerrojo de escritura tomado,
+     * así que la copia y la rotación corresponden exactamente al mismo estado.
      */
-    public void mostrarArbolPorNivelesRecursivo() {
-        if (root == null) {
-            System.out.println("El árbol está vacío");
+    private void compactarSiHaceFalta() {
+        if (diario == null || !diario.necesitaCompactar()) {
             return;
         }
-        
-        int altura = calcularAltura(root);
-        System.out.println("Árbol por niveles (método recursivo - altura: " + altura + "):");
-        System.out.println();
-        
-        for (int i = 0; i < altura; i++) {
-            System.out.print("Nivel " + i + ": ");
-            mostrarNivel(root, i);
-            System.out.println();
+        try {
+            if (!diario.rotar()) {
+                return;
+            }
+            Empleado[] base = toArrayIter();
+            diario.compactarEnSegundoPlano(archivoBase, base);
+            if (logWriter != null) {
+                log("Compactación del diario iniciada con " + base.length + " empleados");
+            }
+        } catch (IOException e) {
+            System.err.println("Error al compactar el diario: " + e.getMessage());
         }
     }
-    
+
     /**
-     * Método recursivo privado para mostrar todos los nodos de un nivel específico.
-     * @param nodo nodo actual en la recursión
-     * @param nivel nivel objetivo a mostrar (0 = nivel actual)
+     * Guarda el árbol en un snapshot binario (ver ArchivoSnapshot).
+     * En orden PREORDEN el snapshot conserva la forma exacta del árbol; en orden ORDENADO
+     * solo el contenido, y al cargarlo se construye balanceado.
+     * @param archivo ruta del snapshot
+     * @param orden orden de los registros
+     * @throws IOException si hay problemas al escribir el archivo
      */
-    private void mostrarNivel(Node nodo, int nivel) {
-        if (nodo == null) {
-            return;
+    public void guardarSnapshot(String archivo, ArchivoSnapshot.Orden orden) throws IOException {
+        Empleado[] empleados;
+        long stamp = bloquearLectura();
+        try {
+            empleados = orden == ArchivoSnapshot.Orden.PREORDEN ? preordenIter() : toArrayIter();
+        } finally {
+            desbloquearLectura(stamp);
         }
-        
-        if (nivel == 0) {
-            System.out.print("[" + nodo.Data.getID() + "-" + nodo.Data.getNombre() + "] ");
+        ArchivoSnapshot.escribir(archivo, empleados, orden);
+        log("Snapshot guardado en " + archivo + " con " + empleados.length + " empleados");
+    }
+
+    /**
+     * Reemplaza el contenido del árbol por el de un snapshot binario, sin registrar cada empleado.
+     * Un snapshot PREORDEN recupera la forma exacta del árbol en O(n), salvo que este árbol sea AVL
+     * y la forma guardada no esté balanceada (por ejemplo, si se guardó desde un BST simple):
+     * entonces, igual que con un snapshot ORDENADO, se construye balanceado.
+     * @param archivo ruta del snapshot
+     * @throws IOException si el archivo no existe, está corrupto o sus registros no forman un BST válido
+     */
+    public void cargarSnapshot(String archivo) throws IOException {
+        ArchivoSnapshot.Contenido contenido = ArchivoSnapshot.leer(archivo);
+        Empleado[] empleados = contenido.getEmpleados();
+
+        Node nuevaRaiz = null;
+        if (contenido.getOrden() == ArchivoSnapshot.Orden.PREORDEN) {
+            nuevaRaiz = reconstruirPreorden(empleados);
+            if (autoBalanceado && verificarBalance(nuevaRaiz) == -1) {
+                nuevaRaiz = null;
+                empleados = empleados.clone();
+                Arrays.sort(empleados, POR_ID);
+            }
         } else {
-            mostrarNivel(nodo.Left, nivel - 1);
-            mostrarNivel(nodo.Right, nivel - 1);
+            for (int i = 1; i < empleados.length; i++) {
+                if (empleados[i - 1].ID >= empleados[i].ID) {
+                    throw new IOException("Snapshot inválido: IDs desordenados o repetidos (ID " + empleados[i].ID + ")");
+                }
+            }
         }
+        if (nuevaRaiz == null) {
+            nuevaRaiz = construirBalanceadoRec(empleados, 0, empleados.length - 1);
+        }
+
+        publicar(nuevaRaiz);
+        log("Snapshot cargado desde " + archivo + " con " + empleados.length + " empleados");
     }
-    
+
     /**
-     * Método recursivo privado para calcular la altura del árbol.
-     * La altura es el número máximo de niveles desde la raíz hasta una hoja.
-     * @param nodo nodo actual en la recursión
-     * @return altura del subárbol
+     * Método iterativo privado que devuelve los empleados en recorrido preorder
+     * (nodo -> subárbol izquierdo -> subárbol derecho), sin tomar cerrojos.
+     * @return array nuevo con los empleados en preorder
      */
-    private int calcularAltura(Node nodo) {
-        if (nodo == null) {
-            return 0;
+    private Empleado[] preordenIter() {
+        Empleado[] resultado = new Empleado[tamano(root)];
+        int i = 0;
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        if (root != null) {
+            pila.push(root);
         }
-        
-        int alturaIzq = calcularAltura(nodo.Left);
-        int alturaDer = calcularAltura(nodo.Right);
-        
-        return Math.max(alturaIzq, alturaDer) + 1;
+        while (!pila.isEmpty()) {
+            Node actual = pila.pop();
+            resultado[i++] = actual.Data;
+            if (actual.Right != null) {
+                pila.push(actual.Right);
+            }
+            if (actual.Left != null) {
+                pila.push(actual.Left);
+            }
+        }
+        return resultado;
     }
 
     /**
-     * Método para crear un árbol balanceado a partir de una lista ordenada de empleados.
-     * Utiliza el algoritmo de construcción balanceada dividiendo recursivamente la lista.
-     * @param empleados lista ordenada de empleados
+     * Reconstruye en O(n) el árbol cuyo recorrido preorder es el dado.
+     * Cada nodo nuevo es hijo izquierdo de la cima de la pila, o hijo derecho del último nodo
+     * desapilado con ID menor; ese ID es además la cota inferior de todos los nodos siguientes.
+     * Las alturas y tamaños se calculan al final recorriendo el preorder al revés (hijos antes que padres).
+     * @param preorden empleados en recorrido preorder
+     * @return raíz del árbol reconstruido (null si no hay empleados)
+     * @throws IOException si la secuencia no es el preorder de un BST con IDs únicos
      */
-    public void crearArbolBalanceado(java.util.List<Empleado> empleados) {
-        // Limpiar el árbol actual
-        root = null;
-        
-        // Convertir lista a array para acceso por índice eficiente
-        Empleado[] array = empleados.toArray(new Empleado[0]);
-        
-        // Construir árbol balanceado recursivamente
-        root = construirBalanceadoRec(array, 0, array.length - 1);
-        
-        log("Árbol balanceado creado con " + empleados.size() + " empleados");
+    private static Node reconstruirPreorden(Empleado[] preorden) throws IOException {
+        if (preorden.length == 0) {
+            return null;
+        }
+
+        Node[] nodos = new Node[preorden.length];
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        nodos[0] = new Node(preorden[0]);
+        pila.push(nodos[0]);
+        long cotaInferior = Long.MIN_VALUE;
+        for (int i = 1; i < preorden.length; i++) {
+            Node nodo = new Node(preorden[i]);
+            int id = nodo.Data.ID;
+            if (id <= cotaInferior) {
+                throw new IOException("Snapshot inválido: el preorder no corresponde a un BST (ID " + id + ")");
+            }
+            Node padre = null;
+            while (!pila.isEmpty() && pila.peek().Data.ID < id) {
+                padre = pila.pop();
+            }
+            if (!pila.isEmpty() && pila.peek().Data.ID == id) {
+                throw new IOException("Snapshot inválido: ID repetido " + id);
+            }
+            if (padre != null) {
+                padre.Right = nodo;
+                cotaInferior = padre.Data.ID;
+            } else {
+                pila.peek().Left = nodo;
+            }
+            pila.push(nodo);
+            nodos[i] = nodo;
+        }
+
+        for (int i = nodos.length - 1; i >= 0; i--) {
+            actualizar(nodos[i]);
+        }
+        return nodos[0];
     }
     
     /**
@@ -490,6 +2095,7 @@ public class Tree {
         // Construir subárboles recursivamente
         nodo.Left = construirBalanceadoRec(array, inicio, medio - 1);
         nodo.Right = construirBalanceadoRec(array, medio + 1, fin);
+        actualizar(nodo);
         
         return nodo;
     }
@@ -500,66 +2106,87 @@ public class Tree {
      * @return true si el árbol está balanceado, false en caso contrario
      */
     public boolean estaBalanceado() {
-        return verificarBalance(root) != -1;
+        long stamp = bloquearLectura();
+        try {
+            return verificarBalance(root) != -1;
+        } finally {
+            desbloquearLectura(stamp);
+        }
     }
     
     /**
-     * Método recursivo para verificar el balance del árbol.
-     * @param nodo nodo actual
+     * Método iterativo para verificar el balance del árbol.
+     * Recorre todos los nodos con una pila explícita comparando las alturas
+     * almacenadas de sus subárboles.
+     * @param nodo raíz del subárbol
      * @return altura del subárbol si está balanceado, -1 si no está balanceado
      */
     private int verificarBalance(Node nodo) {
         if (nodo == null) {
             return 0;
         }
-        
-        int alturaIzq = verificarBalance(nodo.Left);
-        if (alturaIzq == -1) return -1;
-        
-        int alturaDer = verificarBalance(nodo.Right);
-        if (alturaDer == -1) return -1;
-        
-        if (Math.abs(alturaIzq - alturaDer) > 1) {
-            return -1;
+
+        ArrayDeque<Node> pila = new ArrayDeque<>();
+        pila.push(nodo);
+        while (!pila.isEmpty()) {
+            Node actual = pila.pop();
+            if (Math.abs(altura(actual.Left) - altura(actual.Right)) > 1) {
+                return -1;
+            }
+            if (actual.Left != null) {
+                pila.push(actual.Left);
+            }
+            if (actual.Right != null) {
+                pila.push(actual.Right);
+            }
         }
-        
-        return Math.max(alturaIzq, alturaDer) + 1;
+        return altura(nodo);
     }
     
     /**
      * Método para obtener información detallada sobre la estructura del árbol.
      */
     public void mostrarInformacionArbol() {
-        if (root == null) {
-            System.out.println("El árbol está vacío");
-            return;
-        }
+        long stamp = bloquearLectura();
+        try {
+            if (root == null) {
+                System.out.println("El árbol está vacío");
+                return;
+            }
         
-        int altura = calcularAltura(root);
-        int nodos = countNodes();
-        boolean balanceado = estaBalanceado();
+            int altura = calcularAltura(root);
+            int nodos = tamano(root);
+            boolean balanceado = verificarBalance(root) != -1;
         
-        System.out.println("📊 INFORMACIÓN DEL ÁRBOL:");
-        System.out.println("═".repeat(40));
-        System.out.println("• Total de nodos: " + nodos);
-        System.out.println("• Altura actual: " + altura);
-        System.out.println("• Altura óptima: " + (int)Math.ceil(Math.log(nodos) / Math.log(2)));
-        System.out.println("• ¿Está balanceado?: " + (balanceado ? "✅ SÍ" : "❌ NO"));
+            System.out.println("📊 INFORMACIÓN DEL ÁRBOL:");
+            System.out.println("═".repeat(40));
+            System.out.println("• Total de nodos: " + nodos);
+            System.out.println("• Altura actual: " + altura);
+            System.out.println("• Altura óptima: " + (int)Math.ceil(Math.log(nodos) / Math.log(2)));
+            System.out.println("• ¿Está balanceado?: " + (balanceado ? "✅ SÍ" : "❌ NO"));
         
-        if (!balanceado) {
-            System.out.println("• Tipo de estructura: Árbol degenerado (como lista enlazada)");
-            System.out.println("• Complejidad de búsqueda: O(n) en lugar de O(log n)");
-        } else {
-            System.out.println("• Tipo de estructura: Árbol balanceado");
-            System.out.println("• Complejidad de búsqueda: O(log n)");
+            if (!balanceado) {
+                System.out.println("• Tipo de estructura: Árbol degenerado (como lista enlazada)");
+                System.out.println("• Complejidad de búsqueda: O(n) en lugar de O(log n)");
+            } else {
+                System.out.println("• Tipo de estructura: Árbol balanceado");
+                System.out.println("• Complejidad de búsqueda: O(log n)");
+            }
+        } finally {
+            desbloquearLectura(stamp);
         }
     }
 
     /**
      * Método para cerrar el archivo de log y liberar recursos.
+     * Espera a que se escriban todos los registros pendientes antes de cerrar.
      * Debe llamarse al finalizar el uso del árbol para evitar memory leaks.
      */
+    @Override
     public void closeLog(){
+        if (diario != null) {
+            diario.close();
+        }
         if (logWriter != null){
             logWriter.close();
         }
@@ -0,0 +1,107 @@
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas del modo autobalanceado (AVL) de Tree: compara inserciones y eliminaciones
+ * aleatorias con un TreeMap y comprueba que la altura siga en O(log n) incluso con
+ * claves ordenadas, que es el caso que degenera un BST simple.
+ */
+public class PruebaAVL {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("AVL");
+        insercionesOrdenadas();
+        diferencialContraTreeMap();
+        bstSimpleNoRebalancea();
+    }
+
+    /**
+     * Insertar 1..n en orden debe dejar un árbol balanceado de altura logarítmica.
+     */
+    private static void insercionesOrdenadas() throws Exception {
+        Tree tree = new Tree(null, true);
+        int n = 10_000;
+        for (int i = 1; i <= n; i++) {
+            tree.insert(new Empleado("E" + i, i));
+        }
+        Pruebas.iguales(n, tree.countNodes(), "countNodes tras inserciones ordenadas");
+        Pruebas.comprobar(tree.estaBalanceado(), "árbol balanceado tras inserciones ordenadas");
+        Pruebas.comprobar(tree.getAltura() <= alturaMaximaAVL(n), "altura " + tree.getAltura() + " dentro del límite AVL");
+        Pruebas.iguales(1, tree.findMin().ID, "findMin");
+        Pruebas.iguales(n, tree.findMax().ID, "findMax");
+        for (int i = 1; i <= n; i += 2) {
+            tree.delete(i);
+        }
+        Pruebas.iguales(n / 2, tree.countNodes(), "countNodes tras borrar los impares");
+        Pruebas.comprobar(tree.estaBalanceado(), "árbol balanceado tras borrar los impares");
+    }
+
+    /**
+     * Secuencia aleatoria de altas, bajas y búsquedas comparada con TreeMap.
+     */
+    private static void diferencialContraTreeMap() throws Exception {
+        Tree tree = new Tree(null, true);
+        TreeMap<Integer, Empleado> modelo = new TreeMap<>();
+        Random aleatorio = new Random(42);
+        boolean coincide = true;
+        for (int i = 0; i < 50_000 && coincide; i++) {
+            int id = aleatorio.nextInt(2_000);
+            int operacion = aleatorio.nextInt(3);
+            if (operacion == 0) {
+                Empleado empleado = new Empleado("E" + id, id);
+                tree.insert(empleado);
+                modelo.putIfAbsent(id, empleado);
+            } else if (operacion == 1) {
+                coincide = tree.delete(id) == (modelo.remove(id) != null);
+            } else {
+                coincide = tree.searchByID(id) == modelo.get(id);
+            }
+        }
+        Pruebas.comprobar(coincide, "altas, bajas y búsquedas coinciden con TreeMap");
+        Pruebas.iguales(modelo.size(), tree.countNodes(), "countNodes coincide con TreeMap");
+        Pruebas.comprobar(tree.estaBalanceado(), "árbol balanceado tras la secuencia aleatoria");
+
+        int i = 0;
+        boolean enOrden = true;
+        for (Map.Entry<Integer, Empleado> entrada : modelo.entrySet()) {
+            enOrden &= tree.select(i++) == entrada.getValue();
+        }
+        Pruebas.comprobar(enOrden, "el orden por ID coincide con TreeMap");
+    }
+
+    /**
+     * Sin modo AVL el árbol conserva la forma de la secuencia de inserción.
+     */
+    private static void bstSimpleNoRebalancea() throws Exception {
+        Tree tree = new Tree(null, false);
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(new Empleado("E" + i, i));
+        }
+        Pruebas.iguales(100, tree.getAltura(), "un BST simple con claves ordenadas degenera en lista");
+        Pruebas.comprobar(!tree.estaBalanceado(), "el BST simple no se rebalancea");
+    }
+
+    /**
+     * Altura máxima de un AVL con n nodos: 1.44 * log2(n + 2).
+     * @param n número de nodos
+     * @return límite superior de la altura
+     */
+    private static int alturaMaximaAVL(int n) {
+        return (int) Math.floor(1.4405 * Math.log(n + 2) / Math.log(2));
+    }
+}
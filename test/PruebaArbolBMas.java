@@ -0,0 +1,180 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas del backend en disco ArbolBMasEmpleados: altas, bajas y consultas comparadas con un
+ * TreeMap, persistencia al reabrir, reutilización de las páginas de hojas vaciadas y detección
+ * de un archivo dañado tras un cierre incorrecto.
+ */
+public class PruebaArbolBMas {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("árbol B+ en disco");
+        Path directorio = Pruebas.directorioTemporal("bmas");
+        try {
+            diferencialContraTreeMap(directorio.resolve("diferencial.bmas").toString());
+            reutilizacionDePaginas(directorio.resolve("paginas.bmas").toString());
+            cierreIncorrecto(directorio.resolve("corte.bmas").toString());
+        } finally {
+            Pruebas.borrar(directorio);
+        }
+    }
+
+    /**
+     * Secuencia aleatoria de altas y bajas con suficientes empleados para tener tres niveles;
+     * luego se reabre el archivo y se comprueba que el contenido se conserve.
+     * @param archivo archivo de datos de la prueba
+     * @throws IOException si falla el archivo de datos
+     */
+    private static void diferencialContraTreeMap(String archivo) throws IOException {
+        ArbolBMasEmpleados arbol = new ArbolBMasEmpleados(archivo, null);
+        TreeMap<Integer, Empleado> modelo = new TreeMap<>();
+        Random aleatorio = new Random(3);
+        boolean coincide = true;
+        for (int i = 0; i < 150_000; i++) {
+            int id = aleatorio.nextInt(200_000);
+            if (aleatorio.nextInt(4) > 0) {
+                Empleado empleado = new Empleado("Empleado " + id, id);
+                arbol.insert(empleado);
+                modelo.putIfAbsent(id, empleado);
+            } else {
+                coincide &= arbol.delete(id) == (modelo.remove(id) != null);
+            }
+        }
+        Pruebas.comprobar(coincide, "delete coincide con TreeMap");
+        Pruebas.iguales(modelo.size(), arbol.countNodes(), "countNodes coincide con TreeMap");
+        Pruebas.iguales(3, arbol.getAltura(), "con unas 2.000 hojas el árbol tiene tres niveles");
+        comprobarContenido(arbol, modelo, "antes de cerrar");
+        arbol.closeLog();
+
+        ArbolBMasEmpleados reabierto = new ArbolBMasEmpleados(archivo, null);
+        comprobarContenido(reabierto, modelo, "tras reabrir");
+        reabierto.closeLog();
+
+        Pruebas.lanza(IllegalArgumentException.class, () -> {
+            ArbolBMasEmpleados otro = new ArbolBMasEmpleados(archivo, null);
+            try {
+                otro.insert(new Empleado("x".repeat(200), 1));
+            } finally {
+                otro.closeLog();
+            }
+        }, "un nombre de más de 123 bytes se rechaza");
+    }
+
+    /**
+     * Compara búsquedas, extremos y rangos con el modelo.
+     * @param arbol árbol a comprobar
+     * @param modelo contenido esperado
+     * @param momento descripción del momento para los mensajes
+     */
+    private static void comprobarContenido(ArbolBMasEmpleados arbol, TreeMap<Integer, Empleado> modelo, String momento) {
+        boolean busquedas = true;
+        for (int id = 0; id < 200_000; id += 7) {
+            Empleado esperado = modelo.get(id);
+            Empleado obtenido = arbol.searchByID(id);
+            busquedas &= esperado == null ? obtenido == null
+                    : obtenido != null && obtenido.getNombre().equals(esperado.getNombre());
+        }
+        Pruebas.comprobar(busquedas, momento + ": searchByID coincide con TreeMap");
+        Pruebas.iguales(modelo.firstKey(), arbol.findMin().ID, momento + ": findMin");
+        Pruebas.iguales(modelo.lastKey(), arbol.findMax().ID, momento + ": findMax");
+
+        List<Integer> rango = new ArrayList<>();
+        arbol.findRange(50_000, 60_000, empleado -> rango.add(empleado.ID));
+        Pruebas.iguales(new ArrayList<>(modelo.subMap(50_000, true, 60_000, true).keySet()), rango, momento + ": findRange");
+        Pruebas.iguales(modelo.subMap(-5, true, 123_456, true).size(), arbol.countRange(-5, 123_456), momento + ": countRange");
+        Pruebas.iguales(0, arbol.countRange(10, 5), momento + ": countRange con lo > hi");
+    }
+
+    /**
+     * Vaciar el árbol libera sus hojas y nodos internos, y volver a llenarlo reutiliza esas
+     * páginas en lugar de hacer crecer el archivo.
+     * @param archivo archivo de datos de la prueba
+     * @throws IOException si falla el archivo de datos
+     */
+    private static void reutilizacionDePaginas(String archivo) throws IOException {
+        ArbolBMasEmpleados arbol = new ArbolBMasEmpleados(archivo, null);
+        Empleado[] empleados = new Empleado[100_000];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = new Empleado("E" + i, i);
+        }
+        Pruebas.iguales(empleados.length, arbol.cargarOrdenados(empleados), "cargarOrdenados agrega todos los empleados");
+        int paginas = arbol.getPaginas();
+        for (int i = 0; i < empleados.length; i += 2) {
+            arbol.delete(i);
+        }
+        for (int i = 1; i < 40_000; i += 2) {
+            arbol.delete(i);
+        }
+        // El archivo sigue marcado como modificado: abrir otra instancia valida hojas desenlazadas y páginas libres
+        Pruebas.iguales(30_000, new ArbolBMasEmpleados(archivo, null).countNodes(), "la estructura con páginas liberadas es válida");
+        for (int i = empleados.length - 1; i >= 40_000; i -= 2) {
+            arbol.delete(i);
+        }
+        Pruebas.iguales(0, arbol.countNodes(), "árbol vaciado");
+        Pruebas.iguales(1, arbol.getAltura(), "al vaciarse, la raíz vuelve a ser una hoja");
+        Pruebas.lanza(IllegalStateException.class, arbol::findMin, "findMin en un árbol vacío");
+
+        arbol.cargarOrdenados(empleados);
+        Pruebas.iguales(paginas, arbol.getPaginas(), "las páginas liberadas se reutilizan");
+        arbol.closeLog();
+        ArbolBMasEmpleados reabierto = new ArbolBMasEmpleados(archivo, null);
+        Pruebas.iguales(empleados.length, reabierto.countNodes(), "la lista de páginas libres se conserva al reabrir");
+        reabierto.closeLog();
+    }
+
+    /**
+     * Un archivo que no se cerró (el proceso terminó sin closeLog ni forzar) se valida al abrir:
+     * si está coherente se usa, y si está dañado se rechaza con IOException.
+     * @param archivo archivo de datos de la prueba
+     * @throws IOException si falla el archivo de datos
+     */
+    private static void cierreIncorrecto(String archivo) throws IOException {
+        ArbolBMasEmpleados sinCerrar = new ArbolBMasEmpleados(archivo, null);
+        TreeMap<Integer, Empleado> modelo = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            Empleado empleado = new Empleado("E" + i, i * 3);
+            sinCerrar.insert(empleado);
+            modelo.put(empleado.ID, empleado);
+        }
+        // "Corte": sinCerrar nunca se cierra; otra instancia abre el archivo marcado como modificado
+        ArbolBMasEmpleados recuperado = new ArbolBMasEmpleados(archivo, null);
+        Pruebas.iguales(5_000, recuperado.countNodes(), "un archivo coherente sin cerrar se valida y se usa");
+        boolean completo = true;
+        for (int id : modelo.keySet()) {
+            completo &= recuperado.searchByID(id) != null;
+        }
+        Pruebas.comprobar(completo, "el archivo recuperado conserva todos los empleados");
+        recuperado.forzar();
+
+        ArbolBMasEmpleados modificado = new ArbolBMasEmpleados(archivo, null);
+        modificado.delete(0);
+        // Dañar una hoja: su número de empleados pasa a superar la capacidad
+        try (FileChannel canal = FileChannel.open(Path.of(archivo), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(2).putShort(0, (short) 500), 8192 + 2);
+        }
+        Pruebas.lanza(IOException.class, () -> new ArbolBMasEmpleados(archivo, null),
+                "un archivo dañado sin cerrar se rechaza al abrir");
+    }
+}
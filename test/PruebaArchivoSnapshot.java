@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Pruebas del snapshot binario (ArchivoSnapshot y Tree.guardarSnapshot/cargarSnapshot):
+ * ida y vuelta en ambos órdenes y rechazo con IOException de archivos corruptos, incluida una
+ * cabecera con un número de registros imposible, que no debe reservar memoria antes de fallar,
+ * y escrituras fallidas, que no dejan el archivo temporal ni estropean el snapshot anterior.
+ */
+public class PruebaArchivoSnapshot {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("snapshot binario");
+        Path directorio = Pruebas.directorioTemporal("snapshot");
+        try {
+            idaYVuelta(directorio);
+            archivosCorruptos(directorio);
+            escrituraFallida(directorio);
+        } finally {
+            Pruebas.borrar(directorio);
+        }
+    }
+
+    /**
+     * Guarda y vuelve a cargar un árbol en orden de ID y en preorden.
+     * @param directorio directorio temporal de la prueba
+     * @throws IOException si falla la escritura o la lectura
+     */
+    private static void idaYVuelta(Path directorio) throws IOException {
+        Tree origen = new Tree(null, false);
+        int[] ids = {50, 20, 80, 10, 30, 70, 90, 25};
+        for (int id : ids) {
+            origen.insert(new Empleado("Empleado ñandú " + id, id));
+        }
+        origen.insert(new Empleado("", 1));
+
+        String ordenado = directorio.resolve("ordenado.snap").toString();
+        origen.guardarSnapshot(ordenado, ArchivoSnapshot.Orden.ORDENADO);
+        Tree cargado = new Tree(null, true);
+        cargado.cargarSnapshot(ordenado);
+        Pruebas.iguales(Arrays.toString(origen.toArray()), Arrays.toString(cargado.toArray()),
+                "ORDENADO conserva IDs y nombres (con UTF-8 y nombre vacío)");
+        Pruebas.comprobar(cargado.estaBalanceado(), "ORDENADO se carga balanceado");
+
+        String preorden = directorio.resolve("preorden.snap").toString();
+        origen.guardarSnapshot(preorden, ArchivoSnapshot.Orden.PREORDEN);
+        Tree mismaForma = new Tree(null, false);
+        mismaForma.cargarSnapshot(preorden);
+        Pruebas.iguales(origen.getAltura(), mismaForma.getAltura(), "PREORDEN reconstruye la misma forma");
+        Pruebas.iguales(origen.findMin().ID, mismaForma.findMin().ID, "PREORDEN conserva los empleados");
+
+        String vacio = directorio.resolve("vacio.snap").toString();
+        new Tree(null, true).guardarSnapshot(vacio, ArchivoSnapshot.Orden.ORDENADO);
+        Pruebas.iguales(0, ArchivoSnapshot.leer(vacio).getEmpleados().length, "snapshot vacío");
+    }
+
+    /**
+     * Una escritura que falla a mitad (nombre demasiado largo) no deja el temporal en disco y
+     * conserva el snapshot anterior.
+     * @param directorio directorio temporal de la prueba
+     * @throws IOException si falla la escritura o la lectura del snapshot válido
+     */
+    private static void escrituraFallida(Path directorio) throws IOException {
+        Path archivo = directorio.resolve("fallida.snap");
+        Empleado[] validos = {new Empleado("Ana", 1), new Empleado("Luis", 2)};
+        ArchivoSnapshot.escribir(archivo.toString(), validos, ArchivoSnapshot.Orden.ORDENADO);
+        Empleado[] conNombreLargo = {new Empleado("Ana", 1), new Empleado("x".repeat(0x10000), 2)};
+        Pruebas.lanza(IllegalArgumentException.class,
+                () -> ArchivoSnapshot.escribir(archivo.toString(), conNombreLargo, ArchivoSnapshot.Orden.ORDENADO),
+                "un nombre de más de 65535 bytes se rechaza");
+        Pruebas.comprobar(!Files.exists(directorio.resolve("fallida.snap.tmp")), "la escritura fallida borra el temporal");
+        Pruebas.iguales(Arrays.toString(validos), Arrays.toString(ArchivoSnapshot.leer(archivo.toString()).getEmpleados()),
+                "el snapshot anterior sigue intacto");
+    }
+
+    /**
+     * Corrompe un snapshot válido de varias formas y comprueba que la lectura falle con IOException.
+     * @param directorio directorio temporal de la prueba
+     * @throws IOException si falla la preparación de los archivos
+     */
+    private static void archivosCorruptos(Path directorio) throws IOException {
+        Empleado[] empleados = new Empleado[100];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = new Empleado("E" + i, i);
+        }
+        Path valido = directorio.resolve("valido.snap");
+        ArchivoSnapshot.escribir(valido.toString(), empleados, ArchivoSnapshot.Orden.ORDENADO);
+        byte[] original = Files.readAllBytes(valido);
+
+        byte[] recuento = original.clone();
+        ByteBuffer.wrap(recuento).putInt(9, Integer.MAX_VALUE);
+        Pruebas.lanza(IOException.class, () -> leer(directorio, "recuento", recuento),
+                "un recuento mayor que el archivo se rechaza sin reservar el array");
+
+        byte[] negativo = original.clone();
+        ByteBuffer.wrap(negativo).putInt(9, -1);
+        Pruebas.lanza(IOException.class, () -> leer(directorio, "negativo", negativo), "recuento negativo");
+
+        byte[] magic = original.clone();
+        magic[0] = 'X';
+        Pruebas.lanza(IOException.class, () -> leer(directorio, "magic", magic), "magic incorrecto");
+
+        byte[] truncado = Arrays.copyOf(original, original.length - 10);
+        Pruebas.lanza(IOException.class, () -> leer(directorio, "truncado", truncado), "archivo truncado");
+
+        byte[] alterado = original.clone();
+        alterado[original.length / 2] ^= 0x20;
+        Pruebas.lanza(IOException.class, () -> leer(directorio, "crc", alterado), "un byte alterado falla el CRC");
+
+        Empleado[] desordenados = {new Empleado("B", 2), new Empleado("A", 1)};
+        String archivo = directorio.resolve("desordenado.snap").toString();
+        ArchivoSnapshot.escribir(archivo, desordenados, ArchivoSnapshot.Orden.ORDENADO);
+        Pruebas.lanza(IOException.class, () -> new Tree(null, true).cargarSnapshot(archivo),
+                "cargarSnapshot rechaza un ORDENADO con IDs desordenados");
+    }
+
+    /**
+     * Escribe los bytes en un archivo y lo lee como snapshot.
+     * @param directorio directorio temporal de la prueba
+     * @param nombre nombre del archivo
+     * @param bytes contenido del archivo
+     * @throws IOException si el snapshot no es válido
+     */
+    private static void leer(Path directorio, String nombre, byte[] bytes) throws IOException {
+        Path archivo = directorio.resolve(nombre + ".snap");
+        Files.write(archivo, bytes);
+        ArchivoSnapshot.leer(archivo.toString());
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pruebas de la caché de búsquedas por ID (CacheEmpleados y su uso en Tree): aciertos, fallos,
+ * desalojo CLOCK, invalidación en cada operación que modifica el árbol y ausencia de empleados
+ * obsoletos cuando lectores y escritores trabajan a la vez.
+ */
+public class PruebaCacheEmpleados {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("caché de búsquedas por ID");
+        cacheAislada();
+        invalidacionEnTree();
+        lectoresYEscritores();
+    }
+
+    /**
+     * Comportamiento de la caché sin árbol: generación, capacidad y segunda oportunidad.
+     */
+    private static void cacheAislada() {
+        CacheEmpleados cache = new CacheEmpleados(4);
+        Empleado ana = new Empleado("Ana", 1);
+        Pruebas.comprobar(cache.buscar(1) == null, "una caché vacía falla");
+        cache.guardar(ana, cache.getGeneracion());
+        Pruebas.comprobar(cache.buscar(1) == ana, "un empleado guardado se encuentra");
+        Pruebas.iguales(1L, cache.getAciertos(), "se cuenta el acierto");
+        Pruebas.iguales(1L, cache.getFallos(), "se cuenta el fallo");
+
+        long generacion = cache.getGeneracion();
+        cache.invalidar(1);
+        Pruebas.comprobar(cache.buscar(1) == null, "invalidar quita el ID");
+        cache.guardar(ana, generacion);
+        Pruebas.comprobar(cache.buscar(1) == null, "no se guarda un empleado leído antes de una invalidación");
+
+        for (int id = 1; id <= 4; id++) {
+            cache.guardar(new Empleado("E" + id, id), cache.getGeneracion());
+        }
+        cache.buscar(1);
+        cache.guardar(new Empleado("E5", 5), cache.getGeneracion());
+        Pruebas.iguales(4, cache.getTamano(), "la caché no supera su capacidad");
+        Pruebas.comprobar(cache.buscar(1) != null && cache.buscar(2) == null,
+                "el empleado consultado tiene una segunda oportunidad y sale el siguiente");
+        for (int id = 100; id < 200; id++) {
+            cache.guardar(new Empleado("E" + id, id), cache.getGeneracion());
+        }
+        Pruebas.iguales(4, cache.getTamano(), "tras muchos desalojos sigue en su capacidad");
+
+        cache.limpiar();
+        Pruebas.iguales(0, cache.getTamano(), "limpiar vacía la caché");
+        cache.guardar(ana, cache.getGeneracion());
+        Pruebas.comprobar(cache.buscar(1) == ana, "tras limpiar se vuelve a llenar");
+        Pruebas.lanza(IllegalArgumentException.class, () -> new CacheEmpleados(0), "capacidad no positiva");
+    }
+
+    /**
+     * Cada operación de Tree que cambia un ID (o todo el contenido) deja la caché coherente.
+     * @throws Exception si no se puede crear el árbol
+     */
+    private static void invalidacionEnTree() throws Exception {
+        Tree tree = new Tree(null, true);
+        tree.activarCache(16);
+        for (int id = 1; id <= 10; id++) {
+            tree.insert(new Empleado("E" + id, id));
+        }
+        Pruebas.comprobar(tree.searchByID(5) != null && tree.getCache().getTamano() == 1, "searchByID llena la caché");
+
+        tree.delete(5);
+        Pruebas.comprobar(tree.searchByID(5) == null, "delete invalida el ID en la caché");
+        Empleado nuevo = new Empleado("Nuevo", 5);
+        tree.insert(nuevo);
+        Pruebas.comprobar(tree.searchByID(5) == nuevo, "insert tras delete devuelve el empleado nuevo");
+
+        tree.searchByID(6);
+        tree.searchByID(7);
+        tree.deleteAll(new int[]{6});
+        Pruebas.comprobar(tree.searchByID(6) == null, "deleteAll invalida la caché");
+        Empleado otro = new Empleado("Otro", 6);
+        tree.insertAll(new Empleado[]{otro});
+        Pruebas.comprobar(tree.searchByID(6) == otro, "insertAll invalida la caché");
+
+        tree.crearArbolBalanceado(new Empleado[]{new Empleado("Solo", 7)});
+        Pruebas.iguales("Solo", tree.searchByID(7).getNombre(), "crearArbolBalanceado vacía la caché");
+        Pruebas.comprobar(tree.searchByID(5) == null, "tras reemplazar el contenido no quedan IDs antiguos");
+    }
+
+    /**
+     * Lectores que llenan la caché sin parar mientras escritores dan de alta y de baja los mismos
+     * IDs con empleados nuevos. Al terminar, todo lo que queda en la caché es el empleado que está
+     * en el árbol.
+     * @throws Exception si no se puede crear el árbol o se interrumpe un hilo
+     */
+    private static void lectoresYEscritores() throws Exception {
+        Tree tree = new Tree(null, true, AsyncLogWriter.Durabilidad.NINGUNA, true);
+        tree.activarCache(64);
+        int ids = 256;
+        for (int id = 0; id < ids; id++) {
+            tree.insert(new Empleado("E" + id, id));
+        }
+        AtomicBoolean terminado = new AtomicBoolean();
+        Thread[] lectores = new Thread[4];
+        for (int h = 0; h < lectores.length; h++) {
+            int semilla = h;
+            lectores[h] = new Thread(() -> {
+                int id = semilla;
+                while (!terminado.get()) {
+                    tree.searchByID(id);
+                    id = (id * 31 + 7) % ids;
+                }
+            });
+            lectores[h].start();
+        }
+        Thread[] escritores = new Thread[2];
+        for (int h = 0; h < escritores.length; h++) {
+            int primero = h;
+            escritores[h] = new Thread(() -> {
+                for (int vuelta = 0; vuelta < 200; vuelta++) {
+                    for (int id = primero; id < ids; id += escritores.length) {
+                        tree.delete(id);
+                        tree.insert(new Empleado("V" + vuelta + "-" + id, id));
+                    }
+                }
+            });
+            escritores[h].start();
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        terminado.set(true);
+        for (Thread lector : lectores) {
+            lector.join();
+        }
+
+        CacheEmpleados cache = tree.getCache();
+        tree.desactivarCache();
+        boolean coherente = true;
+        for (int id = 0; id < ids; id++) {
+            Empleado enCache = cache.buscar(id);
+            coherente &= enCache == null || enCache == tree.searchByID(id);
+        }
+        Pruebas.comprobar(coherente, "con lectores y escritores concurrentes la caché no guarda empleados obsoletos");
+        Pruebas.comprobar(cache.getTamano() <= cache.getCapacidad(), "la caché concurrente respeta su capacidad");
+        Pruebas.comprobar(cache.getAciertos() > 0, "los lectores concurrentes aciertan en la caché");
+    }
+}
@@ -0,0 +1,147 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas de la carga paralela de CargadorCSV sobre archivos temporales: cortes de bloque en
+ * cualquier posición (incluida una última línea sin salto), mezcla de los bloques ordenados,
+ * IDs duplicados entre bloques (se conserva la primera aparición) y recuento de líneas inválidas.
+ */
+public class PruebaCargadorCSV {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("carga paralela del CSV");
+        Path directorio = Pruebas.directorioTemporal("cargador");
+        try {
+            casosDeFormato(directorio.resolve("formato.csv"));
+            diferencialPorBloques(directorio.resolve("aleatorio.csv"));
+        } finally {
+            Pruebas.borrar(directorio);
+        }
+    }
+
+    /**
+     * Un archivo pequeño con líneas inválidas, CRLF, duplicados y una última línea sin salto se
+     * carga igual con cualquier tamaño de bloque, desde un byte hasta el archivo entero.
+     * @param archivo CSV de la prueba
+     * @throws IOException si falla la escritura o la carga
+     */
+    private static void casosDeFormato(Path archivo) throws IOException {
+        String contenido = "id,nombre\n"
+                + "5,Ana Primera\n"
+                + "3,Luis\r\n"
+                + "abc,Sin ID\n"
+                + "\n"
+                + "8,\n"
+                + "sin coma\n"
+                + "99999999999,Grande\n"
+                + "1,  José Núñez  ,extra\n"
+                + "5,Ana Repetida\n"
+                + "-2,Negativo\n"
+                + "3,Luis Otra Vez\n"
+                + "4,Última Sin Salto";
+        Files.write(archivo, contenido.getBytes(StandardCharsets.UTF_8));
+        String esperado = "[ID: -2, Nombre: Negativo, ID: 1, Nombre: José Núñez, ID: 3, Nombre: Luis, "
+                + "ID: 4, Nombre: Última Sin Salto, ID: 5, Nombre: Ana Primera]";
+
+        CargadorCSV.ResultadoCarga carga = CargadorCSV.cargarParalelo(archivo.toString(), null);
+        Pruebas.iguales(esperado, Arrays.toString(carga.getEmpleados()), "empleados ordenados, primera aparición de cada ID");
+        Pruebas.iguales(Arrays.asList(3, 5), ordenada(carga.getIdsDuplicados()), "IDs duplicados");
+        Pruebas.iguales(4, carga.getLineasInvalidas(), "líneas inválidas (la vacía no cuenta)");
+
+        boolean coincide = true;
+        long tamano = Files.size(archivo);
+        for (long bloque = 1; bloque <= tamano + 1 && coincide; bloque++) {
+            carga = CargadorCSV.cargarParalelo(archivo.toString(), null, bloque);
+            coincide = esperado.equals(Arrays.toString(carga.getEmpleados()))
+                    && ordenada(carga.getIdsDuplicados()).equals(Arrays.asList(3, 5))
+                    && carga.getLineasInvalidas() == 4;
+        }
+        Pruebas.comprobar(coincide, "mismo resultado con cualquier tamaño de bloque");
+
+        Files.write(archivo, "id,nombre\n7,Solo Uno".getBytes(StandardCharsets.UTF_8));
+        carga = CargadorCSV.cargarParalelo(archivo.toString(), null, 4);
+        Pruebas.iguales("[ID: 7, Nombre: Solo Uno]", Arrays.toString(carga.getEmpleados()),
+                "única línea de datos sin salto, con el corte dentro del encabezado");
+        Files.write(archivo, new byte[0]);
+        Pruebas.iguales(0, CargadorCSV.cargarParalelo(archivo.toString(), null).getEmpleados().length, "archivo vacío");
+    }
+
+    /**
+     * Miles de líneas con IDs desordenados y repetidos comparadas con un modelo (TreeMap que
+     * conserva la primera aparición), con bloques de varios tamaños para forzar muchas mezclas.
+     * @param archivo CSV de la prueba
+     * @throws IOException si falla la escritura o la carga
+     */
+    private static void diferencialPorBloques(Path archivo) throws IOException {
+        Random aleatorio = new Random(7);
+        StringBuilder csv = new StringBuilder("id,nombre\n");
+        Map<Integer, String> modelo = new TreeMap<>();
+        List<Integer> duplicados = new ArrayList<>();
+        int invalidas = 0;
+        for (int i = 0; i < 5_000; i++) {
+            if (aleatorio.nextInt(50) == 0) {
+                csv.append("x").append(i).append(",Inválida\n");
+                invalidas++;
+                continue;
+            }
+            int id = aleatorio.nextInt(4_000);
+            String nombre = "Empleado " + i;
+            csv.append(id).append(',').append(nombre).append('\n');
+            if (modelo.putIfAbsent(id, nombre) != null) {
+                duplicados.add(id);
+            }
+        }
+        Files.write(archivo, csv.toString().getBytes(StandardCharsets.UTF_8));
+        Collections.sort(duplicados);
+
+        for (long bloque : new long[]{64, 1_000, 7_919, 0}) {
+            CargadorCSV.ResultadoCarga carga = CargadorCSV.cargarParalelo(archivo.toString(), null, bloque);
+            StringBuilder obtenido = new StringBuilder();
+            for (Empleado empleado : carga.getEmpleados()) {
+                obtenido.append(empleado.ID).append('=').append(empleado.getNombre()).append(';');
+            }
+            StringBuilder esperado = new StringBuilder();
+            for (Map.Entry<Integer, String> entrada : modelo.entrySet()) {
+                esperado.append(entrada.getKey()).append('=').append(entrada.getValue()).append(';');
+            }
+            String descripcion = " (bloques de " + (bloque == 0 ? "tamaño automático" : bloque + " bytes") + ")";
+            Pruebas.comprobar(esperado.toString().equals(obtenido.toString()), "coincide con el modelo" + descripcion);
+            Pruebas.iguales(duplicados, ordenada(carga.getIdsDuplicados()), "duplicados entre bloques" + descripcion);
+            Pruebas.iguales(invalidas, carga.getLineasInvalidas(), "líneas inválidas" + descripcion);
+        }
+    }
+
+    /**
+     * Copia ordenada de una lista de IDs (el orden de los duplicados depende de la mezcla).
+     * @param ids IDs a ordenar
+     * @return nueva lista ordenada
+     */
+    private static List<Integer> ordenada(List<Integer> ids) {
+        List<Integer> copia = new ArrayList<>(ids);
+        Collections.sort(copia);
+        return copia;
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pruebas del modo concurrente de Tree: varios hilos insertan y borran mientras otros
+ * buscan por ID y por nombre. Ninguna consulta debe fallar ni ver un resultado imposible,
+ * y el estado final debe ser el de las operaciones aplicadas.
+ */
+public class PruebaConcurrencia {
+    private static final int ESCRITORES = 2;
+    private static final int LECTORES = 3;
+    private static final int IDS_POR_ESCRITOR = 20_000;
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("modo concurrente");
+        Tree tree = new Tree(null, true, AsyncLogWriter.Durabilidad.NINGUNA, true);
+        for (int id = 0; id < 1_000; id++) {
+            tree.insert(new Empleado("Fijo " + id, -1 - id));
+        }
+        ConcurrentLinkedQueue<Throwable> errores = new ConcurrentLinkedQueue<>();
+        AtomicBoolean terminado = new AtomicBoolean();
+        List<Thread> hilos = new ArrayList<>();
+
+        for (int e = 0; e < ESCRITORES; e++) {
+            int base = e * IDS_POR_ESCRITOR;
+            hilos.add(new Thread(() -> {
+                // Cada escritor inserta su tramo de IDs y borra los impares
+                for (int id = base; id < base + IDS_POR_ESCRITOR; id++) {
+                    tree.insert(new Empleado("Nombre " + (id % 50), id));
+                    if (id % 2 == 1) {
+                        tree.delete(id);
+                    }
+                }
+            }));
+        }
+        for (int l = 0; l < LECTORES; l++) {
+            hilos.add(new Thread(() -> {
+                int i = 0;
+                while (!terminado.get()) {
+                    Empleado fijo = tree.searchByID(-1 - (i % 1_000));
+                    if (fijo == null || !fijo.getNombre().equals("Fijo " + (i % 1_000))) {
+                        throw new AssertionError("empleado fijo no encontrado: " + (-1 - (i % 1_000)));
+                    }
+                    for (Empleado homonimo : tree.searchAllByName("Nombre " + (i % 50))) {
+                        if (!homonimo.getNombre().equals("Nombre " + (i % 50))) {
+                            throw new AssertionError("homónimo con otro nombre: " + homonimo);
+                        }
+                    }
+                    tree.searchByName("Fijo " + (i % 1_000));
+                    i++;
+                }
+            }));
+        }
+        for (Thread hilo : hilos) {
+            hilo.setUncaughtExceptionHandler((h, e) -> errores.add(e));
+            hilo.start();
+        }
+        for (int e = 0; e < ESCRITORES; e++) {
+            hilos.get(e).join();
+        }
+        terminado.set(true);
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        Pruebas.comprobar(errores.isEmpty(), "ninguna consulta concurrente falla: " + errores);
+        Pruebas.iguales(1_000 + ESCRITORES * IDS_POR_ESCRITOR / 2, tree.countNodes(), "empleados tras altas y bajas concurrentes");
+        Pruebas.comprobar(tree.estaBalanceado(), "árbol balanceado tras escrituras concurrentes");
+        // Los IDs con nombre "Nombre 0" son múltiplos de 50, pares, así que ninguno se borró
+        Pruebas.iguales(ESCRITORES * IDS_POR_ESCRITOR / 50, tree.searchAllByName("Nombre 0").size(), "homónimos tras las escrituras");
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas de findRange y countRange de Tree (AVL y BST simple) contra un TreeMap de referencia:
+ * árbol vacío, rangos vacíos, lo &gt; hi, IDs en Integer.MIN_VALUE y Integer.MAX_VALUE y rangos
+ * que abarcan IDs eliminados.
+ */
+public class PruebaConsultaRango {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("consultas de rango del árbol");
+        Tree vacio = new Tree(null, true);
+        Pruebas.iguales(0, vacio.countRange(Integer.MIN_VALUE, Integer.MAX_VALUE), "countRange en un árbol vacío");
+        Pruebas.iguales(List.of(), rango(vacio, Integer.MIN_VALUE, Integer.MAX_VALUE), "findRange en un árbol vacío");
+        compararConTreeMap(true);
+        compararConTreeMap(false);
+    }
+
+    /**
+     * Casos límite y rangos aleatorios tras insertar y borrar, comparados con el TreeMap.
+     * @param avl true para el modo autobalanceado
+     * @throws Exception si no se puede crear el árbol
+     */
+    private static void compararConTreeMap(boolean avl) throws Exception {
+        String modo = avl ? "AVL" : "BST";
+        Tree tree = new Tree(null, avl);
+        TreeMap<Integer, Empleado> modelo = new TreeMap<>();
+        Random aleatorio = new Random(12);
+        int[] extremos = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (int id : extremos) {
+            insertar(tree, modelo, id);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            insertar(tree, modelo, aleatorio.nextInt(20_000) - 10_000);
+        }
+        // Hueco de IDs eliminados en [1000, 3000] y bajas sueltas por todo el rango
+        for (int id = 1_000; id <= 3_000; id++) {
+            eliminar(tree, modelo, id);
+        }
+        for (int i = 0; i < 500; i++) {
+            eliminar(tree, modelo, aleatorio.nextInt(20_000) - 10_000);
+        }
+        eliminar(tree, modelo, Integer.MIN_VALUE + 1);
+        eliminar(tree, modelo, Integer.MAX_VALUE - 1);
+
+        comparar(tree, modelo, Integer.MIN_VALUE, Integer.MAX_VALUE, modo + ": rango completo");
+        comparar(tree, modelo, Integer.MIN_VALUE, Integer.MIN_VALUE, modo + ": solo Integer.MIN_VALUE");
+        comparar(tree, modelo, Integer.MAX_VALUE, Integer.MAX_VALUE, modo + ": solo Integer.MAX_VALUE");
+        comparar(tree, modelo, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1, modo + ": ID eliminado junto a MIN_VALUE");
+        comparar(tree, modelo, Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 1, modo + ": ID eliminado junto a MAX_VALUE");
+        comparar(tree, modelo, Integer.MAX_VALUE - 1, Integer.MAX_VALUE, modo + ": rango que termina en MAX_VALUE");
+        comparar(tree, modelo, Integer.MIN_VALUE, -10_001, modo + ": de MIN_VALUE a antes de los aleatorios");
+        comparar(tree, modelo, 1_000, 3_000, modo + ": rango con todos sus IDs eliminados");
+        comparar(tree, modelo, 900, 3_100, modo + ": rango que abarca el hueco de eliminados");
+        comparar(tree, modelo, 20_000, 30_000, modo + ": rango sin IDs");
+        comparar(tree, modelo, 5, 5, modo + ": rango de un solo ID");
+        Pruebas.iguales(0, tree.countRange(10, 5), modo + ": countRange con lo > hi");
+        Pruebas.iguales(List.of(), rango(tree, 10, 5), modo + ": findRange con lo > hi");
+        Pruebas.iguales(0, tree.countRange(Integer.MAX_VALUE, Integer.MIN_VALUE), modo + ": lo = MAX_VALUE, hi = MIN_VALUE");
+
+        boolean coinciden = true;
+        for (int i = 0; i < 2_000 && coinciden; i++) {
+            int lo = aleatorio.nextInt(24_000) - 12_000;
+            int hi = lo + aleatorio.nextInt(3_000) - 200;
+            List<Integer> esperado = lo > hi ? List.of() : new ArrayList<>(modelo.subMap(lo, true, hi, true).keySet());
+            coinciden = esperado.equals(rango(tree, lo, hi)) && esperado.size() == tree.countRange(lo, hi);
+        }
+        Pruebas.comprobar(coinciden, modo + ": 2000 rangos aleatorios coinciden con el TreeMap");
+    }
+
+    /**
+     * Compara findRange y countRange de un rango con el TreeMap.
+     * @param tree árbol probado
+     * @param modelo referencia
+     * @param lo ID mínimo
+     * @param hi ID máximo
+     * @param descripcion caso probado
+     */
+    private static void comparar(Tree tree, TreeMap<Integer, Empleado> modelo, int lo, int hi, String descripcion) {
+        List<Integer> esperado = new ArrayList<>(modelo.subMap(lo, true, hi, true).keySet());
+        Pruebas.iguales(esperado, rango(tree, lo, hi), descripcion + " (findRange)");
+        Pruebas.iguales(esperado.size(), tree.countRange(lo, hi), descripcion + " (countRange)");
+    }
+
+    /**
+     * IDs que entrega findRange, en el orden en que los entrega.
+     * @param tree árbol consultado
+     * @param lo ID mínimo
+     * @param hi ID máximo
+     * @return IDs entregados
+     */
+    private static List<Integer> rango(Tree tree, int lo, int hi) {
+        List<Integer> ids = new ArrayList<>();
+        tree.findRange(lo, hi, empleado -> ids.add(empleado.ID));
+        return ids;
+    }
+
+    /**
+     * Inserta un empleado en el árbol y en el modelo, si el ID no estaba.
+     * @param tree árbol
+     * @param modelo referencia
+     * @param id ID del empleado
+     */
+    private static void insertar(Tree tree, TreeMap<Integer, Empleado> modelo, int id) {
+        if (!modelo.containsKey(id)) {
+            Empleado empleado = new Empleado("E" + id, id);
+            modelo.put(id, empleado);
+            tree.insert(empleado);
+        }
+    }
+
+    /**
+     * Elimina un ID del árbol y del modelo.
+     * @param tree árbol
+     * @param modelo referencia
+     * @param id ID a eliminar
+     */
+    private static void eliminar(Tree tree, TreeMap<Integer, Empleado> modelo, int id) {
+        modelo.remove(id);
+        tree.delete(id);
+    }
+}
@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pruebas del diario de operaciones (DiarioOperaciones): reproducción tras reiniciar, registros
+ * finales incompletos como los de un corte, una compactación interrumpida y compactaciones en
+ * segundo plano y síncronas a la vez, que no deben perder operaciones.
+ */
+public class PruebaDiario {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("diario de operaciones");
+        Path directorio = Pruebas.directorioTemporal("diario");
+        try {
+            reproduccion(directorio.resolve("reproduccion"));
+            registroIncompleto(directorio.resolve("incompleto"));
+            compactacionInterrumpida(directorio.resolve("interrumpida"));
+            compactacionesConcurrentes(directorio.resolve("concurrentes"));
+        } finally {
+            Pruebas.borrar(directorio);
+        }
+    }
+
+    /**
+     * Altas y bajas registradas, incluido un diario mayor que el buffer de lectura y un nombre
+     * de longitud máxima, se recuperan en orden al reabrir.
+     * @param directorio directorio de la prueba
+     * @throws IOException si falla el diario
+     */
+    private static void reproduccion(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        String archivo = directorio.resolve("diario.wal").toString();
+        String largo = "x".repeat(0xFFFF);
+        DiarioOperaciones diario = new DiarioOperaciones(archivo);
+        for (int i = 0; i < 20_000; i++) {
+            diario.registrarInsercion(new Empleado("Empleado número " + i, i));
+            if (i == 5_000) {
+                diario.registrarInsercion(new Empleado(largo, 100_000));
+            }
+        }
+        diario.registrarEliminaciones(new int[]{3, 4, 100_000}, 3);
+        diario.close();
+
+        List<DiarioOperaciones.Operacion> recuperadas = new DiarioOperaciones(archivo).getOperacionesRecuperadas();
+        Pruebas.iguales(20_004, recuperadas.size(), "se recuperan todas las operaciones (diario de varios bloques)");
+        Pruebas.iguales("Empleado número 19999", recuperadas.get(20_000).getEmpleado().getNombre(), "orden y nombres conservados");
+        Pruebas.iguales(largo, recuperadas.get(5_001).getEmpleado().getNombre(), "nombre de longitud máxima");
+
+        Tree tree = new Tree(null, true);
+        tree.reproducirDiario(recuperadas);
+        Pruebas.iguales(19_998, tree.countNodes(), "reproducirDiario aplica altas y bajas");
+        Pruebas.comprobar(tree.searchByID(3) == null && tree.searchByID(100_000) == null, "las bajas se reproducen");
+    }
+
+    /**
+     * Un registro final a medias (corte durante la escritura) se descarta al abrir, y lo que se
+     * anexa después sigue siendo legible.
+     * @param directorio directorio de la prueba
+     * @throws IOException si falla el diario
+     */
+    private static void registroIncompleto(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path archivo = directorio.resolve("diario.wal");
+        DiarioOperaciones diario = new DiarioOperaciones(archivo.toString());
+        diario.registrarInsercion(new Empleado("Ana", 1));
+        diario.registrarInsercion(new Empleado("Luis", 2));
+        diario.close();
+        long completo = Files.size(archivo);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(completo - 3);
+        }
+
+        diario = new DiarioOperaciones(archivo.toString());
+        Pruebas.iguales(1, diario.getOperacionesRecuperadas().size(), "el registro cortado se descarta");
+        diario.registrarEliminacion(1);
+        diario.close();
+        List<DiarioOperaciones.Operacion> recuperadas = new DiarioOperaciones(archivo.toString()).getOperacionesRecuperadas();
+        Pruebas.iguales(2, recuperadas.size(), "lo anexado tras el corte se recupera");
+        Pruebas.comprobar(!recuperadas.get(1).isInsercion() && recuperadas.get(1).getID() == 1, "la baja posterior al corte");
+
+        Files.write(archivo, new byte[]{'N', 'O', 'E', 'S', 0, 0, 0, 1});
+        Pruebas.lanza(IOException.class, () -> new DiarioOperaciones(archivo.toString()), "un archivo que no es un diario");
+    }
+
+    /**
+     * Simula un corte durante una compactación: el diario apartado y el activo se reproducen
+     * juntos al reabrir, rotar no aparta otro diario mientras la base no está escrita y un hilo
+     * interrumpido deja de esperarla.
+     * @param directorio directorio de la prueba
+     * @throws IOException si falla el diario
+     */
+    private static void compactacionInterrumpida(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        String archivo = directorio.resolve("diario.wal").toString();
+        DiarioOperaciones diario = new DiarioOperaciones(archivo);
+        diario.registrarInsercion(new Empleado("Ana", 1));
+        Pruebas.comprobar(diario.rotar(), "la primera rotación aparta el diario");
+        diario.registrarInsercion(new Empleado("Luis", 2));
+        Pruebas.comprobar(!diario.rotar(), "no se rota otra vez mientras la base no está escrita");
+
+        // "Corte": otra instancia abre los archivos tal como están en disco
+        List<DiarioOperaciones.Operacion> recuperadas = new DiarioOperaciones(archivo).getOperacionesRecuperadas();
+        Pruebas.iguales(Arrays.asList(1, 2), Arrays.asList(recuperadas.get(0).getID(), recuperadas.get(1).getID()),
+                "se reproducen el diario apartado y luego el activo");
+
+        // Un hilo interrumpido no se queda girando a la espera de la compactación en curso
+        String base = directorio.resolve("base.snap").toString();
+        Tree tree = new Tree(null, true);
+        tree.activarDiario(diario, base);
+        Thread.currentThread().interrupt();
+        Pruebas.lanza(InterruptedIOException.class, tree::compactarDiario, "compactarDiario interrumpido no espera");
+        Pruebas.comprobar(Thread.interrupted(), "se conserva la marca de interrupción");
+
+        diario.escribirBase(base, new Empleado[]{new Empleado("Ana", 1)});
+        Pruebas.comprobar(!Files.exists(Path.of(archivo + ".compactando")), "la base escrita borra el diario apartado");
+        Pruebas.comprobar(diario.rotar(), "terminada la compactación se puede volver a rotar");
+        diario.escribirBase(base, new Empleado[]{new Empleado("Ana", 1), new Empleado("Luis", 2)});
+        diario.close();
+    }
+
+    /**
+     * Varios hilos escriben en un árbol concurrente con un umbral diminuto (compactaciones en
+     * segundo plano continuas) mientras otro hilo pide compactaciones síncronas. Al final,
+     * la base más el diario deben reconstruir exactamente el árbol.
+     * @param directorio directorio de la prueba
+     * @throws Exception si falla el diario o un hilo
+     */
+    private static void compactacionesConcurrentes(Path directorio) throws Exception {
+        Files.createDirectories(directorio);
+        String archivo = directorio.resolve("diario.wal").toString();
+        String base = directorio.resolve("base.snap").toString();
+        Tree tree = new Tree(null, true, AsyncLogWriter.Durabilidad.NINGUNA, true);
+        tree.activarDiario(new DiarioOperaciones(archivo, false, 256), base);
+
+        int hilos = 4;
+        int porHilo = 2_000;
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicReference<IOException> errorCompactacion = new AtomicReference<>();
+        Thread compactador = new Thread(() -> {
+            while (!terminado.get() && errorCompactacion.get() == null) {
+                try {
+                    tree.compactarDiario();
+                } catch (IOException e) {
+                    errorCompactacion.set(e);
+                }
+            }
+        });
+        compactador.start();
+        Thread[] escritores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int primero = h * porHilo;
+            escritores[h] = new Thread(() -> {
+                for (int id = primero; id < primero + porHilo; id++) {
+                    tree.insert(new Empleado("E" + id, id));
+                    if (id % 3 == 0) {
+                        tree.delete(id);
+                    }
+                }
+            });
+            escritores[h].start();
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        terminado.set(true);
+        compactador.join();
+        tree.closeLog();
+        Pruebas.iguales(null, errorCompactacion.get(), "las compactaciones síncronas no chocan con las de fondo");
+
+        Tree recuperado = new Tree(null, true);
+        recuperado.cargarSnapshot(base);
+        DiarioOperaciones diario = new DiarioOperaciones(archivo);
+        recuperado.reproducirDiario(diario.getOperacionesRecuperadas());
+        diario.close();
+        Pruebas.iguales(tree.countNodes(), recuperado.countNodes(), "base + diario tienen tantos empleados como el árbol");
+        Pruebas.comprobar(Arrays.toString(tree.toArray()).equals(Arrays.toString(recuperado.toArray())),
+                "base + diario reconstruyen el árbol sin perder operaciones");
+    }
+}
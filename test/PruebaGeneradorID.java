@@ -0,0 +1,135 @@
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pruebas de GeneradorID: punto de partida según el backend, IDs liberados ignorados sin
+ * reutilización, entrega de los liberados de menor a mayor comparada con un TreeSet, IDs
+ * cercanos a Integer.MAX_VALUE y ausencia de IDs repetidos con varios hilos.
+ */
+public class PruebaGeneradorID {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("generador de IDs");
+        basicas();
+        diferencialContraTreeSet();
+        variosHilos();
+    }
+
+    /**
+     * Casos sencillos y límites.
+     * @throws Exception si no se puede crear el árbol
+     */
+    private static void basicas() throws Exception {
+        Tree tree = new Tree(null, true);
+        Pruebas.iguales(1, new GeneradorID(tree, false).siguiente(), "con el backend vacío se empieza en 1");
+        tree.insert(new Empleado("A", 40));
+        tree.insert(new Empleado("B", 7));
+        GeneradorID sinReutilizar = new GeneradorID(tree, false);
+        Pruebas.iguales(41, sinReutilizar.siguiente(), "se parte del mayor ID + 1");
+        sinReutilizar.liberar(7);
+        Pruebas.iguales(42, sinReutilizar.siguiente(), "sin reutilización un ID liberado no vuelve");
+        Pruebas.iguales(0, sinReutilizar.getCantidadLibres(), "sin reutilización no se guardan IDs libres");
+
+        GeneradorID generador = new GeneradorID(10, true);
+        generador.liberar(5);
+        generador.liberar(3);
+        generador.liberar(9);
+        generador.liberar(10);
+        generador.liberar(0);
+        Pruebas.iguales(3, generador.getCantidadLibres(), "se ignoran IDs no entregados y no positivos");
+        Pruebas.iguales("3 5 9 10", generador.siguiente() + " " + generador.siguiente() + " "
+                + generador.siguiente() + " " + generador.siguiente(), "los libres salen de menor a mayor y luego los nuevos");
+        generador.liberar(4);
+        generador.liberar(4);
+        Pruebas.iguales("4 11", generador.siguiente() + " " + generador.siguiente(), "un ID liberado dos veces se entrega una vez");
+
+        GeneradorID alto = new GeneradorID(Integer.MAX_VALUE - 1, true);
+        int penultimo = alto.siguiente();
+        alto.liberar(penultimo);
+        Pruebas.iguales(penultimo, alto.siguiente(), "se reutiliza un ID cercano a Integer.MAX_VALUE");
+        Pruebas.iguales(Integer.MAX_VALUE, alto.siguiente(), "el último ID positivo");
+        Pruebas.lanza(IllegalStateException.class, alto::siguiente, "agotados los IDs positivos");
+        Pruebas.lanza(IllegalArgumentException.class, () -> new GeneradorID(0, true), "el primer ID debe ser positivo");
+    }
+
+    /**
+     * Secuencia aleatoria de entregas y liberaciones comparada con un modelo: el menor
+     * ID libre de un TreeSet, o el siguiente nuevo si no hay libres.
+     */
+    private static void diferencialContraTreeSet() {
+        GeneradorID generador = new GeneradorID(1, true);
+        TreeSet<Integer> libres = new TreeSet<>();
+        TreeSet<Integer> enUso = new TreeSet<>();
+        int siguienteNuevo = 1;
+        Random aleatorio = new Random(23);
+        boolean coincide = true;
+        for (int i = 0; i < 200_000 && coincide; i++) {
+            if (enUso.isEmpty() || aleatorio.nextInt(5) < 3) {
+                int esperado = libres.isEmpty() ? siguienteNuevo++ : libres.pollFirst();
+                int obtenido = generador.siguiente();
+                coincide = esperado == obtenido;
+                enUso.add(obtenido);
+            } else {
+                Integer id = enUso.ceiling(aleatorio.nextInt(siguienteNuevo));
+                id = id != null ? id : enUso.first();
+                enUso.remove(id);
+                libres.add(id);
+                generador.liberar(id);
+            }
+        }
+        Pruebas.comprobar(coincide, "entregas y liberaciones coinciden con el TreeSet");
+        Pruebas.iguales(libres.size(), generador.getCantidadLibres(), "cantidad de IDs libres");
+    }
+
+    /**
+     * Varios hilos piden IDs y devuelven parte de ellos a la vez: ningún ID se entrega a dos
+     * dueños al mismo tiempo.
+     * @throws InterruptedException si se interrumpe la espera de los hilos
+     */
+    private static void variosHilos() throws InterruptedException {
+        GeneradorID generador = new GeneradorID(1, true);
+        Set<Integer> enUso = ConcurrentHashMap.newKeySet();
+        AtomicBoolean repetido = new AtomicBoolean();
+        Thread[] hilos = new Thread[8];
+        for (int h = 0; h < hilos.length; h++) {
+            int semilla = h;
+            hilos[h] = new Thread(() -> {
+                Random aleatorio = new Random(semilla);
+                for (int i = 0; i < 50_000; i++) {
+                    int id = generador.siguiente();
+                    if (!enUso.add(id)) {
+                        repetido.set(true);
+                    }
+                    if (aleatorio.nextBoolean()) {
+                        enUso.remove(id);
+                        generador.liberar(id);
+                    }
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        Pruebas.comprobar(!repetido.get(), "con varios hilos ningún ID en uso se entrega dos veces");
+        Pruebas.comprobar(generador.getSiguienteNuevo() - 1 == enUso.size() + generador.getCantidadLibres(),
+                "cada ID entregado está en uso o libre");
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Pruebas de Histograma y MetricasTree: límites de las cubetas (7, 8, 15, 16, Long.MAX_VALUE),
+ * percentiles p50/p99/p99.9 sobre distribuciones conocidas, el recorte al máximo registrado,
+ * el error relativo acotado, reiniciar y los contadores que el árbol registra en sus métricas.
+ */
+public class PruebaHistograma {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("histograma y métricas");
+        cubetas();
+        percentiles();
+        errorRelativo();
+        reiniciar();
+        metricasDelArbol();
+    }
+
+    /**
+     * Cubetas exactas por debajo de 8, subcubetas de la primera potencia de 2 con varios valores
+     * y la última cubeta, y límites superiores consecutivos en todo el rango.
+     */
+    private static void cubetas() {
+        Pruebas.iguales(7, Histograma.cubeta(7), "el 7 tiene cubeta propia");
+        Pruebas.iguales(8, Histograma.cubeta(8), "el 8 abre la primera subcubeta");
+        Pruebas.iguales(15, Histograma.cubeta(15), "el 15 tiene su propia subcubeta");
+        Pruebas.iguales(16, Histograma.cubeta(16), "el 16 abre la siguiente potencia de 2");
+        Pruebas.iguales(16, Histograma.cubeta(17), "16 y 17 comparten cubeta");
+        Pruebas.iguales(17L, Histograma.limiteSuperior(16), "límite superior de la cubeta del 16");
+        Pruebas.iguales(487, Histograma.cubeta(Long.MAX_VALUE), "Long.MAX_VALUE cae en la última cubeta");
+        Pruebas.iguales(Long.MAX_VALUE, Histograma.limiteSuperior(487), "la última cubeta llega a Long.MAX_VALUE");
+
+        boolean consecutivas = true;
+        for (int i = 0; i < 487 && consecutivas; i++) {
+            long limite = Histograma.limiteSuperior(i);
+            consecutivas = Histograma.cubeta(limite) == i && Histograma.cubeta(limite + 1) == i + 1;
+        }
+        Pruebas.comprobar(consecutivas, "cada límite superior es el último valor de su cubeta y el siguiente abre otra");
+    }
+
+    /**
+     * Percentiles de una distribución conocida: 990 valores de 100, 9 de 1000 y uno de 50000.
+     */
+    private static void percentiles() {
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < 990; i++) {
+            histograma.registrar(100);
+        }
+        for (int i = 0; i < 9; i++) {
+            histograma.registrar(1000);
+        }
+        histograma.registrar(50_000);
+
+        Pruebas.iguales(1000L, histograma.getTotal(), "total de valores");
+        Pruebas.iguales(103L, histograma.percentil(50), "p50: límite de la cubeta del 100 (96..103)");
+        Pruebas.iguales(103L, histograma.percentil(99), "p99: el valor 990 sigue en la cubeta del 100");
+        Pruebas.iguales(1023L, histograma.percentil(99.9), "p99.9: límite de la cubeta del 1000 (960..1023)");
+        Pruebas.iguales(50_000L, histograma.percentil(100), "p100 recortado al máximo registrado");
+        Pruebas.iguales(103L, histograma.percentil(0), "p0: primera cubeta con valores");
+        Pruebas.iguales(50_000L, histograma.getMaximo(), "máximo");
+        Pruebas.comprobar(Math.abs(histograma.getMedia() - 158.0) < 1e-9, "media exacta");
+
+        Histograma unico = new Histograma();
+        unico.registrar(1000);
+        Pruebas.iguales(1000L, unico.percentil(50), "un percentil nunca supera el máximo (cubeta 960..1023)");
+        unico.registrar(-5);
+        Pruebas.iguales(0L, unico.percentil(50), "los negativos cuentan como 0");
+        Pruebas.iguales(0L, new Histograma().percentil(99), "sin valores el percentil es 0");
+        Pruebas.lanza(IllegalArgumentException.class, () -> unico.percentil(100.5), "percentil mayor que 100");
+        Pruebas.lanza(IllegalArgumentException.class, () -> unico.percentil(-1), "percentil negativo");
+    }
+
+    /**
+     * Con valores aleatorios de varios órdenes de magnitud, p50, p99 y p99.9 no bajan del valor
+     * exacto y no lo superan en más de un 12.5 %.
+     */
+    private static void errorRelativo() {
+        Random aleatorio = new Random(19);
+        long[] valores = new long[100_000];
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = (long) Math.exp(aleatorio.nextDouble() * 25);
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        boolean acotado = true;
+        for (double percentil : new double[]{50, 99, 99.9}) {
+            long exacto = valores[(int) Math.ceil(percentil / 100 * valores.length) - 1];
+            long obtenido = histograma.percentil(percentil);
+            acotado &= obtenido >= exacto && obtenido <= exacto + exacto / 8;
+        }
+        Pruebas.comprobar(acotado, "p50, p99 y p99.9 dentro del 12.5 % del valor exacto");
+    }
+
+    /**
+     * reiniciar deja el histograma vacío y se puede seguir usando.
+     */
+    private static void reiniciar() {
+        Histograma histograma = new Histograma();
+        for (int i = 1; i <= 100; i++) {
+            histograma.registrar(i * 1000L);
+        }
+        histograma.reiniciar();
+        Pruebas.iguales(0L, histograma.getTotal(), "reiniciar borra el total");
+        Pruebas.iguales(0L, histograma.getMaximo(), "reiniciar borra el máximo");
+        Pruebas.iguales(0L, histograma.percentil(50), "reiniciar borra las cubetas");
+        Pruebas.comprobar(histograma.getMedia() == 0.0, "reiniciar borra la media");
+        histograma.registrar(5);
+        Pruebas.iguales(5L, histograma.percentil(99), "tras reiniciar se registran valores nuevos");
+    }
+
+    /**
+     * Las operaciones de un árbol con métricas se cuentan por tipo, los nodos visitados no
+     * superan la altura y reiniciar pone los contadores a cero.
+     * @throws IOException si no se puede crear el árbol
+     */
+    private static void metricasDelArbol() throws IOException {
+        Tree tree = new Tree(null, true);
+        MetricasTree metricas = tree.activarMetricas();
+        for (int i = 1; i <= 1000; i++) {
+            tree.insert(new Empleado("E" + i, i));
+        }
+        for (int i = 1; i <= 500; i++) {
+            tree.searchByID(i * 2);
+        }
+        tree.searchByName("E7");
+        tree.delete(3);
+
+        Pruebas.iguales(1000L, metricas.getInserciones(), "inserciones contadas");
+        Pruebas.iguales(500L, metricas.getBusquedasPorID(), "búsquedas por ID contadas");
+        Pruebas.iguales(1L, metricas.getBusquedasPorNombre(), "búsquedas por nombre contadas");
+        Pruebas.iguales(1L, metricas.getEliminaciones(), "eliminaciones contadas");
+        Pruebas.comprobar(metricas.getNodosVisitadosMaximo() <= metricas.getAltura(), "nodos visitados no superan la altura");
+        Pruebas.comprobar(metricas.getNodosVisitadosMedia() >= 1, "cada búsqueda visita al menos un nodo");
+        Pruebas.comprobar(metricas.resumen().contains("BUSQUEDA_ID"), "el resumen lista las operaciones");
+        Pruebas.lanza(IllegalArgumentException.class, () -> metricas.percentilMicros("NINGUNA", 50), "operación desconocida");
+
+        metricas.reiniciar();
+        Pruebas.iguales(0L, metricas.getInserciones() + metricas.getBusquedasPorID() + metricas.getEliminaciones(),
+                "reiniciar pone los contadores a cero");
+        Pruebas.iguales(0L, metricas.getNodosVisitadosMaximo(), "reiniciar borra los nodos visitados");
+    }
+}
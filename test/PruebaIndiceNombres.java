@@ -0,0 +1,64 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pruebas del índice secundario por nombre de Tree: búsquedas sin distinguir mayúsculas,
+ * homónimos en orden de ID (también tras reconstruir el índice) y coherencia del índice tras bajas y cargas masivas.
+ */
+public class PruebaIndiceNombres {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("índice por nombre");
+        Tree tree = new Tree(null, true);
+        Empleado ana = new Empleado("Ana Ruiz", 5);
+        Empleado otraAna = new Empleado("ana ruiz", 2);
+        Empleado luis = new Empleado("Luis Gil", 9);
+        tree.insert(ana);
+        tree.insert(otraAna);
+        tree.insert(luis);
+
+        Pruebas.comprobar(tree.searchByName("  ANA RUIZ ") == otraAna, "búsqueda sin mayúsculas ni espacios; el homónimo de menor ID");
+        Pruebas.iguales(Arrays.asList(otraAna, ana), tree.searchAllByName("Ana Ruiz"), "homónimos en orden de ID, no de inserción");
+        Pruebas.comprobar(tree.searchByName("Nadie") == null, "nombre inexistente");
+        Pruebas.comprobar(tree.searchAllByName("Nadie").isEmpty(), "lista vacía para un nombre inexistente");
+
+        tree.delete(2);
+        Pruebas.comprobar(tree.searchByName("Ana Ruiz") == ana, "la baja se quita del índice");
+        tree.delete(5);
+        Pruebas.comprobar(tree.searchAllByName("Ana Ruiz").isEmpty(), "sin homónimos tras borrar ambos");
+
+        List<Empleado> resultado = tree.searchAllByName("Luis Gil");
+        Pruebas.lanza(UnsupportedOperationException.class, () -> resultado.add(ana), "la lista devuelta no es modificable");
+
+        // Tras una carga masiva el índice se construye en la primera búsqueda por nombre
+        Tree cargado = new Tree(null, true);
+        Empleado[] empleados = new Empleado[1_000];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = new Empleado("Nombre " + (i % 100), i);
+        }
+        cargado.crearArbolBalanceado(empleados);
+        Pruebas.iguales(10, cargado.searchAllByName("nombre 7").size(), "índice construido tras crearArbolBalanceado");
+        cargado.insert(new Empleado("Nombre 7", 5_000));
+        cargado.delete(7);
+        Pruebas.iguales(10, cargado.searchAllByName("Nombre 7").size(), "índice perezoso actualizado con altas y bajas");
+        Empleado menor = new Empleado("Nombre 7", -1);
+        cargado.insert(menor);
+        List<Empleado> homonimos = cargado.searchAllByName("Nombre 7");
+        Pruebas.comprobar(cargado.searchByName("Nombre 7") == menor && homonimos.get(homonimos.size() - 1).ID == 5_000,
+                "un alta con menor ID pasa delante de los homónimos cargados; las nuevas, al final");
+    }
+}
@@ -0,0 +1,135 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Pruebas del intérprete de comandos de ModoLote: respuestas de cada comando, comentarios y
+ * líneas vacías, mayúsculas y espacios, errores con su número de línea sin detener la ejecución,
+ * y el resumen final. Se ejecutan sobre el árbol y sobre la skip list.
+ */
+public class PruebaModoLote {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("modo lote");
+        comandos(new Tree(null, true), "Tree");
+        comandos(new SkipListEmpleados(null), "SkipListEmpleados");
+        errores();
+    }
+
+    /**
+     * Ejecuta una secuencia con todos los comandos y compara la salida completa.
+     * @param indice backend vacío sobre el que se ejecutan los comandos
+     * @param backend nombre del backend para los mensajes
+     * @throws IOException si falla la lectura de los comandos
+     */
+    private static void comandos(IndiceEmpleados indice, String backend) throws IOException {
+        indice.insert(new Empleado("Ana Ruiz", 10));
+        indice.insert(new Empleado("Luis Pérez", 20));
+        indice.insert(new Empleado("Ana Ruiz", 30));
+        String entrada = String.join("\n",
+                "# comentario",
+                "",
+                "GET 10",
+                "get   20",
+                "GET 99",
+                "NAME Ana Ruiz",
+                "NAME Nadie",
+                "ADD   Marta Gómez  ",
+                "RANGE 15 40",
+                "RANGE 40 15",
+                "DEL 20",
+                "del 20",
+                "GET 31");
+        String esperado = String.join("\n",
+                "OK 10,Ana Ruiz",
+                "OK 20,Luis Pérez",
+                "NOT_FOUND 99",
+                "OK 10,Ana Ruiz",
+                "OK 30,Ana Ruiz",
+                "NOT_FOUND Nadie",
+                "ADDED 31,Marta Gómez",
+                "RANGE 15 40 3",
+                "20,Luis Pérez",
+                "30,Ana Ruiz",
+                "31,Marta Gómez",
+                "RANGE 40 15 0",
+                "DELETED 20",
+                "NOT_FOUND 20",
+                "OK 31,Marta Gómez",
+                "");
+        StringWriter salida = new StringWriter();
+        ModoLote lote = new ModoLote(indice, new PrintWriter(salida));
+        Pruebas.iguales(esperado, ejecutar(lote, entrada, salida), backend + ": respuestas de todos los comandos");
+        Pruebas.comprobar(lote.resumen().startsWith("Comandos: 11 (consultas 6, altas 1, bajas 2, rangos 2), errores: 0"),
+                backend + ": el resumen cuenta cada tipo de comando");
+    }
+
+    /**
+     * Cada línea inválida produce un ERROR con su número de línea y la ejecución sigue.
+     * @throws IOException si falla la lectura de los comandos
+     */
+    private static void errores() throws IOException {
+        Tree tree = new Tree(null, true);
+        tree.insert(new Empleado("Ana", 1));
+        String entrada = String.join("\n",
+                "BORRAR 1",
+                "GET",
+                "GET uno",
+                "GET 99999999999",
+                "NAME",
+                "ADD",
+                "DEL 1.5",
+                "RANGE 1",
+                "RANGE 1 x",
+                "GET 1");
+        String esperado = String.join("\n",
+                "ERROR línea 1: comando desconocido 'BORRAR'",
+                "ERROR línea 2: ID inválido ''",
+                "ERROR línea 3: ID inválido 'uno'",
+                "ERROR línea 4: ID inválido '99999999999'",
+                "ERROR línea 5: NAME necesita un nombre",
+                "ERROR línea 6: ADD necesita un nombre",
+                "ERROR línea 7: ID inválido '1.5'",
+                "ERROR línea 8: RANGE necesita dos IDs: RANGE lo hi",
+                "ERROR línea 9: ID inválido 'x'",
+                "OK 1,Ana",
+                "");
+        StringWriter salida = new StringWriter();
+        ModoLote lote = new ModoLote(tree, new PrintWriter(salida));
+        Pruebas.iguales(esperado, ejecutar(lote, entrada, salida), "los errores indican la línea y no detienen el lote");
+        Pruebas.comprobar(lote.resumen().startsWith("Comandos: 1 (consultas 1, altas 0, bajas 0, rangos 0), errores: 9"),
+                "el resumen cuenta los errores aparte");
+        Pruebas.iguales(1, tree.countNodes(), "los comandos inválidos no modifican el árbol");
+        StringWriter vacia = new StringWriter();
+        Pruebas.iguales("", ejecutar(new ModoLote(tree, new PrintWriter(vacia)), "", vacia), "una entrada vacía no produce salida");
+    }
+
+    /**
+     * Ejecuta los comandos y devuelve la salida con saltos de línea \n.
+     * @param lote lote que escribe en salida
+     * @param comandos texto de los comandos
+     * @param salida destino en memoria de las respuestas del lote
+     * @return respuestas escritas
+     * @throws IOException si falla la lectura de los comandos
+     */
+    private static String ejecutar(ModoLote lote, String comandos, StringWriter salida) throws IOException {
+        lote.ejecutar(new BufferedReader(new StringReader(comandos)));
+        return salida.toString().replace(System.lineSeparator(), "\n");
+    }
+}
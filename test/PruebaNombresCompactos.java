@@ -0,0 +1,55 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pruebas de las escrituras del nombre de Empleado a partir de los tokens del diccionario:
+ * agregarNombre, toString y la copia en UTF-8 deben dar lo mismo que getNombre y getBytes,
+ * incluidos acentos, pares sustitutos, espacios repetidos o en los extremos y nombres vacíos.
+ */
+public class PruebaNombresCompactos {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     */
+    static void ejecutar() {
+        Pruebas.seccion("nombres compactos");
+        String[] nombres = {
+                "Ana Ruiz", "José Ángel Núñez", "Zoë 😀 Smith", "  Doble  espacio ", "", "Solo",
+                "Sustituto \uD800 suelto", "Comillas \"y\" \\barras\\", "Control\t\u0001fin", "年 中文 名字"
+        };
+        for (String nombre : nombres) {
+            Empleado empleado = new Empleado(nombre, 7);
+            String descripcion = " ('" + nombre + "')";
+            Pruebas.iguales(nombre, empleado.getNombre(), "getNombre devuelve el nombre original" + descripcion);
+            Pruebas.iguales(nombre, empleado.agregarNombre(new StringBuilder("x")).substring(1),
+                    "agregarNombre añade lo mismo que getNombre" + descripcion);
+            Pruebas.iguales("ID: 7, Nombre: " + nombre, empleado.toString(), "toString" + descripcion);
+
+            byte[] esperado = nombre.getBytes(StandardCharsets.UTF_8);
+            Pruebas.iguales(esperado.length, empleado.longitudNombreUTF8(), "longitud UTF-8" + descripcion);
+            Pruebas.comprobar(Arrays.equals(esperado, empleado.getNombreUTF8()), "getNombreUTF8 igual a getBytes" + descripcion);
+            ByteBuffer buffer = ByteBuffer.allocate(esperado.length + 2);
+            buffer.put((byte) 1);
+            empleado.escribirNombreUTF8(buffer);
+            Pruebas.iguales(esperado.length + 1, buffer.position(), "escribirNombreUTF8 avanza la posición" + descripcion);
+            Pruebas.comprobar(Arrays.equals(esperado, Arrays.copyOfRange(buffer.array(), 1, esperado.length + 1)),
+                    "escribirNombreUTF8 copia los bytes de getBytes" + descripcion);
+        }
+
+        Empleado empleado = new Empleado("Ana Ruiz", 1);
+        empleado.setNombre(null);
+        Pruebas.comprobar(empleado.getNombre() == null, "un nombre null se conserva");
+        Pruebas.iguales("ID: 1, Nombre: null", empleado.toString(), "toString con nombre null");
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas de las operaciones por lotes de Tree (insertAll, deleteAll y searchMany): se comparan
+ * con un TreeMap tanto en lotes pequeños (inserción en orden de ID) como en lotes grandes
+ * respecto al árbol (mezcla y reconstrucción balanceada).
+ */
+public class PruebaOperacionesLote {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("operaciones por lotes");
+        compararConTreeMap(10_000, 50, "lote pequeño");
+        compararConTreeMap(100, 20_000, "lote grande");
+
+        Tree tree = new Tree(null, true);
+        Empleado primero = new Empleado("Primero", 7);
+        int insertados = tree.insertAll(new Empleado[]{primero, new Empleado("Repetido", 7), new Empleado("Otro", 3)});
+        Pruebas.iguales(2, insertados, "un ID repetido dentro del lote se ignora");
+        Pruebas.comprobar(tree.searchByID(7) == primero, "con IDs repetidos gana el primero del lote");
+        Pruebas.iguales(0, tree.insertAll(new Empleado[0]), "lote vacío");
+        Pruebas.iguales(1, tree.deleteAll(new int[]{3, 3, 99}), "deleteAll ignora repetidos e inexistentes");
+        Pruebas.comprobar(tree.searchByName("Otro") == null, "deleteAll actualiza el índice por nombre");
+        Pruebas.comprobar(tree.searchByName("primero") == primero, "insertAll actualiza el índice por nombre");
+    }
+
+    /**
+     * Parte de un árbol con los IDs pares de 0 a 2 * base, aplica lotes aleatorios con IDs
+     * repetidos y existentes, y compara el resultado con un TreeMap.
+     * @param base empleados iniciales
+     * @param lote tamaño de cada lote
+     * @param caso nombre del caso para los mensajes
+     * @throws IOException si no se puede crear el árbol
+     */
+    private static void compararConTreeMap(int base, int lote, String caso) throws IOException {
+        Tree tree = new Tree(null, true);
+        TreeMap<Integer, Empleado> modelo = new TreeMap<>();
+        for (int i = 0; i < base; i++) {
+            Empleado empleado = new Empleado("E" + i, 2 * i);
+            tree.insert(empleado);
+            modelo.put(empleado.ID, empleado);
+        }
+
+        Random aleatorio = new Random(11);
+        int rango = 4 * (base + lote);
+        Empleado[] nuevos = new Empleado[lote];
+        int esperadosAlta = 0;
+        for (int i = 0; i < lote; i++) {
+            nuevos[i] = new Empleado("N" + i, aleatorio.nextInt(rango));
+            if (modelo.putIfAbsent(nuevos[i].ID, nuevos[i]) == null) {
+                esperadosAlta++;
+            }
+        }
+        Pruebas.iguales(esperadosAlta, tree.insertAll(nuevos), caso + ": insertAll devuelve los insertados");
+
+        int[] bajas = aleatorio.ints(lote, 0, rango).toArray();
+        int esperadosBaja = 0;
+        for (int id : bajas) {
+            if (modelo.remove(id) != null) {
+                esperadosBaja++;
+            }
+        }
+        Pruebas.iguales(esperadosBaja, tree.deleteAll(bajas), caso + ": deleteAll devuelve los eliminados");
+        Pruebas.iguales(modelo.size(), tree.countNodes(), caso + ": countNodes coincide con TreeMap");
+        Pruebas.comprobar(tree.estaBalanceado(), caso + ": el árbol sigue balanceado");
+
+        int[] consultas = aleatorio.ints(2 * lote, 0, rango).toArray();
+        Empleado[] encontrados = tree.searchMany(consultas);
+        boolean alineado = encontrados.length == consultas.length;
+        for (int i = 0; alineado && i < consultas.length; i++) {
+            alineado = encontrados[i] == modelo.get(consultas[i]);
+        }
+        Pruebas.comprobar(alineado, caso + ": searchMany devuelve el empleado de cada ID en su posición");
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Pruebas de los tamaños de subárbol de Tree: countNodes, rank y select deben coincidir con
+ * un arreglo ordenado de referencia tras altas y bajas, en modo AVL y en BST simple.
+ */
+public class PruebaRangoSeleccion {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("rank / select");
+        compararConArreglo(true);
+        compararConArreglo(false);
+        Tree vacio = new Tree(null, true);
+        Pruebas.iguales(0, vacio.rank(10), "rank en un árbol vacío");
+        Pruebas.lanza(IndexOutOfBoundsException.class, () -> vacio.select(0), "select en un árbol vacío");
+    }
+
+    /**
+     * Inserta IDs aleatorios, borra una parte y compara rank/select con el arreglo ordenado.
+     * @param avl true para el modo autobalanceado
+     */
+    private static void compararConArreglo(boolean avl) throws Exception {
+        String modo = avl ? "AVL" : "BST";
+        Tree tree = new Tree(null, avl);
+        Random aleatorio = new Random(7);
+        int[] ids = aleatorio.ints(3_000, 0, 100_000).distinct().toArray();
+        for (int id : ids) {
+            tree.insert(new Empleado("E" + id, id));
+        }
+        for (int i = 0; i < ids.length; i += 3) {
+            tree.delete(ids[i]);
+        }
+        int[] quedan = Arrays.stream(ids).filter(id -> tree.searchByID(id) != null).sorted().toArray();
+        Pruebas.iguales(ids.length - (ids.length + 2) / 3, quedan.length, modo + ": borrado de un tercio");
+        Pruebas.iguales(quedan.length, tree.countNodes(), modo + ": countNodes");
+
+        boolean selectCorrecto = true;
+        boolean rankCorrecto = true;
+        for (int k = 0; k < quedan.length; k++) {
+            selectCorrecto &= tree.select(k).ID == quedan[k];
+            rankCorrecto &= tree.rank(quedan[k]) == k;
+        }
+        Pruebas.comprobar(selectCorrecto, modo + ": select(k) devuelve el k-ésimo ID");
+        Pruebas.comprobar(rankCorrecto, modo + ": rank(id) devuelve la posición del ID");
+
+        boolean rankAusentes = true;
+        for (int i = 0; i < 1_000; i++) {
+            int id = aleatorio.nextInt(100_000);
+            int esperado = Arrays.binarySearch(quedan, id);
+            rankAusentes &= tree.rank(id) == (esperado >= 0 ? esperado : -esperado - 1);
+        }
+        Pruebas.comprobar(rankAusentes, modo + ": rank de IDs que no están cuenta los menores");
+        Pruebas.lanza(IndexOutOfBoundsException.class, () -> tree.select(quedan.length), modo + ": select fuera de rango");
+    }
+}
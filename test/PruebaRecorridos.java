@@ -0,0 +1,93 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+/**
+ * Pruebas del iterador, el Spliterator y stream() de Tree: orden por ID, tamaños exactos al
+ * dividir, resultados del Stream paralelo y ConcurrentModificationException si el árbol cambia.
+ */
+public class PruebaRecorridos {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("iterador / spliterator / stream");
+        Tree tree = new Tree(null, true);
+        int n = 5_000;
+        for (int i = n; i >= 1; i--) {
+            tree.insert(new Empleado("E" + i, i * 2));
+        }
+
+        int esperado = 2;
+        boolean enOrden = true;
+        for (Empleado empleado : tree) {
+            enOrden &= empleado.ID == esperado;
+            esperado += 2;
+        }
+        Pruebas.comprobar(enOrden && esperado == 2 * n + 2, "el iterador recorre todos los IDs en orden");
+
+        Spliterator<Empleado> derecha = tree.spliterator();
+        Pruebas.comprobar(derecha.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED),
+                "características SIZED, SUBSIZED y SORTED");
+        Pruebas.iguales((long) n, derecha.estimateSize(), "estimateSize antes de dividir");
+        Spliterator<Empleado> izquierda = derecha.trySplit();
+        Pruebas.comprobar(izquierda != null, "un árbol grande se puede dividir");
+        Pruebas.iguales((long) n, izquierda.estimateSize() + derecha.estimateSize(), "las mitades suman el total");
+        long tamanoIzquierda = izquierda.estimateSize();
+        long[] contados = new long[1];
+        int[] ultimoIzquierda = new int[1];
+        izquierda.forEachRemaining(e -> { contados[0]++; ultimoIzquierda[0] = e.ID; });
+        int[] primeroDerecha = {-1};
+        derecha.tryAdvance(e -> primeroDerecha[0] = e.ID);
+        Pruebas.comprobar(ultimoIzquierda[0] < primeroDerecha[0], "la mitad izquierda precede a la derecha");
+        Pruebas.iguales(tamanoIzquierda, contados[0], "la mitad izquierda entrega exactamente su tamaño");
+
+        long suma = tree.stream().parallel().mapToLong(e -> e.ID).sum();
+        Pruebas.iguales((long) n * (n + 1), suma, "suma de IDs con el Stream paralelo");
+        Pruebas.iguales(tree.stream().map(e -> e.ID).collect(Collectors.toList()),
+                tree.stream().parallel().map(e -> e.ID).collect(Collectors.toList()),
+                "el Stream paralelo conserva el orden");
+
+        Iterator<Empleado> iterador = tree.iterator();
+        iterador.next();
+        tree.insert(new Empleado("Nuevo", 1));
+        Pruebas.lanza(ConcurrentModificationException.class, iterador::next, "modificar el árbol invalida el iterador");
+
+        Tree concurrente = new Tree(null, true, AsyncLogWriter.Durabilidad.NINGUNA, true);
+        concurrente.insert(new Empleado("A", 1));
+        concurrente.insert(new Empleado("B", 2));
+        Iterator<Empleado> copia = concurrente.iterator();
+        concurrente.insert(new Empleado("C", 3));
+        int vistos = 0;
+        while (copia.hasNext()) {
+            copia.next();
+            vistos++;
+        }
+        Pruebas.iguales(2, vistos, "en modo concurrente el iterador recorre una copia");
+        for (int i = 4; i <= 1_000; i++) {
+            concurrente.insert(new Empleado("E" + i, i));
+        }
+        Spliterator<Empleado> sobreCopia = concurrente.spliterator();
+        Pruebas.comprobar(sobreCopia.hasCharacteristics(Spliterator.SIZED | Spliterator.SORTED | Spliterator.IMMUTABLE)
+                && sobreCopia.getComparator().compare(new Empleado("Z", 1), new Empleado("A", 2)) < 0,
+                "en modo concurrente el Spliterator es inmutable y ordenado por ID");
+        Spliterator<Empleado> mitad = sobreCopia.trySplit();
+        Pruebas.comprobar(mitad != null && mitad.getComparator() != null, "la copia se divide y conserva el comparador");
+        Pruebas.iguales(1_000L * 1_001 / 2, concurrente.stream().parallel().mapToLong(e -> e.ID).sum(),
+                "Stream paralelo en modo concurrente");
+        Pruebas.iguales(0L, new Tree(null, true).stream().count(), "Stream de un árbol vacío");
+    }
+}
@@ -0,0 +1,138 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pruebas de SalidaPaginada: una escritura por página, la pausa entre páginas que puede detener
+ * la salida, el tope de líneas (exactamente el tope no es una salida truncada), el volcado de
+ * líneas muy largas y un recorrido del árbol que se detiene en el tope.
+ */
+public class PruebaSalidaPaginada {
+    private static final String FIN = System.lineSeparator();
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("salida paginada");
+        paginas();
+        topeDeLineas();
+        lineaLarga();
+        recorridoDelArbol();
+    }
+
+    /**
+     * Cada página se escribe completa antes de preguntar si continuar, y responder que no
+     * detiene la salida sin marcarla como truncada.
+     */
+    private static void paginas() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        List<String> alPreguntar = new ArrayList<>();
+        SalidaPaginada salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 3, 100, () -> {
+            alPreguntar.add(bytes.toString(StandardCharsets.UTF_8));
+            return alPreguntar.size() < 2;
+        });
+        for (int i = 1; i <= 10 && !salida.isDetenida(); i++) {
+            salida.texto("L").texto(i);
+            salida.finLinea();
+        }
+        Pruebas.iguales(2, alPreguntar.size(), "se pregunta tras cada página hasta que se responde que no");
+        Pruebas.iguales("L1" + FIN + "L2" + FIN + "L3" + FIN, alPreguntar.get(0), "la primera página se escribe antes de preguntar");
+        Pruebas.comprobar(salida.isDetenida(), "responder que no detiene la salida");
+        Pruebas.iguales(6L, salida.getLineas(), "solo se escriben las páginas aceptadas");
+        salida.linea("ignorada");
+        salida.cerrar();
+        Pruebas.iguales(alPreguntar.get(1), bytes.toString(StandardCharsets.UTF_8),
+                "tras detenerse no se escribe nada más ni aviso de truncado");
+    }
+
+    /**
+     * Exactamente el tope de líneas no se trunca; una línea más sí, y se avisa al cerrar.
+     */
+    private static void topeDeLineas() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SalidaPaginada salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 50, 5, null);
+        for (int i = 1; i <= 5; i++) {
+            salida.linea("L" + i);
+        }
+        Pruebas.comprobar(!salida.isDetenida(), "alcanzar el tope no detiene la salida todavía");
+        salida.cerrar();
+        String texto = bytes.toString(StandardCharsets.UTF_8);
+        Pruebas.comprobar(texto.endsWith("L5" + FIN) && !texto.contains("truncada"), "exactamente el tope no es una salida truncada");
+
+        bytes.reset();
+        salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 50, 5, null);
+        for (int i = 1; i <= 6; i++) {
+            salida.linea("L" + i);
+        }
+        Pruebas.comprobar(salida.isDetenida(), "escribir tras el tope detiene la salida");
+        Pruebas.iguales(5L, salida.getLineas(), "la línea que supera el tope se omite");
+        salida.cerrar();
+        texto = bytes.toString(StandardCharsets.UTF_8);
+        Pruebas.comprobar(!texto.contains("L6") && texto.endsWith("… salida truncada tras 5 líneas" + FIN),
+                "al cerrar se avisa del truncado");
+
+        bytes.reset();
+        salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 2, 2, () -> {
+            throw new AssertionError("no se pregunta al llegar al tope");
+        });
+        salida.linea("A");
+        salida.linea("B");
+        salida.cerrar();
+        Pruebas.iguales("A" + FIN + "B" + FIN, bytes.toString(StandardCharsets.UTF_8),
+                "un tope al final de una página no pregunta ni trunca");
+        Pruebas.lanza(IllegalArgumentException.class, () -> new SalidaPaginada(System.out, 0, 1, null), "página sin líneas");
+    }
+
+    /**
+     * Una línea mayor que el buffer se escribe antes de terminarla.
+     */
+    private static void lineaLarga() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SalidaPaginada salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        salida.texto("x".repeat(70_000));
+        Pruebas.iguales(70_000, bytes.size(), "una línea de más de 64 KiB se vuelca sin esperar al fin de línea");
+        salida.texto("y").finLinea();
+        salida.cerrar();
+        Pruebas.iguales(70_001 + FIN.length(), bytes.size(), "el resto se escribe al cerrar");
+    }
+
+    /**
+     * El inorder de un árbol con tantos empleados como el tope no se trunca; con uno más, sí.
+     * @throws IOException si no se puede crear el árbol
+     */
+    private static void recorridoDelArbol() throws IOException {
+        Tree tree = new Tree(null, true);
+        for (int i = 1; i <= 4; i++) {
+            tree.insert(new Empleado("E" + i, i));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SalidaPaginada salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 50, 4, null);
+        tree.inorder(salida);
+        salida.cerrar();
+        String texto = bytes.toString(StandardCharsets.UTF_8);
+        Pruebas.comprobar(texto.contains("ID: 4, Nombre: E4") && !texto.contains("truncada"), "inorder con exactamente el tope");
+
+        tree.insert(new Empleado("E5", 5));
+        bytes.reset();
+        salida = new SalidaPaginada(new PrintStream(bytes, true, StandardCharsets.UTF_8), 50, 4, null);
+        tree.inorder(salida);
+        salida.cerrar();
+        texto = bytes.toString(StandardCharsets.UTF_8);
+        Pruebas.comprobar(!texto.contains("E5") && texto.contains("truncada tras 4 líneas"), "inorder con un empleado más que el tope");
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pruebas de las rutas de ServidorHTTP sobre un puerto libre de localhost: consultas por ID,
+ * nombre y rango, altas y bajas, códigos de error (400, 404, 405), el tope de empleados por
+ * rango y el rechazo de un backend que no admite varios hilos.
+ */
+public class PruebaServidorHTTP {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("servidor HTTP");
+        SkipListEmpleados indice = new SkipListEmpleados(null);
+        Empleado[] empleados = new Empleado[ServidorHTTP.MAX_EMPLEADOS_RANGO + 100];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = new Empleado("E" + (i + 1), i + 1);
+        }
+        empleados[0] = new Empleado("Ana \"Anita\" Ruiz", 1);
+        empleados[1] = new Empleado("Ana \"Anita\" Ruiz", 2);
+        empleados[9] = new Empleado("Luis\tPérez \\ \u0001", 10);
+        indice.cargarOrdenados(empleados);
+
+        ServidorHTTP servidor = new ServidorHTTP(indice, 0);
+        servidor.iniciar();
+        try {
+            HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String base = "http://localhost:" + servidor.getPuerto() + "/empleados";
+            consultas(cliente, base);
+            modificaciones(cliente, base, indice);
+            errores(cliente, base);
+        } finally {
+            servidor.detener();
+        }
+
+        Pruebas.lanza(IllegalArgumentException.class, () -> new ServidorHTTP(new Tree(null, true), 0),
+                "un árbol no concurrente se rechaza");
+    }
+
+    /**
+     * GET por ID, por nombre (con escape JSON) y por rango, incluido el tope de empleados.
+     * @param cliente cliente HTTP
+     * @param base URL de /empleados
+     * @throws Exception si falla la conexión
+     */
+    private static void consultas(HttpClient cliente, String base) throws Exception {
+        HttpResponse<String> respuesta = enviar(cliente, "GET", base + "/3", null);
+        Pruebas.iguales(200, respuesta.statusCode(), "GET /empleados/{id} existente");
+        Pruebas.iguales("{\"id\":3,\"nombre\":\"E3\"}", respuesta.body(), "cuerpo JSON del empleado");
+        Pruebas.comprobar(respuesta.headers().firstValue("Content-Type").orElse("").startsWith("application/json"),
+                "Content-Type JSON");
+
+        Pruebas.iguales("{\"id\":10,\"nombre\":\"Luis\\u0009Pérez \\\\ \\u0001\"}",
+                enviar(cliente, "GET", base + "/10", null).body(), "tabulador, barra y controles se escapan");
+
+        respuesta = enviar(cliente, "GET", base + "?nombre=ana%20%22anita%22%20ruiz", null);
+        Pruebas.iguales("[{\"id\":1,\"nombre\":\"Ana \\\"Anita\\\" Ruiz\"},{\"id\":2,\"nombre\":\"Ana \\\"Anita\\\" Ruiz\"}]",
+                respuesta.body(), "?nombre= devuelve los homónimos con las comillas escapadas");
+        Pruebas.iguales("[]", enviar(cliente, "GET", base + "?nombre=Nadie", null).body(), "?nombre= sin resultados");
+
+        respuesta = enviar(cliente, "GET", base + "?desde=4&hasta=6", null);
+        Pruebas.iguales("[{\"id\":4,\"nombre\":\"E4\"},{\"id\":5,\"nombre\":\"E5\"},{\"id\":6,\"nombre\":\"E6\"}]",
+                respuesta.body(), "?desde=&hasta= devuelve el rango en orden");
+        Pruebas.iguales("[]", enviar(cliente, "GET", base + "?desde=6&hasta=4", null).body(), "rango invertido vacío");
+
+        int tope = ServidorHTTP.MAX_EMPLEADOS_RANGO;
+        respuesta = enviar(cliente, "GET", base + "?desde=1&hasta=" + tope, null);
+        Pruebas.iguales(200, respuesta.statusCode(), "un rango con exactamente el máximo se atiende");
+        respuesta = enviar(cliente, "GET", base + "?desde=0&hasta=" + Integer.MAX_VALUE, null);
+        Pruebas.iguales(400, respuesta.statusCode(), "un rango mayor que el máximo se rechaza con 400");
+        Pruebas.comprobar(respuesta.body().contains("\"error\""), "el 400 del rango explica el motivo");
+    }
+
+    /**
+     * POST y DELETE, con sus efectos sobre el índice.
+     * @param cliente cliente HTTP
+     * @param base URL de /empleados
+     * @param indice backend publicado
+     * @throws Exception si falla la conexión
+     */
+    private static void modificaciones(HttpClient cliente, String base, IndiceEmpleados indice) throws Exception {
+        int siguiente = indice.findMax().ID + 1;
+        HttpResponse<String> respuesta = enviar(cliente, "POST", base, "  Marta Gómez ");
+        Pruebas.iguales(201, respuesta.statusCode(), "POST crea el empleado");
+        Pruebas.iguales("{\"id\":" + siguiente + ",\"nombre\":\"Marta Gómez\"}", respuesta.body(), "POST asigna el siguiente ID");
+        Pruebas.iguales("/empleados/" + siguiente, respuesta.headers().firstValue("Location").orElse(""), "cabecera Location");
+        Pruebas.iguales("Marta Gómez", indice.searchByID(siguiente).getNombre(), "el alta llega al índice (UTF-8)");
+
+        Pruebas.iguales(204, enviar(cliente, "DELETE", base + "/" + siguiente, null).statusCode(), "DELETE existente");
+        Pruebas.comprobar(indice.searchByID(siguiente) == null, "la baja llega al índice");
+        Pruebas.iguales(404, enviar(cliente, "DELETE", base + "/" + siguiente, null).statusCode(), "DELETE repetido");
+        Pruebas.iguales(404, enviar(cliente, "GET", base + "/" + siguiente, null).statusCode(), "GET de un eliminado");
+    }
+
+    /**
+     * Peticiones mal formadas o no admitidas.
+     * @param cliente cliente HTTP
+     * @param base URL de /empleados
+     * @throws Exception si falla la conexión
+     */
+    private static void errores(HttpClient cliente, String base) throws Exception {
+        Pruebas.iguales(400, enviar(cliente, "GET", base + "/abc", null).statusCode(), "ID no numérico");
+        Pruebas.iguales(400, enviar(cliente, "GET", base, null).statusCode(), "GET /empleados sin parámetros");
+        Pruebas.iguales(400, enviar(cliente, "GET", base + "?desde=1&hasta=x", null).statusCode(), "rango no numérico");
+        Pruebas.iguales(400, enviar(cliente, "POST", base, "   ").statusCode(), "POST con nombre vacío");
+        Pruebas.iguales(405, enviar(cliente, "PUT", base + "/1", "x").statusCode(), "método no permitido en /empleados/{id}");
+        Pruebas.iguales(405, enviar(cliente, "DELETE", base, null).statusCode(), "método no permitido en /empleados");
+        Pruebas.iguales(404, enviar(cliente, "GET", base + "x", null).statusCode(), "ruta desconocida");
+    }
+
+    /**
+     * Envía una petición y devuelve la respuesta como texto.
+     * @param cliente cliente HTTP
+     * @param metodo método HTTP
+     * @param url URL completa
+     * @param cuerpo cuerpo en UTF-8, o null si no lleva
+     * @return respuesta recibida
+     * @throws IOException si falla la conexión
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    private static HttpResponse<String> enviar(HttpClient cliente, String metodo, String url, String cuerpo)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publicador = cuerpo == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(cuerpo, StandardCharsets.UTF_8);
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(url)).method(metodo, publicador).build();
+        return cliente.send(peticion, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
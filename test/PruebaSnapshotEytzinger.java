@@ -0,0 +1,78 @@
+import java.util.Random;
+
+/**
+ * Pruebas del snapshot de solo lectura (SnapshotEytzinger): para todos los tamaños pequeños
+ * y uno grande, cada búsqueda debe coincidir con la del árbol, y el snapshot no debe ver
+ * las modificaciones posteriores a congelar.
+ */
+public class PruebaSnapshotEytzinger {
+
+    /**
+     * Punto de entrada para ejecutar solo estas pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        ejecutar();
+        Pruebas.terminar();
+    }
+
+    /**
+     * Ejecuta todas las pruebas de la clase.
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    static void ejecutar() throws Exception {
+        Pruebas.seccion("snapshot Eytzinger");
+        boolean coincide = true;
+        // Todos los tamaños hasta 70 cubren árboles implícitos completos e incompletos
+        for (int n = 0; n <= 70; n++) {
+            coincide &= coincideConArbol(arbolConPares(n), 2 * n + 2);
+        }
+        Pruebas.comprobar(coincide, "búsquedas iguales al árbol para tamaños 0 a 70 (IDs presentes y ausentes)");
+
+        Tree grande = new Tree(null, true);
+        Random aleatorio = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            int id = aleatorio.nextInt(1_000_000);
+            grande.insert(new Empleado("E" + id, id));
+        }
+        Pruebas.comprobar(coincideConArbol(grande, 1_000_000), "búsquedas iguales al árbol con 50.000 IDs aleatorios");
+
+        Tree tree = arbolConPares(10);
+        SnapshotEytzinger snapshot = tree.congelar();
+        Pruebas.comprobar(tree.isSnapshotVigente(), "snapshot vigente recién congelado");
+        tree.insert(new Empleado("Nuevo", 7));
+        Pruebas.comprobar(!tree.isSnapshotVigente(), "snapshot no vigente tras una inserción");
+        Pruebas.comprobar(snapshot.searchByID(7) == null, "el snapshot no ve las inserciones posteriores");
+        Pruebas.iguales(10, snapshot.size(), "tamaño del snapshot");
+    }
+
+    /**
+     * Crea un árbol con los IDs pares 2, 4, ..., 2n.
+     * @param n número de empleados
+     * @return árbol creado
+     */
+    private static Tree arbolConPares(int n) throws Exception {
+        Tree tree = new Tree(null, true);
+        for (int i = 1; i <= n; i++) {
+            tree.insert(new Empleado("E" + i, 2 * i));
+        }
+        return tree;
+    }
+
+    /**
+     * Congela el árbol y compara las búsquedas de todos los IDs de 0 a maxId.
+     * @param tree árbol a congelar
+     * @param maxId mayor ID consultado
+     * @return true si todas las búsquedas coinciden
+     */
+    private static boolean coincideConArbol(Tree tree, int maxId) {
+        SnapshotEytzinger snapshot = tree.congelar();
+        for (int id = -1; id <= maxId; id++) {
+            if (snapshot.searchByID(id) != tree.searchByID(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Clase Pruebas con las utilidades comunes de las pruebas del proyecto.
+ * No hay framework ni herramienta de construcción: cada prueba es una clase con main que usa
+ * estas comprobaciones, que cuentan los fallos en lugar de detenerse en el primero.
+ * TodasLasPruebas las ejecuta todas y termina con código 1 si alguna falló:
+ * <pre>
+ *   javac -encoding UTF-8 -d out/pruebas *.java test/*.java
+ *   java -cp out/pruebas TodasLasPruebas
+ * </pre>
+ */
+public final class Pruebas {
+    private static int comprobaciones; // Comprobaciones ejecutadas
+    private static int fallos; // Comprobaciones que fallaron
+
+    /**
+     * Acción de prueba que puede lanzar excepciones comprobadas.
+     */
+    public interface Accion {
+        /**
+         * Ejecuta la acción.
+         * @throws Exception si la acción falla
+         */
+        void ejecutar() throws Exception;
+    }
+
+    private Pruebas() {
+    }
+
+    /**
+     * Muestra el nombre del grupo de pruebas que empieza.
+     * @param nombre nombre del grupo
+     */
+    public static void seccion(String nombre) {
+        System.out.println("== " + nombre);
+    }
+
+    /**
+     * Comprueba que una condición se cumpla.
+     * @param condicion resultado de la comprobación
+     * @param descripcion qué se comprueba (se muestra si falla)
+     */
+    public static void comprobar(boolean condicion, String descripcion) {
+        comprobaciones++;
+        if (!condicion) {
+            fallos++;
+            System.out.println("   FALLO: " + descripcion);
+        }
+    }
+
+    /**
+     * Comprueba que dos valores sean iguales (con equals).
+     * @param esperado valor esperado
+     * @param obtenido valor obtenido
+     * @param descripcion qué se comprueba (se muestra si falla)
+     */
+    public static void iguales(Object esperado, Object obtenido, String descripcion) {
+        comprobar(Objects.equals(esperado, obtenido),
+                descripcion + " (esperado: " + esperado + ", obtenido: " + obtenido + ")");
+    }
+
+    /**
+     * Comprueba que una acción lance una excepción del tipo indicado.
+     * @param tipo clase de la excepción esperada (o una superclase)
+     * @param accion acción que debe fallar
+     * @param descripcion qué se comprueba (se muestra si falla)
+     */
+    public static void lanza(Class<? extends Throwable> tipo, Accion accion, String descripcion) {
+        try {
+            accion.ejecutar();
+            comprobar(false, descripcion + " (no lanzó " + tipo.getSimpleName() + ")");
+        } catch (Throwable e) {
+            comprobar(tipo.isInstance(e), descripcion + " (lanzó " + e + " en lugar de " + tipo.getSimpleName() + ")");
+        }
+    }
+
+    /**
+     * Crea un directorio temporal para los archivos de una prueba.
+     * @param prefijo prefijo del nombre del directorio
+     * @return ruta del directorio creado
+     * @throws IOException si no se puede crear
+     */
+    public static Path directorioTemporal(String prefijo) throws IOException {
+        return Files.createTempDirectory(prefijo);
+    }
+
+    /**
+     * Borra un directorio temporal y todo su contenido.
+     * @param directorio directorio creado con directorioTemporal
+     * @throws IOException si no se puede borrar
+     */
+    public static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(ruta);
+            }
+        }
+    }
+
+    /**
+     * Muestra el resumen y termina el proceso con código 1 si hubo fallos.
+     */
+    public static void terminar() {
+        System.out.println(comprobaciones + " comprobaciones, " + fallos + " fallos");
+        System.exit(fallos > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Clase TodasLasPruebas que ejecuta todas las pruebas del proyecto y termina con código 1
+ * si alguna comprobación falló. Cada clase de prueba también puede ejecutarse por separado.
+ */
+public class TodasLasPruebas {
+
+    /**
+     * Ejecuta todas las pruebas.
+     * @param args no se usan
+     * @throws Exception si una prueba falla de forma inesperada
+     */
+    public static void main(String[] args) throws Exception {
+        PruebaAVL.ejecutar();
+        PruebaRangoSeleccion.ejecutar();
+        PruebaIndiceNombres.ejecutar();
+        PruebaSnapshotEytzinger.ejecutar();
+        PruebaConcurrencia.ejecutar();
+        PruebaRecorridos.ejecutar();
+        PruebaOperacionesLote.ejecutar();
+        PruebaArchivoSnapshot.ejecutar();
+        PruebaDiario.ejecutar();
+        PruebaArbolBMas.ejecutar();
+        PruebaCacheEmpleados.ejecutar();
+        PruebaModoLote.ejecutar();
+        PruebaServidorHTTP.ejecutar();
+        PruebaGeneradorID.ejecutar();
+        PruebaNombresCompactos.ejecutar();
+        PruebaCargadorCSV.ejecutar();
+        PruebaHistograma.ejecutar();
+        PruebaSalidaPaginada.ejecutar();
+        PruebaConsultaRango.ejecutar();
+        Pruebas.terminar();
+    }
+}